@@ -0,0 +1,49 @@
+package com.adamdonegan.Discogs4J.transport;
+
+/**
+ * Creates the {@link Transport} backed by {@code java.net.http.HttpClient}, negotiating HTTP/2 and
+ * multiplexing concurrent requests over a shared connection.
+ * <p>
+ * This is the Java 11 variant of the class, shipped in the multi-release section of the jar.
+ * Its public members are the same as those of the Java 8 variant.
+ * <p>
+ * {@code HttpClient} only supports a connect timeout per client, so the connect and read
+ * timeout of a {@link TransportRequest} are combined into a single response timeout.
+ * <p>
+ * The {@link ConnectionPool} limits the number of requests in flight; with HTTP/2 these may share
+ * one connection. Its keep-alive setting does not apply, {@code HttpClient} keeps the connections of
+ * each client instance alive for the JVM wide 'jdk.httpclient.keepalive.timeout'.
+ * <p>
+ * Response bodies sent with a gzip or deflate Content-Encoding are decompressed.
+ */
+public final class HttpClientTransport {
+
+    private HttpClientTransport() {
+    }
+
+    /**
+     * @return true when running on Java 11 or later, from the multi-release jar
+     */
+    public static boolean isSupported() {
+        return true;
+    }
+
+    /**
+     * Create a transport using a new HTTP/2 preferring client
+     *
+     * @return the transport
+     */
+    public static Transport create() {
+        return create(new ConnectionPool());
+    }
+
+    /**
+     * Create a transport using a new HTTP/2 preferring client, connecting through the proxy of the pool
+     *
+     * @param connectionPool the connection settings of the transport
+     * @return the transport
+     */
+    public static Transport create(ConnectionPool connectionPool) {
+        return new JdkHttpClientTransport(connectionPool);
+    }
+}
@@ -0,0 +1,252 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import com.adamdonegan.Discogs4J.util.ByteRope;
+import com.adamdonegan.Discogs4J.util.CompressionStats;
+import com.adamdonegan.Discogs4J.util.Decompression;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import com.adamdonegan.Discogs4J.util.MappedBody;
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * {@link Transport} backed by {@link HttpClient}, negotiating HTTP/2 and
+ * multiplexing concurrent requests over a shared connection.
+ * <p>
+ * Only shipped in the Java 11 section of the multi-release jar, created through
+ * {@link HttpClientTransport#create(ConnectionPool)}.
+ * <p>
+ * {@link HttpClient} only supports a connect timeout per client, so the connect and read
+ * timeout of a {@link TransportRequest} are combined into a single response timeout.
+ * <p>
+ * The {@link ConnectionPool} limits the number of requests in flight; with HTTP/2 these may share
+ * one connection. Its keep-alive setting does not apply, {@link HttpClient} keeps the connections of
+ * each client instance alive for the JVM wide 'jdk.httpclient.keepalive.timeout'.
+ * <p>
+ * Response bodies sent with a gzip or deflate Content-Encoding are decompressed.
+ */
+final class JdkHttpClientTransport implements Transport {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpClient client;
+    private final ConnectionPool connectionPool;
+    private final CompressionStats compressionStats = new CompressionStats();
+
+    /**
+     * Create a transport using a new HTTP/2 preferring client, connecting through the proxy of the pool
+     *
+     * @param connectionPool the connection settings of this transport
+     */
+    JdkHttpClientTransport(ConnectionPool connectionPool) {
+        this.client = newClient(connectionPool);
+        this.connectionPool = connectionPool;
+    }
+
+    private static HttpClient newClient(ConnectionPool connectionPool) {
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL);
+        if (connectionPool.getProxyHost() != null) {
+            builder.proxy(ProxySelector.of(new InetSocketAddress(connectionPool.getProxyHost(), connectionPool.getProxyPort())));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    @Override
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        java.net.http.HttpRequest.Builder builder = java.net.http.HttpRequest.newBuilder(URI.create(request.url()));
+        int timeout = request.connectTimeout() + request.readTimeout();
+        if (timeout > 0) {
+            builder.timeout(Duration.ofMillis(timeout));
+        }
+        for (Map.Entry<String, String> header : request.headers().entrySet()) {
+            if (!header.getValue().isEmpty()) {
+                builder.header(header.getKey(), header.getValue());
+            }
+        }
+        builder.method(request.method(), publisher(request));
+
+        ConnectionPool.Lease lease = connectionPool.acquire();
+        try {
+            return new HttpClientResponse(client.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream()), lease,
+                    compressionStats, request.maxInMemorySize());
+        } catch (IOException e) {
+            lease.release();
+            throw new HttpRequestException(e);
+        } catch (InterruptedException e) {
+            lease.release();
+            Thread.currentThread().interrupt();
+            throw new HttpRequestException(new InterruptedIOException(e.getMessage()));
+        } catch (RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+    }
+
+    private static java.net.http.HttpRequest.BodyPublisher publisher(TransportRequest request) {
+        if (request.body() == null) {
+            return java.net.http.HttpRequest.BodyPublishers.noBody();
+        }
+        // Encoded up front, the client needs the content length and may replay the body
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(content, charset(request.header(HttpRequest.HEADER_CONTENT_TYPE)))) {
+            request.body().writeTo(writer);
+        } catch (IOException e) {
+            throw new HttpRequestException(e);
+        }
+        return java.net.http.HttpRequest.BodyPublishers.ofByteArray(content.toByteArray());
+    }
+
+    private static Charset charset(String contentType) {
+        if (contentType != null) {
+            for (String parameter : contentType.split(";")) {
+                String[] nameAndValue = parameter.trim().split("=", 2);
+                if (nameAndValue.length == 2 && HttpRequest.PARAM_CHARSET.equalsIgnoreCase(nameAndValue[0])) {
+                    return Charset.forName(nameAndValue[1].replace("\"", ""));
+                }
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static class HttpClientResponse implements TransportResponse {
+
+        private final HttpResponse<InputStream> response;
+        private final ConnectionPool.Lease lease;
+        private final CompressionStats compressionStats;
+        private final long maxInMemorySize;
+        private InputStream stream;
+
+        private HttpClientResponse(HttpResponse<InputStream> response, ConnectionPool.Lease lease,
+                                   CompressionStats compressionStats, long maxInMemorySize) {
+            this.response = response;
+            this.lease = lease;
+            this.compressionStats = compressionStats;
+            this.maxInMemorySize = maxInMemorySize;
+        }
+
+        @Override
+        public int code() {
+            return response.statusCode();
+        }
+
+        @Override
+        public String header(String name) {
+            return response.headers().firstValue(name).orElse(null);
+        }
+
+        @Override
+        public InputStream stream() {
+            if (stream == null) {
+                try {
+                    stream = lease.releaseOnEnd(Decompression.decode(response.body(),
+                            header(HttpRequest.HEADER_CONTENT_ENCODING), BUFFER_SIZE, compressionStats));
+                } catch (IOException e) {
+                    close();
+                    throw new HttpRequestException(e);
+                }
+            }
+            return stream;
+        }
+
+        @Override
+        public byte[] bytes() {
+            ByteRope body = read();
+            try {
+                return body.toByteArray();
+            } finally {
+                body.release();
+            }
+        }
+
+        @Override
+        public String body() {
+            ByteRope body = read();
+            try {
+                return body.toString(charset(header(HttpRequest.HEADER_CONTENT_TYPE)));
+            } finally {
+                body.release();
+            }
+        }
+
+        @Override
+        public ByteBuffer byteBuffer() {
+            try (InputStream stream = stream()) {
+                return MappedBody.read(stream, contentLength(), maxInMemorySize, BUFFER_SIZE);
+            } catch (IOException e) {
+                throw new HttpRequestException(e);
+            }
+        }
+
+        /**
+         * Read the whole body into pooled chunks, the first one sized from the Content-Length header when present
+         */
+        private ByteRope read() {
+            long length = contentLength();
+            long limit = maxInMemorySize > 0 ? maxInMemorySize : Long.MAX_VALUE;
+            if (length > limit) {
+                close();
+                throw tooLarge(length);
+            }
+            ByteRope body = new ByteRope(length > 0 && length < Integer.MAX_VALUE ? (int) length : ByteRope.CHUNK_SIZE);
+            try (InputStream stream = stream()) {
+                if (!body.readAtMost(stream, limit, null)) {
+                    throw tooLarge(body.length());
+                }
+                return body;
+            } catch (IOException e) {
+                body.release();
+                throw new HttpRequestException(e);
+            } catch (RuntimeException e) {
+                body.release();
+                throw e;
+            }
+        }
+
+        private long contentLength() {
+            return response.headers().firstValueAsLong(HttpRequest.HEADER_CONTENT_LENGTH).orElse(-1);
+        }
+
+        private HttpRequestException tooLarge(long size) {
+            return new HttpRequestException(new IOException("Response body of more than " + maxInMemorySize
+                    + " bytes (" + size + " read or announced) exceeds the in-memory limit, read it with byteBuffer()"));
+        }
+
+        @Override
+        public void close() {
+            try {
+                (stream != null ? stream : response.body()).close();
+            } catch (IOException e) {
+                // Ignored
+            } finally {
+                lease.release();
+            }
+        }
+    }
+}
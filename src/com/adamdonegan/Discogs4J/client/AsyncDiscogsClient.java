@@ -0,0 +1,491 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.models.Artist;
+import com.adamdonegan.Discogs4J.models.Label;
+import com.adamdonegan.Discogs4J.models.Listing;
+import com.adamdonegan.Discogs4J.models.Master;
+import com.adamdonegan.Discogs4J.models.Release;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Asynchronous companion to {@link DiscogsClient}.
+ * <p>
+ * Every endpoint of the wrapped client is available with the same signature, returning a
+ * {@link CompletableFuture} of the response body instead of blocking the calling thread.
+ * The requests are executed on the configured {@link Executor}; the future completes
+ * exceptionally with the exception thrown by the blocking call
+ * (for example {@link com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException}).
+ * <p>
+ * Releases, masters, artists and labels can also be fetched many at once, with at most
+ * {@link #getBulkConcurrency()} of the requests in flight.
+ * <p>
+ * An async client created by {@link #withVirtualThreads(DiscogsClient)} owns its executor and
+ * must be {@link #close() closed}; an executor given to a constructor stays the caller's to shut down.
+ */
+public class AsyncDiscogsClient implements AutoCloseable {
+
+    private final DiscogsClient client;
+    private final Executor executor;
+    private final int bulkConcurrency;
+    private final ExecutorService ownedExecutor;
+
+    /**
+     * Create an async client fetching at most {@link DiscogsExecutors#maxConnections(DiscogsClient)} ids of a batch at once
+     *
+     * @param client the client used to execute the requests
+     * @param executor the executor to run the requests on
+     */
+    public AsyncDiscogsClient(DiscogsClient client, Executor executor) {
+        this(client, executor, DiscogsExecutors.maxConnections(client));
+    }
+
+    /**
+     * @param client the client used to execute the requests
+     * @param executor the executor to run the requests on
+     * @param bulkConcurrency the maximum number of requests in flight when fetching a batch of ids
+     */
+    public AsyncDiscogsClient(DiscogsClient client, Executor executor, int bulkConcurrency) {
+        this(client, executor, bulkConcurrency, null);
+    }
+
+    private AsyncDiscogsClient(DiscogsClient client, Executor executor, int bulkConcurrency, ExecutorService ownedExecutor) {
+        if (bulkConcurrency < 1) {
+            throw new IllegalArgumentException("bulkConcurrency must be at least 1");
+        }
+        this.client = client;
+        this.executor = executor;
+        this.bulkConcurrency = bulkConcurrency;
+        this.ownedExecutor = ownedExecutor;
+    }
+
+    /**
+     * Create an async client running each request on its own virtual thread, with at most
+     * {@link DiscogsExecutors#maxConnections(DiscogsClient)} requests in flight.
+     *
+     * @param client the client used to execute the requests
+     * @return async client, to be {@link #close() closed} by the caller
+     * @throws UnsupportedOperationException when not running on Java 21 or later
+     */
+    public static AsyncDiscogsClient withVirtualThreads(DiscogsClient client) {
+        return withVirtualThreads(client, DiscogsExecutors.maxConnections(client));
+    }
+
+    /**
+     * Create an async client running each request on its own virtual thread, with at most
+     * the given number of requests in flight.
+     *
+     * @param client the client used to execute the requests
+     * @param maxConcurrency the maximum number of concurrent requests
+     * @return async client, to be {@link #close() closed} by the caller
+     * @throws UnsupportedOperationException when not running on Java 21 or later
+     */
+    public static AsyncDiscogsClient withVirtualThreads(DiscogsClient client, int maxConcurrency) {
+        return withOwnedExecutor(client, DiscogsExecutors.newVirtualThreadPerTaskExecutor(), maxConcurrency);
+    }
+
+    /**
+     * @param executor the executor to run the requests on, shut down when the async client is closed
+     * @return async client running at most the given number of requests at once
+     */
+    static AsyncDiscogsClient withOwnedExecutor(DiscogsClient client, ExecutorService executor, int maxConcurrency) {
+        return new AsyncDiscogsClient(client, new BoundedExecutor(executor, maxConcurrency), maxConcurrency, executor);
+    }
+
+    /**
+     * @see DiscogsClient#genericGet(String)
+     */
+    public CompletableFuture<String> genericGet(String URL) {
+        return supply(() -> client.genericGet(URL));
+    }
+
+    /**
+     * @see DiscogsClient#genericPost(String, Map)
+     */
+    public CompletableFuture<String> genericPost(String URL, Map<String, ?> params) {
+        return supply(() -> client.genericPost(URL, params));
+    }
+
+    /**
+     * @see DiscogsClient#genericDelete(String)
+     */
+    public CompletableFuture<String> genericDelete(String URL) {
+        return supply(() -> client.genericDelete(URL));
+    }
+
+    /**
+     * @see DiscogsClient#identity()
+     */
+    public CompletableFuture<String> identity() {
+        return supply(() -> client.identity());
+    }
+
+    /**
+     * @see DiscogsClient#profile(String)
+     */
+    public CompletableFuture<String> profile(String username) {
+        return supply(() -> client.profile(username));
+    }
+
+    /**
+     * @see DiscogsClient#updateProfile(String, Map)
+     */
+    public CompletableFuture<String> updateProfile(String username, Map<String, ?> extraParams) {
+        return supply(() -> client.updateProfile(username, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#search(String)
+     */
+    public CompletableFuture<String> search(String query) {
+        return supply(() -> client.search(query));
+    }
+
+    /**
+     * @see DiscogsClient#advancedSearch(String, Map)
+     */
+    public CompletableFuture<String> advancedSearch(String query, Map<String, String> extraParams) {
+        return supply(() -> client.advancedSearch(query, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#release(String)
+     */
+    public CompletableFuture<String> release(String release_id) {
+        return supply(() -> client.release(release_id));
+    }
+
+    /**
+     * @see DiscogsClient#masterRelease(String)
+     */
+    public CompletableFuture<String> masterRelease(String master_id) {
+        return supply(() -> client.masterRelease(master_id));
+    }
+
+    /**
+     * @see DiscogsClient#masterReleaseVersions(String, Map)
+     */
+    public CompletableFuture<String> masterReleaseVersions(String master_id, Map<String, String> extraParams) {
+        return supply(() -> client.masterReleaseVersions(master_id, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#masterReleaseVersions(String)
+     */
+    public CompletableFuture<String> masterReleaseVersions(String master_id) {
+        return supply(() -> client.masterReleaseVersions(master_id));
+    }
+
+    /**
+     * @see DiscogsClient#artist(String)
+     */
+    public CompletableFuture<String> artist(String artist_id) {
+        return supply(() -> client.artist(artist_id));
+    }
+
+    /**
+     * @see DiscogsClient#artistReleases(String, Map)
+     */
+    public CompletableFuture<String> artistReleases(String artist_id, Map<String, String> extraParams) {
+        return supply(() -> client.artistReleases(artist_id, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#artistReleases(String)
+     */
+    public CompletableFuture<String> artistReleases(String artist_id) {
+        return supply(() -> client.artistReleases(artist_id));
+    }
+
+    /**
+     * @see DiscogsClient#label(String)
+     */
+    public CompletableFuture<String> label(String label_id) {
+        return supply(() -> client.label(label_id));
+    }
+
+    /**
+     * @see DiscogsClient#labelReleases(String, Map)
+     */
+    public CompletableFuture<String> labelReleases(String label_id, Map<String, String> extraParams) {
+        return supply(() -> client.labelReleases(label_id, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#labelReleases(String)
+     */
+    public CompletableFuture<String> labelReleases(String label_id) {
+        return supply(() -> client.labelReleases(label_id));
+    }
+
+    /**
+     * @see DiscogsClient#collection(String)
+     */
+    public CompletableFuture<String> collection(String username) {
+        return supply(() -> client.collection(username));
+    }
+
+    /**
+     * @see DiscogsClient#addCollectionFolder(String, String)
+     */
+    public CompletableFuture<String> addCollectionFolder(String username, String folderName) {
+        return supply(() -> client.addCollectionFolder(username, folderName));
+    }
+
+    /**
+     * @see DiscogsClient#collectionFolder(String, String)
+     */
+    public CompletableFuture<String> collectionFolder(String username, String folder_id) {
+        return supply(() -> client.collectionFolder(username, folder_id));
+    }
+
+    /**
+     * @see DiscogsClient#updateCollectionFolder(String, String, Map)
+     */
+    public CompletableFuture<String> updateCollectionFolder(String username, String folder_id, Map<String, ?> extraParams) {
+        return supply(() -> client.updateCollectionFolder(username, folder_id, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#deleteCollectionFolder(String, String)
+     */
+    public CompletableFuture<String> deleteCollectionFolder(String username, String folder_id) {
+        return supply(() -> client.deleteCollectionFolder(username, folder_id));
+    }
+
+    /**
+     * @see DiscogsClient#collectionReleases(String, String, Map)
+     */
+    public CompletableFuture<String> collectionReleases(String username, String folder_id, Map<String, String> extraParams) {
+        return supply(() -> client.collectionReleases(username, folder_id, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#collectionReleases(String, String)
+     */
+    public CompletableFuture<String> collectionReleases(String username, String folder_id) {
+        return supply(() -> client.collectionReleases(username, folder_id));
+    }
+
+    /**
+     * @see DiscogsClient#addReleaseToFolder(String, String, String)
+     */
+    public CompletableFuture<String> addReleaseToFolder(String username, String folder_id, String release_id) {
+        return supply(() -> client.addReleaseToFolder(username, folder_id, release_id));
+    }
+
+    /**
+     * @see DiscogsClient#updateInstanceInFolder(String, String, String, String, Map)
+     */
+    public CompletableFuture<String> updateInstanceInFolder(String username, String folder_id, String release_id, String instance_id, Map<String, ?> extraParams) {
+        return supply(() -> client.updateInstanceInFolder(username, folder_id, release_id, instance_id, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#deleteInstanceFromFolder(String, String, String, String)
+     */
+    public CompletableFuture<String> deleteInstanceFromFolder(String username, String folder_id, String release_id, String instance_id) {
+        return supply(() -> client.deleteInstanceFromFolder(username, folder_id, release_id, instance_id));
+    }
+
+    /**
+     * @see DiscogsClient#wantlist(String, Map)
+     */
+    public CompletableFuture<String> wantlist(String username, Map<String, String> extraParams) {
+        return supply(() -> client.wantlist(username, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#wantlist(String)
+     */
+    public CompletableFuture<String> wantlist(String username) {
+        return supply(() -> client.wantlist(username));
+    }
+
+    /**
+     * @see DiscogsClient#addToWantlist(String, String)
+     */
+    public CompletableFuture<String> addToWantlist(String username, String release_id) {
+        return supply(() -> client.addToWantlist(username, release_id));
+    }
+
+    /**
+     * @see DiscogsClient#deleteFromWantlist(String, String)
+     */
+    public CompletableFuture<String> deleteFromWantlist(String username, String release_id) {
+        return supply(() -> client.deleteFromWantlist(username, release_id));
+    }
+
+    /**
+     * @see DiscogsClient#updateInWantlist(String, String, Map)
+     */
+    public CompletableFuture<String> updateInWantlist(String username, String release_id, Map<String, ?> extraParams) {
+        return supply(() -> client.updateInWantlist(username, release_id, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#inventory(String, Map)
+     */
+    public CompletableFuture<String> inventory(String username, Map<String, String> extraParams) {
+        return supply(() -> client.inventory(username, extraParams));
+    }
+
+    /**
+     * @see DiscogsClient#inventory(String)
+     */
+    public CompletableFuture<String> inventory(String username) {
+        return supply(() -> client.inventory(username));
+    }
+
+    /**
+     * @see DiscogsClient#listing(String)
+     */
+    public CompletableFuture<String> listing(String listing_id) {
+        return supply(() -> client.listing(listing_id));
+    }
+
+    /**
+     * @see DiscogsClient#getRelease(String)
+     */
+    public CompletableFuture<Release> getRelease(String release_id) {
+        return supply(() -> client.getRelease(release_id));
+    }
+
+    /**
+     * @see DiscogsClient#getMaster(String)
+     */
+    public CompletableFuture<Master> getMaster(String master_id) {
+        return supply(() -> client.getMaster(master_id));
+    }
+
+    /**
+     * @see DiscogsClient#getArtist(String)
+     */
+    public CompletableFuture<Artist> getArtist(String artist_id) {
+        return supply(() -> client.getArtist(artist_id));
+    }
+
+    /**
+     * @see DiscogsClient#getLabel(String)
+     */
+    public CompletableFuture<Label> getLabel(String label_id) {
+        return supply(() -> client.getLabel(label_id));
+    }
+
+    /**
+     * @see DiscogsClient#getListing(String)
+     */
+    public CompletableFuture<Listing> getListing(String listing_id) {
+        return supply(() -> client.getListing(listing_id));
+    }
+
+    /**
+     * Fetch many releases. Duplicate ids are fetched once; an id that fails is reported in
+     * {@link BulkResult#getFailures()} without aborting the others.
+     *
+     * @param release_ids the release ids
+     * @return future of the results, completing when every release is fetched or failed
+     * @see DiscogsClient#release(String)
+     */
+    public CompletableFuture<BulkResult> releases(Collection<String> release_ids) {
+        return bulk(client::releaseResponse, release_ids).toResult();
+    }
+
+    /**
+     * Fetch many releases, streamed in the order they complete. Closing the stream stops
+     * fetching releases that were not requested yet.
+     *
+     * @param release_ids the release ids
+     * @return stream of the outcome per distinct id
+     * @see #releases(Collection)
+     */
+    public Stream<BulkResult.Item> releasesAsCompleted(Collection<String> release_ids) {
+        return bulk(client::releaseResponse, release_ids).toStream();
+    }
+
+    /**
+     * @see #releases(Collection)
+     * @see DiscogsClient#masterRelease(String)
+     */
+    public CompletableFuture<BulkResult> masterReleases(Collection<String> master_ids) {
+        return bulk(client::masterReleaseResponse, master_ids).toResult();
+    }
+
+    /**
+     * @see #releasesAsCompleted(Collection)
+     * @see DiscogsClient#masterRelease(String)
+     */
+    public Stream<BulkResult.Item> masterReleasesAsCompleted(Collection<String> master_ids) {
+        return bulk(client::masterReleaseResponse, master_ids).toStream();
+    }
+
+    /**
+     * @see #releases(Collection)
+     * @see DiscogsClient#artist(String)
+     */
+    public CompletableFuture<BulkResult> artists(Collection<String> artist_ids) {
+        return bulk(client::artistResponse, artist_ids).toResult();
+    }
+
+    /**
+     * @see #releasesAsCompleted(Collection)
+     * @see DiscogsClient#artist(String)
+     */
+    public Stream<BulkResult.Item> artistsAsCompleted(Collection<String> artist_ids) {
+        return bulk(client::artistResponse, artist_ids).toStream();
+    }
+
+    /**
+     * @see #releases(Collection)
+     * @see DiscogsClient#label(String)
+     */
+    public CompletableFuture<BulkResult> labels(Collection<String> label_ids) {
+        return bulk(client::labelResponse, label_ids).toResult();
+    }
+
+    /**
+     * @see #releasesAsCompleted(Collection)
+     * @see DiscogsClient#label(String)
+     */
+    public Stream<BulkResult.Item> labelsAsCompleted(Collection<String> label_ids) {
+        return bulk(client::labelResponse, label_ids).toStream();
+    }
+
+    public DiscogsClient getClient() {
+        return client;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public int getBulkConcurrency() {
+        return bulkConcurrency;
+    }
+
+    /**
+     * Shut down the executor created by {@link #withVirtualThreads(DiscogsClient, int)}: requests already
+     * submitted still complete, new requests are rejected. Does nothing when the executor was given by the caller.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor != null) {
+            ownedExecutor.shutdown();
+        }
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> request) {
+        return CompletableFuture.supplyAsync(request, executor);
+    }
+
+    private BulkFetch bulk(Function<String, DiscogsResponse> fetch, Collection<String> ids) {
+        return new BulkFetch(executor, bulkConcurrency, fetch, ids);
+    }
+}
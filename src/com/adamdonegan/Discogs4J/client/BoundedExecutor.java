@@ -0,0 +1,80 @@
+package com.adamdonegan.Discogs4J.client;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link Executor} that limits the number of concurrently running tasks of a delegate executor.
+ * <p>
+ * Tasks are handed to the delegate immediately and wait for a permit on their own thread,
+ * which makes this guard intended for delegates that create cheap threads per task,
+ * such as {@link DiscogsExecutors#newVirtualThreadPerTaskExecutor() virtual threads}.
+ * <p>
+ * Every task is run once it has a permit. A task interrupted while waiting keeps waiting and
+ * then runs with its interrupt status set, so that it can fail itself; dropping it instead would
+ * leave a {@link java.util.concurrent.CompletableFuture} waiting on it incomplete forever.
+ */
+public class BoundedExecutor implements Executor {
+
+    private final Executor delegate;
+    private final int maxConcurrency;
+    private final Semaphore permits;
+    private final AtomicInteger waiting = new AtomicInteger();
+
+    /**
+     * @param delegate the executor to run the tasks on
+     * @param maxConcurrency the maximum number of tasks running at the same time
+     */
+    public BoundedExecutor(Executor delegate, int maxConcurrency) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Max concurrency must be greater than zero");
+        }
+        this.delegate = delegate;
+        this.maxConcurrency = maxConcurrency;
+        this.permits = new Semaphore(maxConcurrency, true);
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        delegate.execute(new Runnable() {
+            @Override
+            public void run() {
+                waiting.incrementAndGet();
+                try {
+                    // Returns with the interrupt status set when interrupted while waiting
+                    permits.acquireUninterruptibly();
+                } finally {
+                    waiting.decrementAndGet();
+                }
+                try {
+                    command.run();
+                } finally {
+                    permits.release();
+                }
+            }
+        });
+    }
+
+    public Executor getDelegate() {
+        return delegate;
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * @return the number of tasks currently running
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+
+    /**
+     * @return the number of tasks submitted and waiting for a permit
+     */
+    public int getWaitingCount() {
+        return waiting.get();
+    }
+}
@@ -0,0 +1,145 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fetches a batch of ids with at most a fixed number of requests in flight.
+ * <p>
+ * The ids are deduplicated and handed out to as many workers as the concurrency allows,
+ * each fetching one id after the other, so a slow id does not hold back the others.
+ * The requests go through the client like any other request and so share its rate limit.
+ */
+final class BulkFetch {
+
+    private final Executor executor;
+    private final int maxConcurrency;
+    private final Function<String, DiscogsResponse> fetch;
+    private final Set<String> ids;
+    private final Queue<String> pending;
+
+    /**
+     * @param executor executor to run the workers on
+     * @param maxConcurrency maximum number of requests in flight
+     * @param fetch fetches the response for an id
+     * @param ids ids to fetch
+     */
+    BulkFetch(Executor executor, int maxConcurrency, Function<String, DiscogsResponse> fetch, Collection<String> ids) {
+        this.executor = executor;
+        this.maxConcurrency = maxConcurrency;
+        this.fetch = fetch;
+        this.ids = new LinkedHashSet<String>(ids);
+        this.pending = new ConcurrentLinkedQueue<String>(this.ids);
+    }
+
+    /**
+     * @return future of the results once all ids are fetched
+     */
+    CompletableFuture<BulkResult> toResult() {
+        Map<String, BulkResult.Item> items = new ConcurrentHashMap<String, BulkResult.Item>();
+        return start(item -> items.put(item.getId(), item)).thenApply(done -> {
+            Map<String, String> results = new LinkedHashMap<String, String>();
+            Map<String, RuntimeException> failures = new LinkedHashMap<String, RuntimeException>();
+            for (String id : ids) {
+                BulkResult.Item item = items.get(id);
+                if (item.isSuccessful()) {
+                    results.put(id, item.getBody());
+                } else {
+                    failures.put(id, item.getFailure());
+                }
+            }
+            return new BulkResult(results, failures);
+        });
+    }
+
+    /**
+     * The stream blocks until the next id is fetched. Closing the stream stops fetching ids
+     * that were not requested yet.
+     *
+     * @return stream of the fetched ids, in the order they complete
+     */
+    Stream<BulkResult.Item> toStream() {
+        BlockingQueue<Object> completed = new LinkedBlockingQueue<Object>();
+        start(completed::add).whenComplete((done, failure) -> {
+            if (failure != null) {
+                completed.add(failure);
+            }
+        });
+        Iterator<BulkResult.Item> iterator = new Iterator<BulkResult.Item>() {
+            private int remaining = ids.size();
+
+            @Override
+            public boolean hasNext() {
+                return remaining > 0;
+            }
+
+            @Override
+            public BulkResult.Item next() {
+                if (remaining == 0) {
+                    throw new NoSuchElementException();
+                }
+                Object next;
+                try {
+                    next = completed.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new HttpRequestException(new InterruptedIOException("Interrupted while waiting for the next id"));
+                }
+                if (next instanceof Throwable) {
+                    remaining = 0;
+                    throw new CompletionException((Throwable) next);
+                }
+                remaining--;
+                return (BulkResult.Item) next;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliterator(iterator, ids.size(), Spliterator.NONNULL), false)
+                .onClose(pending::clear);
+    }
+
+    private CompletableFuture<Void> start(Consumer<BulkResult.Item> sink) {
+        int workers = Math.min(maxConcurrency, ids.size());
+        List<CompletableFuture<Void>> running = new ArrayList<CompletableFuture<Void>>(workers);
+        for (int i = 0; i < workers; i++) {
+            running.add(CompletableFuture.runAsync(() -> {
+                String id;
+                while ((id = pending.poll()) != null) {
+                    sink.accept(fetch(id));
+                }
+            }, executor));
+        }
+        return CompletableFuture.allOf(running.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private BulkResult.Item fetch(String id) {
+        try {
+            return new BulkResult.Item(id, fetch.apply(id).getBodyOrThrow(), null);
+        } catch (RuntimeException e) {
+            return new BulkResult.Item(id, null, e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.adamdonegan.Discogs4J.client;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Outcome of fetching many ids at once: the response bodies of the ids that were fetched
+ * and, separately, the failure of each id that could not be fetched.
+ * A failing id does not abort the rest of the batch.
+ */
+public class BulkResult {
+
+    private final Map<String, String> results;
+    private final Map<String, RuntimeException> failures;
+
+    BulkResult(Map<String, String> results, Map<String, RuntimeException> failures) {
+        this.results = Collections.unmodifiableMap(results);
+        this.failures = Collections.unmodifiableMap(failures);
+    }
+
+    /**
+     * @return response body by id, in the order the ids were given
+     */
+    public Map<String, String> getResults() {
+        return results;
+    }
+
+    /**
+     * @return failure by id, in the order the ids were given; a {@link DiscogsResponseException}
+     * for an error response, for example an unknown id, or the exception the request failed with
+     */
+    public Map<String, RuntimeException> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return true when every id was fetched
+     */
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    /**
+     * Outcome of fetching a single id of a batch
+     */
+    public static final class Item {
+
+        private final String id;
+        private final String body;
+        private final RuntimeException failure;
+
+        Item(String id, String body, RuntimeException failure) {
+            this.id = id;
+            this.body = body;
+            this.failure = failure;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * @return the response body, or null when fetching the id failed
+         */
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * @return the failure, or null when the id was fetched
+         */
+        public RuntimeException getFailure() {
+            return failure;
+        }
+
+        public boolean isSuccessful() {
+            return failure == null;
+        }
+    }
+}
@@ -1,11 +1,42 @@
 package com.adamdonegan.Discogs4J.client;
 
+import com.adamdonegan.Discogs4J.models.Artist;
 import com.adamdonegan.Discogs4J.models.AuthenticationType;
+import com.adamdonegan.Discogs4J.models.CollectionItem;
+import com.adamdonegan.Discogs4J.models.Label;
+import com.adamdonegan.Discogs4J.models.Listing;
+import com.adamdonegan.Discogs4J.models.Master;
+import com.adamdonegan.Discogs4J.models.Release;
+import com.adamdonegan.Discogs4J.models.SignatureMethod;
+import com.adamdonegan.Discogs4J.models.Want;
+import com.adamdonegan.Discogs4J.transport.ConnectionPool;
+import com.adamdonegan.Discogs4J.transport.HttpClientTransport;
+import com.adamdonegan.Discogs4J.transport.HttpRequestTransport;
+import com.adamdonegan.Discogs4J.transport.RequestBody;
+import com.adamdonegan.Discogs4J.transport.Transport;
+import com.adamdonegan.Discogs4J.transport.TransportRequest;
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
 import com.adamdonegan.Discogs4J.util.HttpRequest;
-
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+import com.adamdonegan.Discogs4J.util.JsonWriter;
+import com.adamdonegan.Discogs4J.util.UrlTemplate;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 public class DiscogsClient {
 	
@@ -43,41 +74,83 @@ public class DiscogsClient {
 	public static final String URL_INVENTORY ="https://api.discogs.com/users/{username}/inventory";
 	public static final String URL_LISTING = "https://api.discogs.com/marketplace/listings/{listing_id}";
 
+    //Endpoint URLs parsed once, expanded with percent-encoded values per call
+    private static final UrlTemplate URL_RELEASE_TEMPLATE = UrlTemplate.compile(URL_RELEASE);
+    private static final UrlTemplate URL_MASTER_RELEASE_TEMPLATE = UrlTemplate.compile(URL_MASTER_RELEASE);
+    private static final UrlTemplate URL_MASTER_RELEASE_VERSIONS_TEMPLATE = UrlTemplate.compile(URL_MASTER_RELEASE_VERSIONS);
+    private static final UrlTemplate URL_ARTIST_TEMPLATE = UrlTemplate.compile(URL_ARTIST);
+    private static final UrlTemplate URL_ARTIST_RELEASES_TEMPLATE = UrlTemplate.compile(URL_ARTIST_RELEASES);
+    private static final UrlTemplate URL_LABEL_TEMPLATE = UrlTemplate.compile(URL_LABEL);
+    private static final UrlTemplate URL_LABEL_RELEASES_TEMPLATE = UrlTemplate.compile(URL_LABEL_RELEASES);
+    private static final UrlTemplate URL_SEARCH_TEMPLATE = UrlTemplate.compile(URL_SEARCH);
+    private static final UrlTemplate URL_USER_PROFILE_TEMPLATE = UrlTemplate.compile(URL_USER_PROFILE);
+    private static final UrlTemplate URL_COLLECTION_TEMPLATE = UrlTemplate.compile(URL_COLLECTION);
+    private static final UrlTemplate URL_COLLECTION_FOLDER_TEMPLATE = UrlTemplate.compile(URL_COLLECTION_FOLDER);
+    private static final UrlTemplate URL_COLLECTION_RELEASES_TEMPLATE = UrlTemplate.compile(URL_COLLECTION_RELEASES);
+    private static final UrlTemplate URL_ADD_RELEASE_TO_FOLDER_TEMPLATE = UrlTemplate.compile(URL_ADD_RELEASE_TO_FOLDER);
+    private static final UrlTemplate URL_MODIFY_INSTANCE_IN_FOLDER_TEMPLATE = UrlTemplate.compile(URL_MODIFY_INSTANCE_IN_FOLDER);
+    private static final UrlTemplate URL_WANTLIST_TEMPLATE = UrlTemplate.compile(URL_WANTLIST);
+    private static final UrlTemplate URL_MODIFY_WANTLIST_WITH_RELEASE_TEMPLATE = UrlTemplate.compile(URL_MODIFY_WANTLIST_WITH_RELEASE);
+    private static final UrlTemplate URL_INVENTORY_TEMPLATE = UrlTemplate.compile(URL_INVENTORY);
+    private static final UrlTemplate URL_LISTING_TEMPLATE = UrlTemplate.compile(URL_LISTING);
+
     //OAuth
-	private static final String OAUTH_CONSUMER_KEY = "oauth_consumer_key";
-	private static final String OAUTH_NONCE = "oauth_nonce";
-	private static final String OAUTH_SIGNATURE = "oauth_signature";
-	private static final String OAUTH_SIGNATURE_METHOD = "oauth_signature_method";
+	static final String OAUTH_CONSUMER_KEY = "oauth_consumer_key";
+	static final String OAUTH_NONCE = "oauth_nonce";
+	static final String OAUTH_SIGNATURE = "oauth_signature";
+	static final String OAUTH_SIGNATURE_METHOD = "oauth_signature_method";
 	private static final String OAUTH_SIGNATURE_METHOD_VALUE = "PLAINTEXT";
-	private static final String OAUTH_TIMESTAMP = "oauth_timestamp";
-	private static final String OAUTH_ACCESS_TOKEN = "oauth_token";
-	private static final String OAUTH_CALLBACK = "oauth_callback";
-	private static final String OAUTH_VERIFIER = "oauth_verifier";
+	static final String OAUTH_TIMESTAMP = "oauth_timestamp";
+	static final String OAUTH_ACCESS_TOKEN = "oauth_token";
+	static final String OAUTH_CALLBACK = "oauth_callback";
+	static final String OAUTH_VERIFIER = "oauth_verifier";
 
     //Discogs Authorization
     private static final String DISCOGS_CONSUMER_KEY = "key";
     private static final String DISCOGS_CONSUMER_SECRET = "secret";
     private static final String DISCOGS_PERSONAL_TOKEN = "token";
 
-    private AuthenticationType authenticationType;
-
-	private boolean debugEnabled = false;
-    private int connectTimeout = 0;
-    private int readTimeout = 0;
-	
-	private String consumerKey = "";
-	private String consumerSecret = "";
-	private String userAgent = "";
-	private String callbackUrl = "";
+    private final AuthenticationType authenticationType;
+    /**
+     * The authentication type set on the builder, null when it follows from the credentials
+     */
+    private final AuthenticationType configuredAuthenticationType;
+    private final SignatureMethod signatureMethod;
+
+    private final Transport transport;
+    private final RateLimiter rateLimiter;
+    private final RetryPolicy retryPolicy;
+    private final ResponseCache responseCache;
+    private final int prefetchPages;
+    private final Executor prefetchExecutor;
+    private final SingleFlight<DiscogsResponse> inFlightRequests = new SingleFlight<DiscogsResponse>();
+
+	private final boolean debugEnabled;
+    private final boolean compressionEnabled;
+    private final long maxInMemorySize;
+    private final int connectTimeout;
+    private final int readTimeout;
 	
-	private String requestToken = "";
-	private String requestTokenSecret = "";
-	private String accessVerifier = "";
+	private final String consumerKey;
+	private final String consumerSecret;
+	private final String userAgent;
+	private final String callbackUrl;
 	
-	private String oauthToken = "";
-	private String oauthTokenSecret = "";
+	private final String oauthToken;
+	private final String oauthTokenSecret;
 
-    private String personalAccessToken = "";
+    private final String personalAccessToken;
+
+    /**
+     * Authorization header values derived from the credentials
+     */
+    private final String staticAuthorizationHeader;
+    private final String oauthHeaderPrefix;
+    private final SecretKeySpec oauthSigningKey;
+    /**
+     * Hash of the credentials prefixing the keys of cached and coalesced user requests
+     */
+    private final String authorizationIdentity;
 
     /**
      * Create a new client with OAuth authorization
@@ -87,11 +160,8 @@ public class DiscogsClient {
      * @param callback_url oauth callback url
      */
 	public DiscogsClient (String consumer_key, String consumer_secret, String user_agent, String callback_url){
-		consumerKey = consumer_key;
-		consumerSecret = consumer_secret;
-		userAgent = user_agent;
-		callbackUrl = callback_url;
-        authenticationType = AuthenticationType.OAUTH;
+		this(builder().userAgent(user_agent).consumer(consumer_key, consumer_secret).callbackUrl(callback_url)
+                .authenticationType(AuthenticationType.OAUTH));
 	}
 
     /**
@@ -103,12 +173,7 @@ public class DiscogsClient {
      * @param oauth_token_secret oauth flow token secret
      */
 	public DiscogsClient (String consumer_key, String consumer_secret, String user_agent, String oauth_token, String oauth_token_secret){
-		consumerKey = consumer_key;
-		consumerSecret = consumer_secret;
-		userAgent = user_agent;
-		oauthToken = oauth_token;
-		oauthTokenSecret = oauth_token_secret;
-        authenticationType = AuthenticationType.OAUTH;
+		this(builder().userAgent(user_agent).consumer(consumer_key, consumer_secret).oauthToken(oauth_token, oauth_token_secret));
 	}
 
     /**
@@ -118,10 +183,7 @@ public class DiscogsClient {
      * @param consumer_secret application consumer secret
      */
     public DiscogsClient (String user_agent, String consumer_key, String consumer_secret) {
-        userAgent = user_agent;
-        consumerKey = consumer_key;
-        consumerSecret = consumer_secret;
-        authenticationType = AuthenticationType.DISCOGS_CONSUMER_AUTH;
+        this(builder().userAgent(user_agent).consumer(consumer_key, consumer_secret));
     }
 
     /**
@@ -130,9 +192,7 @@ public class DiscogsClient {
      * @param personal_access_token user personal access token
      */
     public DiscogsClient (String user_agent, String personal_access_token) {
-        userAgent = user_agent;
-        personalAccessToken = personal_access_token;
-        authenticationType = AuthenticationType.DISCOGS_PERSONAL_AUTH;
+        this(builder().userAgent(user_agent).personalAccessToken(personal_access_token));
     }
 
     /**
@@ -140,34 +200,121 @@ public class DiscogsClient {
      * @param user_agent application user agent
      */
 	public DiscogsClient (String user_agent) {
-		userAgent = user_agent;
-        authenticationType = AuthenticationType.NONE;
-	}
-	
+		this(builder().userAgent(user_agent));
+	}
+
+    private DiscogsClient(Builder builder) {
+        authenticationType = builder.authenticationType();
+        configuredAuthenticationType = builder.authenticationType;
+        signatureMethod = builder.signatureMethod;
+        transport = builder.transport != null ? builder.transport : new HttpRequestTransport();
+        rateLimiter = builder.rateLimiter;
+        retryPolicy = builder.retryPolicy;
+        responseCache = builder.responseCache;
+        prefetchPages = builder.prefetchPages;
+        prefetchExecutor = builder.prefetchExecutor;
+        debugEnabled = builder.debugEnabled;
+        compressionEnabled = builder.compressionEnabled;
+        maxInMemorySize = builder.maxInMemorySize;
+        connectTimeout = builder.connectTimeout;
+        readTimeout = builder.readTimeout;
+        consumerKey = builder.consumerKey;
+        consumerSecret = builder.consumerSecret;
+        userAgent = builder.userAgent;
+        callbackUrl = builder.callbackUrl;
+        oauthToken = builder.oauthToken;
+        oauthTokenSecret = builder.oauthTokenSecret;
+        personalAccessToken = builder.personalAccessToken;
+
+        staticAuthorizationHeader = staticAuthorizationHeader();
+        oauthHeaderPrefix = "OAuth "
+                + OAUTH_CONSUMER_KEY + "=\"" + consumerKey + "\", "
+                + OAUTH_SIGNATURE + "=\"" + consumerSecret + "&" + oauthTokenSecret + "\", "
+                + OAUTH_SIGNATURE_METHOD + "=\"" + OAUTH_SIGNATURE_METHOD_VALUE + "\", "
+                + OAUTH_ACCESS_TOKEN + "=\"" + oauthToken + "\", ";
+        oauthSigningKey = OAuthSigner.key(consumerSecret, oauthTokenSecret);
+        authorizationIdentity = authorizationIdentity();
+    }
+
+    /**
+     * @return a builder for a new client, without authorization until credentials are set
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * An authentication type that followed from the credentials is not copied, so that it follows from the
+     * credentials set on the returned builder.
+     *
+     * @return a builder initialized with the configuration of this client, to create a differently configured copy
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder()
+                .userAgent(userAgent)
+                .consumer(consumerKey, consumerSecret)
+                .callbackUrl(callbackUrl)
+                .oauthToken(oauthToken, oauthTokenSecret)
+                .personalAccessToken(personalAccessToken)
+                .authenticationType(configuredAuthenticationType)
+                .signatureMethod(signatureMethod)
+                .transport(transport)
+                .rateLimiter(rateLimiter)
+                .retryPolicy(retryPolicy)
+                .responseCache(responseCache)
+                .pagePrefetch(prefetchPages, prefetchExecutor)
+                .debugEnabled(debugEnabled)
+                .compressionEnabled(compressionEnabled)
+                .maxInMemorySize(maxInMemorySize);
+        builder.connectTimeout = connectTimeout;
+        builder.readTimeout = readTimeout;
+        return builder;
+    }
+
+    /**
+     * Start a three-legged OAuth handshake with the consumer key, secret and callback URL of this client
+     *
+     * @return the state of the new handshake
+     */
+    public OAuthSession newOAuthSession() {
+        return new OAuthSession(this);
+    }
+
 	public String genericGet(String URL) {
-		HttpRequest request = createGetRequest(URL).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL).userAgent(userAgent);
 		debugLog(request.toString());
 
-		return request.body();
+		return executeGet(request);
 	}
 
-    public String genericPost(String URL, Map<String, String> params) {
-		HttpRequest request = createPostRequest(URL, true).authorization(authenticatedHeader()).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(mapToJson(params));
+    /**
+     * Get the body of a URL without any bound on its size: a body larger than the
+     * {@link Builder#maxInMemorySize(long) in-memory limit} is spilled to a temporary file that
+     * is mapped rather than read onto the heap. The response is neither cached nor shared with
+     * concurrent identical requests.
+     *
+     * @param URL the URL to get
+     * @return a read-only view of the response body, whatever the status code
+     */
+    public ByteBuffer genericGetBuffer(String URL) {
+        TransportRequest request = createGetRequest(URL).userAgent(userAgent);
+        debugLog(request.toString());
+
+        return executeBuffer(request);
+    }
+
+    public String genericPost(String URL, Map<String, ?> params) {
+		TransportRequest request = createPostRequest(URL, true).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(RequestBody.json(params));
 		debugLog(request.toString());
 
-		return request.body();
+		return execute(request, TransportResponse::body);
 	}
 
     public String genericDelete(String URL) {
-		HttpRequest request = createDeleteRequest(URL, true).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createDeleteRequest(URL, true).userAgent(userAgent);
 		debugLog(request.toString());
 
-		if(request.noContent()){
-			debugLog(Integer.toString(request.code()));
-			return Integer.toString(request.code()) + " No Content";
-		}
-		
-		return request.body();
+		return execute(request, this::bodyOrNoContent);
 	}
 
     /**----------------------------------------------
@@ -176,10 +323,10 @@ public class DiscogsClient {
 	 * params: none
 	 */
 	public String identity() {
-		HttpRequest request = createGetRequest(URL_USER_IDENTITY).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_USER_IDENTITY).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return executeGet(request);
 	}
 	
 	/**----------------------------------------------
@@ -189,22 +336,18 @@ public class DiscogsClient {
 	 */
 	public String profile(String username)
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_USER_PROFILE, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_USER_PROFILE_TEMPLATE.expand(username)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return executeRevalidated(request);
 	}
 	
-	public String updateProfile(String username, Map<String, String> extraParams)
+	public String updateProfile(String username, Map<String, ?> extraParams)
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		HttpRequest request = createPostRequest(replaceURLParams(URL_USER_PROFILE, params), true).authorization(authenticatedHeader()).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(mapToJson(extraParams));
+		TransportRequest request = createPostRequest(URL_USER_PROFILE_TEMPLATE.expand(username)).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(RequestBody.json(extraParams));
 		debugLog(request.toString());
 
-		return request.body();
+		return execute(request, TransportResponse::body);
 	}
 	
 	/**----------------------------------------------
@@ -214,23 +357,31 @@ public class DiscogsClient {
 	 */
 	public String search(String query) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("query", query);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_SEARCH, params), true).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_SEARCH_TEMPLATE.expand(query)).userAgent(userAgent);
 		debugLog(request.toString());
 
-		return request.body();
+		return executeGet(request);
 	}
 
 	public String advancedSearch(String query, Map<String, String> extraParams)
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("query", query);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_SEARCH, params), extraParams, true).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_SEARCH_TEMPLATE.expand(extraParams, query)).userAgent(userAgent);
 		debugLog(request.toString());
 
-		return request.body();
+		return executeGet(request);
 	}
+
+    /**
+     * Search without any bound on the size of the response, see {@link #genericGetBuffer(String)}
+     *
+     * @return a read-only view of the response body, whatever the status code
+     */
+    public ByteBuffer searchBuffer(String query, Map<String, String> extraParams) {
+        TransportRequest request = createGetRequest(URL_SEARCH_TEMPLATE.expand(extraParams, query)).userAgent(userAgent);
+        debugLog(request.toString());
+
+        return executeBuffer(request);
+    }
 	
 	/**----------------------------------------------
 	 * method: GET
@@ -239,12 +390,20 @@ public class DiscogsClient {
 	 */
 	public String release(String release_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("release_id", release_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_RELEASE, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		return releaseResponse(release_id).getBody();
+	}
+
+	DiscogsResponse releaseResponse(String release_id)
+	{
+		return releaseResponse(release_id, false);
+	}
+
+	DiscogsResponse releaseResponse(String release_id, boolean bytes)
+	{
+		TransportRequest request = createGetRequest(URL_RELEASE_TEMPLATE.expand(release_id)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return fetchCached(request, bytes);
 	}
 	
 	/**----------------------------------------------
@@ -254,12 +413,20 @@ public class DiscogsClient {
 	 */
 	public String masterRelease(String master_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("master_id", master_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_MASTER_RELEASE, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		return masterReleaseResponse(master_id).getBody();
+	}
+
+	DiscogsResponse masterReleaseResponse(String master_id)
+	{
+		return masterReleaseResponse(master_id, false);
+	}
+
+	DiscogsResponse masterReleaseResponse(String master_id, boolean bytes)
+	{
+		TransportRequest request = createGetRequest(URL_MASTER_RELEASE_TEMPLATE.expand(master_id)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return fetchCached(request, bytes);
 	}
 	
 	/**----------------------------------------------
@@ -269,12 +436,10 @@ public class DiscogsClient {
 	 */
 	public String masterReleaseVersions(String master_id, Map<String, String> extraParams) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("master_id", master_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_MASTER_RELEASE_VERSIONS, params), extraParams, true).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_MASTER_RELEASE_VERSIONS_TEMPLATE.expand(extraParams, master_id)).userAgent(userAgent);
 		debugLog(request.toString());
 
-		return request.body();
+		return executeGet(request);
 	}
 	
 	public String masterReleaseVersions(String master_id)
@@ -289,12 +454,20 @@ public class DiscogsClient {
 	 */
 	public String artist(String artist_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("artist_id", artist_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_ARTIST, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		return artistResponse(artist_id).getBody();
+	}
+
+	DiscogsResponse artistResponse(String artist_id)
+	{
+		return artistResponse(artist_id, false);
+	}
+
+	DiscogsResponse artistResponse(String artist_id, boolean bytes)
+	{
+		TransportRequest request = createGetRequest(URL_ARTIST_TEMPLATE.expand(artist_id)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return fetchCached(request, bytes);
 	}
 	
 	/**----------------------------------------------
@@ -304,12 +477,10 @@ public class DiscogsClient {
 	 */
 	public String artistReleases(String artist_id, Map<String, String> extraParams) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("artist_id", artist_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_ARTIST_RELEASES, params), extraParams, true).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_ARTIST_RELEASES_TEMPLATE.expand(extraParams, artist_id)).userAgent(userAgent);
 		debugLog(request.toString());
 
-		return request.body();
+		return executeGet(request);
 	}
 	
 	public String artistReleases(String artist_id)
@@ -324,12 +495,20 @@ public class DiscogsClient {
 	 */
 	public String label(String label_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("label_id", label_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_LABEL, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		return labelResponse(label_id).getBody();
+	}
+
+	DiscogsResponse labelResponse(String label_id)
+	{
+		return labelResponse(label_id, false);
+	}
+
+	DiscogsResponse labelResponse(String label_id, boolean bytes)
+	{
+		TransportRequest request = createGetRequest(URL_LABEL_TEMPLATE.expand(label_id)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return fetchCached(request, bytes);
 	}
 	
 	/**----------------------------------------------
@@ -339,12 +518,10 @@ public class DiscogsClient {
 	 */
 	public String labelReleases(String label_id, Map<String, String> extraParams) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("label_id", label_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_LABEL_RELEASES, params), extraParams, true).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_LABEL_RELEASES_TEMPLATE.expand(extraParams, label_id)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return executeGet(request);
 	}
 	
 	public String labelReleases(String label_id)
@@ -359,24 +536,20 @@ public class DiscogsClient {
 	 */
 	public String collection(String username) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_COLLECTION, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_COLLECTION_TEMPLATE.expand(username)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return executeRevalidated(request);
 	}
     
 	public String addCollectionFolder(String username, String folderName)
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
 		Map<String, String> extraParams = new HashMap<String, String>();
 		extraParams.put("name", folderName);
-		HttpRequest request = createPostRequest(replaceURLParams(URL_COLLECTION, params)).authorization(authenticatedHeader()).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(mapToJson(extraParams));
+		TransportRequest request = createPostRequest(URL_COLLECTION_TEMPLATE.expand(username)).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(RequestBody.json(extraParams));
 		debugLog(request.toString());
 
-		return request.body();
+		return execute(request, TransportResponse::body);
 	}
 	
 	/**----------------------------------------------
@@ -386,23 +559,17 @@ public class DiscogsClient {
 	 */
 	public String collectionFolder(String username, String folder_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("folder_id", folder_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_COLLECTION_FOLDER, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_COLLECTION_FOLDER_TEMPLATE.expand(username, folder_id)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return executeRevalidated(request);
 	}
 	
-	public String updateCollectionFolder(String username, String folder_id, Map<String, String> extraParams)
+	public String updateCollectionFolder(String username, String folder_id, Map<String, ?> extraParams)
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("folder_id", folder_id);
-		HttpRequest request = createPostRequest(replaceURLParams(URL_COLLECTION_FOLDER, params)).authorization(authenticatedHeader()).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(mapToJson(extraParams));
+		TransportRequest request = createPostRequest(URL_COLLECTION_FOLDER_TEMPLATE.expand(username, folder_id)).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(RequestBody.json(extraParams));
 	
-		return request.body();
+		return execute(request, TransportResponse::body);
 	}
 	
 	/**----------------------------------------------
@@ -412,18 +579,10 @@ public class DiscogsClient {
 	 */
 	public String deleteCollectionFolder(String username, String folder_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("folder_id", folder_id);
-		HttpRequest request = createDeleteRequest(replaceURLParams(URL_COLLECTION_FOLDER, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createDeleteRequest(URL_COLLECTION_FOLDER_TEMPLATE.expand(username, folder_id)).userAgent(userAgent);
 		debugLog(request.toString());
 
-		if(request.noContent()){
-			debugLog(Integer.toString(request.code()));
-			return Integer.toString(request.code()) + " No Content";
-		}
-        
-		return request.body();
+		return execute(request, this::bodyOrNoContent);
 	}
 	
 	/**----------------------------------------------
@@ -433,13 +592,10 @@ public class DiscogsClient {
 	 */
 	public String collectionReleases(String username, String folder_id, Map<String, String> extraParams) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("folder_id", folder_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_COLLECTION_RELEASES, params), extraParams, true).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_COLLECTION_RELEASES_TEMPLATE.expand(extraParams, username, folder_id)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return executeRevalidated(request);
 	}
 	
 	public String collectionReleases(String username, String folder_id)
@@ -455,15 +611,12 @@ public class DiscogsClient {
 	 */
 	public String addReleaseToFolder(String username, String folder_id, String release_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("folder_id", folder_id);
-		params.put("release_id", release_id);
-		HttpRequest request = createPostRequest(replaceURLParams(URL_ADD_RELEASE_TO_FOLDER, params)).authorization(authenticatedHeader()).userAgent(userAgent).send("");
+		TransportRequest request = createPostRequest(URL_ADD_RELEASE_TO_FOLDER_TEMPLATE.expand(username, folder_id, release_id)).userAgent(userAgent).send("");
 		debugLog(request.toString());
-		debugLog(request.code());
-		
-		return request.body();
+		return execute(request, response -> {
+			debugLog(response.code());
+			return response.body();
+		});
 	}
 	
 	/**----------------------------------------------
@@ -471,22 +624,12 @@ public class DiscogsClient {
 	 * URL   : https://api.discogs.com/users/{username}/collection/folders/{folder_id}/releases/{release_id}/instances/{instance_id}
 	 * params: username, folder_id, release_id, instance_id
 	 */
-	public String updateInstanceInFolder(String username, String folder_id, String release_id, String instance_id, Map<String, String> extraParams) 
-	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("folder_id", folder_id);
-		params.put("release_id", release_id);
-		params.put("instance_id", instance_id);
-		HttpRequest request = createPostRequest(replaceURLParams(URL_MODIFY_INSTANCE_IN_FOLDER, params)).authorization(authenticatedHeader()).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(mapToJson(extraParams));
+	public String updateInstanceInFolder(String username, String folder_id, String release_id, String instance_id, Map<String, ?> extraParams) 
+	{
+		TransportRequest request = createPostRequest(URL_MODIFY_INSTANCE_IN_FOLDER_TEMPLATE.expand(username, folder_id, release_id, instance_id)).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(RequestBody.json(extraParams));
 		debugLog(request.toString());
 
-		if(request.noContent()){
-			debugLog(Integer.toString(request.code()));
-			return Integer.toString(request.code()) + " No Content";
-		}
-		
-		return request.body();
+		return execute(request, this::bodyOrNoContent);
 	}
     
 	/**----------------------------------------------
@@ -496,19 +639,9 @@ public class DiscogsClient {
 	 */
 	public String deleteInstanceFromFolder(String username, String folder_id, String release_id, String instance_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("folder_id", folder_id);
-		params.put("release_id", release_id);
-		params.put("instance_id", instance_id);
-		HttpRequest request = createDeleteRequest(replaceURLParams(URL_MODIFY_INSTANCE_IN_FOLDER, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createDeleteRequest(URL_MODIFY_INSTANCE_IN_FOLDER_TEMPLATE.expand(username, folder_id, release_id, instance_id)).userAgent(userAgent);
 		
-		if(request.noContent()){
-			debugLog(Integer.toString(request.code()));
-			return Integer.toString(request.code()) + " No Content";
-		}
-        
-		return request.body();
+		return execute(request, this::bodyOrNoContent);
 	}
 	
 	/**----------------------------------------------
@@ -518,12 +651,10 @@ public class DiscogsClient {
 	 */
 	public String wantlist(String username, Map<String, String> extraParams) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_WANTLIST, params), extraParams, true).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_WANTLIST_TEMPLATE.expand(extraParams, username)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return executeRevalidated(request);
 	}
 	
 	public String wantlist(String username)
@@ -538,14 +669,12 @@ public class DiscogsClient {
 	 */
 	public String addToWantlist(String username, String release_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("release_id", release_id);
-		HttpRequest request = createPutRequest(replaceURLParams(URL_MODIFY_WANTLIST_WITH_RELEASE, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createPutRequest(URL_MODIFY_WANTLIST_WITH_RELEASE_TEMPLATE.expand(username, release_id)).userAgent(userAgent);
 		debugLog(request.toString());
-		debugLog(request.code());
-		
-		return request.body();
+		return execute(request, response -> {
+			debugLog(response.code());
+			return response.body();
+		});
 	}
 
     /**----------------------------------------------
@@ -555,33 +684,17 @@ public class DiscogsClient {
 	 */
 	public String deleteFromWantlist(String username, String release_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("release_id", release_id);
-		HttpRequest request = createDeleteRequest(replaceURLParams(URL_MODIFY_WANTLIST_WITH_RELEASE, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createDeleteRequest(URL_MODIFY_WANTLIST_WITH_RELEASE_TEMPLATE.expand(username, release_id)).userAgent(userAgent);
 		debugLog(request.toString());
-		if(request.noContent()){
-			debugLog(Integer.toString(request.code()));
-			return Integer.toString(request.code()) + " No Content";
-		}
-		
-		return request.body();
+		return execute(request, this::bodyOrNoContent);
 	}
 	
-	public String updateInWantlist(String username, String release_id, Map<String, String> extraParams)
+	public String updateInWantlist(String username, String release_id, Map<String, ?> extraParams)
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		params.put("release_id", release_id);
-		HttpRequest request = createPostRequest(replaceURLParams(URL_MODIFY_WANTLIST_WITH_RELEASE, params)).authorization(authenticatedHeader()).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(mapToJson(extraParams));
+		TransportRequest request = createPostRequest(URL_MODIFY_WANTLIST_WITH_RELEASE_TEMPLATE.expand(username, release_id)).userAgent(userAgent).contentType(HttpRequest.CONTENT_TYPE_JSON).send(RequestBody.json(extraParams));
 		debugLog(request.toString());
 
-		if(request.noContent()){
-			debugLog(Integer.toString(request.code()));
-			return Integer.toString(request.code()) + " No Content";
-		}
-		
-		return request.body();
+		return execute(request, this::bodyOrNoContent);
 	}
 	
 	/**----------------------------------------------
@@ -589,16 +702,31 @@ public class DiscogsClient {
 	 * URL   : https://api.discogs.com/users/{username}/inventory
 	 * params: username
 	 */
-	public String inventory(String username) 
+	public String inventory(String username, Map<String, String> extraParams) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("username", username);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_INVENTORY, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		TransportRequest request = createGetRequest(URL_INVENTORY_TEMPLATE.expand(extraParams, username)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return executeGet(request);
 	}
 	
+	public String inventory(String username)
+	{
+		return inventory(username, null);
+	}
+
+    /**
+     * Get an inventory page without any bound on the size of the response, see {@link #genericGetBuffer(String)}
+     *
+     * @return a read-only view of the response body, whatever the status code
+     */
+    public ByteBuffer inventoryBuffer(String username, Map<String, String> extraParams) {
+        TransportRequest request = createGetRequest(URL_INVENTORY_TEMPLATE.expand(extraParams, username)).userAgent(userAgent);
+        debugLog(request.toString());
+
+        return executeBuffer(request);
+    }
+	
 	/**----------------------------------------------
 	 * method: GET
 	 * URL   : https://api.discogs.com/marketplace/listings/{listing_id}
@@ -606,14 +734,219 @@ public class DiscogsClient {
 	 */
 	public String listing(String listing_id) 
 	{
-		Map<String, String> params = new HashMap<String, String>();
-		params.put("listing_id", listing_id);
-		HttpRequest request = createGetRequest(replaceURLParams(URL_LISTING, params)).authorization(authenticatedHeader()).userAgent(userAgent);
+		return listingResponse(listing_id).getBody();
+	}
+
+	DiscogsResponse listingResponse(String listing_id)
+	{
+		return listingResponse(listing_id, false);
+	}
+
+	DiscogsResponse listingResponse(String listing_id, boolean bytes)
+	{
+		TransportRequest request = createGetRequest(URL_LISTING_TEMPLATE.expand(listing_id)).userAgent(userAgent);
 		debugLog(request.toString());
         
-		return request.body();
+		return fetchGet(request, bytes);
 	}
 	
+    /**----------------------------------------------
+     * Lazily fetch all pages of a paged endpoint, following the pagination.urls.next link of each page.
+     * Pages are requested as the stream is consumed, or ahead of it when page prefetching is enabled.
+     * params: URL of the first page
+     * @see Builder#pagePrefetch(int, Executor)
+     */
+    public Stream<String> pages(String URL) {
+        if (prefetchPages > 0) {
+            return PrefetchingPageIterator.stream(this::openGet, URL, prefetchExecutor, prefetchPages);
+        }
+        return PageIterator.stream(this::openGet, URL);
+    }
+
+    /**
+     * @see #search(String)
+     * @see #advancedSearch(String, Map)
+     */
+    public Stream<String> searchPages(String query, Map<String, String> extraParams) {
+        return pages(URL_SEARCH_TEMPLATE.expand(extraParams, query));
+    }
+
+    /**
+     * @see #masterReleaseVersions(String, Map)
+     */
+    public Stream<String> masterReleaseVersionsPages(String master_id, Map<String, String> extraParams) {
+        return pages(URL_MASTER_RELEASE_VERSIONS_TEMPLATE.expand(extraParams, master_id));
+    }
+
+    /**
+     * @see #artistReleases(String, Map)
+     */
+    public Stream<String> artistReleasesPages(String artist_id, Map<String, String> extraParams) {
+        return pages(URL_ARTIST_RELEASES_TEMPLATE.expand(extraParams, artist_id));
+    }
+
+    /**
+     * @see #labelReleases(String, Map)
+     */
+    public Stream<String> labelReleasesPages(String label_id, Map<String, String> extraParams) {
+        return pages(URL_LABEL_RELEASES_TEMPLATE.expand(extraParams, label_id));
+    }
+
+    /**
+     * @see #collectionReleases(String, String, Map)
+     */
+    public Stream<String> collectionReleasesPages(String username, String folder_id, Map<String, String> extraParams) {
+        return pages(URL_COLLECTION_RELEASES_TEMPLATE.expand(extraParams, username, folder_id));
+    }
+
+    /**
+     * @see #wantlist(String, Map)
+     */
+    public Stream<String> wantlistPages(String username, Map<String, String> extraParams) {
+        return pages(URL_WANTLIST_TEMPLATE.expand(extraParams, username));
+    }
+
+    /**
+     * @see #inventory(String, Map)
+     */
+    public Stream<String> inventoryPages(String username, Map<String, String> extraParams) {
+        return pages(URL_INVENTORY_TEMPLATE.expand(extraParams, username));
+    }
+
+
+    /**----------------------------------------------
+     * Lazily stream the elements of an array member of every page of a paged endpoint, for example the
+     * 'listings' of an inventory, following the pagination.urls.next link of each page.
+     * Each page is tokenized straight from the response stream, one element at a time, without the
+     * response cache or coalescing of identical requests. Close the stream when not reading it to the end.
+     * params: URL of the first page, name of the array member
+     */
+    public Stream<String> items(String URL, String arrayName) {
+        return items(URL, arrayName, item -> new String(item, StandardCharsets.UTF_8));
+    }
+
+    private <T> Stream<T> items(String URL, String arrayName, Function<byte[], T> decode) {
+        return ItemIterator.stream(this::openGet, URL, arrayName, decode);
+    }
+
+    /**
+     * @return the 'results' of every page
+     * @see #search(String)
+     * @see #advancedSearch(String, Map)
+     */
+    public Stream<String> searchItems(String query, Map<String, String> extraParams) {
+        return items(URL_SEARCH_TEMPLATE.expand(extraParams, query), "results");
+    }
+
+    /**
+     * @return the 'versions' of every page
+     * @see #masterReleaseVersions(String, Map)
+     */
+    public Stream<String> masterReleaseVersionsItems(String master_id, Map<String, String> extraParams) {
+        return items(URL_MASTER_RELEASE_VERSIONS_TEMPLATE.expand(extraParams, master_id), "versions");
+    }
+
+    /**
+     * @return the 'releases' of every page
+     * @see #artistReleases(String, Map)
+     */
+    public Stream<String> artistReleasesItems(String artist_id, Map<String, String> extraParams) {
+        return items(URL_ARTIST_RELEASES_TEMPLATE.expand(extraParams, artist_id), "releases");
+    }
+
+    /**
+     * @return the 'releases' of every page
+     * @see #labelReleases(String, Map)
+     */
+    public Stream<String> labelReleasesItems(String label_id, Map<String, String> extraParams) {
+        return items(URL_LABEL_RELEASES_TEMPLATE.expand(extraParams, label_id), "releases");
+    }
+
+    /**
+     * @return the 'releases' of every page
+     * @see #collectionReleases(String, String, Map)
+     */
+    public Stream<String> collectionReleasesItems(String username, String folder_id, Map<String, String> extraParams) {
+        return items(URL_COLLECTION_RELEASES_TEMPLATE.expand(extraParams, username, folder_id), "releases");
+    }
+
+    /**
+     * @return the 'wants' of every page
+     * @see #wantlist(String, Map)
+     */
+    public Stream<String> wantlistItems(String username, Map<String, String> extraParams) {
+        return items(URL_WANTLIST_TEMPLATE.expand(extraParams, username), "wants");
+    }
+
+    /**
+     * @return the 'listings' of every page
+     * @see #inventory(String, Map)
+     */
+    public Stream<String> inventoryItems(String username, Map<String, String> extraParams) {
+        return items(URL_INVENTORY_TEMPLATE.expand(extraParams, username), "listings");
+    }
+
+
+    /**----------------------------------------------
+     * Typed variants: the response is kept as bytes, each field is decoded only when it is read.
+     * An error response, for example for an unknown id, throws a DiscogsResponseException.
+     */
+    public Release getRelease(String release_id) {
+        return new Release(releaseResponse(release_id, true).getBytesOrThrow());
+    }
+
+    /**
+     * @see #masterRelease(String)
+     */
+    public Master getMaster(String master_id) {
+        return new Master(masterReleaseResponse(master_id, true).getBytesOrThrow());
+    }
+
+    /**
+     * @see #artist(String)
+     */
+    public Artist getArtist(String artist_id) {
+        return new Artist(artistResponse(artist_id, true).getBytesOrThrow());
+    }
+
+    /**
+     * @see #label(String)
+     */
+    public Label getLabel(String label_id) {
+        return new Label(labelResponse(label_id, true).getBytesOrThrow());
+    }
+
+    /**
+     * @see #listing(String)
+     */
+    public Listing getListing(String listing_id) {
+        return new Listing(listingResponse(listing_id, true).getBytesOrThrow());
+    }
+
+    /**
+     * @return the releases of the folder, streamed as described for {@link #items(String, String)}
+     * @see #collectionReleases(String, String, Map)
+     */
+    public Stream<CollectionItem> getCollectionItems(String username, String folder_id, Map<String, String> extraParams) {
+        return items(URL_COLLECTION_RELEASES_TEMPLATE.expand(extraParams, username, folder_id), "releases", CollectionItem::new);
+    }
+
+    /**
+     * @return the wants, streamed as described for {@link #items(String, String)}
+     * @see #wantlist(String, Map)
+     */
+    public Stream<Want> getWants(String username, Map<String, String> extraParams) {
+        return items(URL_WANTLIST_TEMPLATE.expand(extraParams, username), "wants", Want::new);
+    }
+
+    /**
+     * @return the listings of the inventory, streamed as described for {@link #items(String, String)}
+     * @see #inventory(String, Map)
+     */
+    public Stream<Listing> getListings(String username, Map<String, String> extraParams) {
+        return items(URL_INVENTORY_TEMPLATE.expand(extraParams, username), "listings", Listing::new);
+    }
+	
 	public String replaceURLParams(String start, Map<String, String> keysAndValues){
 		String endString = start;
 		
@@ -624,24 +957,21 @@ public class DiscogsClient {
 		return endString;
 	}
 	
-	public String mapToJson(Map<String, String> map) {
-		String mapAsJson = "";
-		int index = 0;
-		
+	/**
+	 * @param map the fields of a JSON object, values may be nested maps, collections, numbers and booleans
+	 * @return the map as JSON object, or an empty string for no fields
+	 */
+	public String mapToJson(Map<String, ?> map) {
 		if(map == null || map.isEmpty())
 			return "";
-		
-		mapAsJson += "{";
-		for(String key : map.keySet()) {
-			mapAsJson += "\""+key+"\"" + ":" + "\""+map.get(key)+"\"";
-			index++;
-			if(index < map.size())
-				mapAsJson += ",";
-			
+
+		StringWriter json = new StringWriter();
+		try {
+			JsonWriter.write(json, map);
+		} catch (IOException e) {
+			throw new HttpRequestException(e);
 		}
-		mapAsJson += "}";
-		
-		return mapAsJson;
+		return json.toString();
 	}
 	
 	public Map<String, String> parseParams (String responseString) {
@@ -669,94 +999,205 @@ public class DiscogsClient {
 		return map;
 	}
 	
-	public void getRequestToken() {
-		HttpRequest request = createGetRequest(HttpRequest.append(URL_REQUEST_TOKEN)).userAgent(userAgent).authorization(requestAuthorizationHeader());
+    private TransportRequest createGetRequest(String URL) {
+        return createRequest(HttpRequest.METHOD_GET, URL);
+    }
 
-		debugLog(request.toString());
-		debugLog(request.code());
-		Map<String, String> r = parseParams(request.body());
-		String token = r.get("oauth_token");
-		String token_secret = r.get("oauth_token_secret");
-		debugLog(token);
-		debugLog(token_secret);
+    private TransportRequest createPostRequest(String URL) {
+        return createRequest(HttpRequest.METHOD_POST, URL);
+    }
 
-		requestToken = token;
-		requestTokenSecret = token_secret;
-	}
+    private TransportRequest createPostRequest(String URL, boolean encode) {
+        return createRequest(HttpRequest.METHOD_POST, encode ? HttpRequest.encode(URL) : URL);
+    }
+
+    private TransportRequest createPutRequest(String URL) {
+        return createRequest(HttpRequest.METHOD_PUT, URL);
+    }
+
+    private TransportRequest createDeleteRequest(String URL) {
+        return createRequest(HttpRequest.METHOD_DELETE, URL);
+    }
+
+    private TransportRequest createDeleteRequest(String URL, boolean encode) {
+        return createRequest(HttpRequest.METHOD_DELETE, encode ? HttpRequest.encode(URL) : URL);
+    }
+
+    private TransportRequest createRequest(String method, String URL) {
+        return createRequest(method, URL, authenticatedHeader(method, URL));
+    }
+
+    TransportRequest createRequest(String method, String URL, String authorization) {
+        TransportRequest request = new TransportRequest(method, URL)
+                .authorization(authorization)
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .maxInMemorySize(maxInMemorySize);
+        if (compressionEnabled) {
+            request.header(HttpRequest.HEADER_ACCEPT_ENCODING, HttpRequest.ENCODING_GZIP_DEFLATE);
+        }
+        return request;
+    }
+
+    private String executeGet(TransportRequest request) {
+        return fetchGet(request).getBody();
+    }
+
+    private DiscogsResponse fetchGet(TransportRequest request) {
+        return fetchGet(request, false);
+    }
 
     /**
-     * @return OAuth Authorization URL
+     * Execute a GET request without caching nor sharing it, spilling a body larger than the in-memory limit to disk
      */
-	public String getAuthorizationURL() {
-		return HttpRequest.append(URL_AUTHORIZE, "oauth_token", requestToken);
-	}
-	
-	public void getAccessToken(String verifier) {
-		accessVerifier = verifier;
-		HttpRequest request = createPostRequest(URL_ACCESS_TOKEN).userAgent(userAgent).authorization(accessAuthorizationHeader()).send("");
-		debugLog(request.toString());
-		debugLog(request.code());
-		Map<String, String> r = parseParams(request.body());
-		String token = r.get("oauth_token");
-		String token_secret = r.get("oauth_token_secret");
-		debugLog(token);
-		debugLog(token_secret);
+    private ByteBuffer executeBuffer(TransportRequest request) {
+        return execute(request, response -> {
+            debugLog(response.code());
+            return response.byteBuffer();
+        });
+    }
 
-		oauthToken = token;
-		oauthTokenSecret = token_secret;
-	}
-    
-    private HttpRequest createGetRequest(String URL) {
-        HttpRequest httpRequest = HttpRequest.get(URL);
-        return requestWithTimeout(httpRequest);
+    /**
+     * @param bytes true to keep the body as bytes, see {@link DiscogsResponse#read(TransportResponse, boolean)}
+     */
+    private DiscogsResponse fetchGet(TransportRequest request, boolean bytes) {
+        return inFlightRequests.execute(requestKey(request), () -> execute(request, response -> DiscogsResponse.read(response, bytes)));
     }
 
-    private HttpRequest createGetRequest(String URL, boolean encode) {
-        HttpRequest httpRequest = HttpRequest.get(URL, encode);
-        return requestWithTimeout(httpRequest);
+    /**
+     * @param bytes true to keep the body of an uncached response as bytes, see {@link DiscogsResponse#read(TransportResponse, boolean)}
+     */
+    private DiscogsResponse fetchCached(TransportRequest request, boolean bytes) {
+        return inFlightRequests.execute(requestKey(request), () -> executeCached(request, request.url(), false, bytes));
     }
 
-    private HttpRequest createGetRequest(String URL, Map<?,?> parameters, boolean encode) {
-        HttpRequest httpRequest = HttpRequest.get(URL, parameters, encode);
-        return requestWithTimeout(httpRequest);
+    private String executeRevalidated(TransportRequest request) {
+        String key = requestKey(request);
+        return inFlightRequests.execute(key, () -> executeCached(request, key, true, false)).getBody();
     }
 
-    private HttpRequest createPostRequest(String URL) {
-        HttpRequest httpRequest = HttpRequest.post(URL);
-        return requestWithTimeout(httpRequest);
+    /**
+     * @return key identifying identical requests: the URL and who the request is made on behalf of
+     */
+    private String requestKey(TransportRequest request) {
+        return authorizationIdentity + ' ' + request.url();
     }
 
-    private HttpRequest createPostRequest(String URL, boolean encode) {
-        HttpRequest httpRequest = HttpRequest.post(URL, encode);
-        return requestWithTimeout(httpRequest);
+    /**
+     * Execute a GET request through the response cache, if configured
+     *
+     * @param request the request
+     * @param key the cache key
+     * @param revalidate true to always revalidate a cached response with the server, false to use it until it expires
+     * @param bytes true to keep the body as bytes when there is no cache, the cache holding decoded bodies
+     * @return the response body
+     */
+    private DiscogsResponse executeCached(TransportRequest request, String key, boolean revalidate, boolean bytes) {
+        if (responseCache == null) {
+            return execute(request, response -> DiscogsResponse.read(response, bytes));
+        }
+        if (!revalidate) {
+            String body = responseCache.get(key);
+            if (body != null) {
+                debugLog("Cache hit: " + request.url());
+                return new DiscogsResponse(HttpURLConnection.HTTP_OK, body);
+            }
+        }
+
+        ResponseCache.CachedResponse cached = responseCache.getForRevalidation(key);
+        if (cached != null && cached.hasValidator()) {
+            if (cached.getETag() != null) {
+                request.header(HttpRequest.HEADER_IF_NONE_MATCH, cached.getETag());
+            }
+            if (cached.getLastModified() != null) {
+                request.header(HttpRequest.HEADER_IF_MODIFIED_SINCE, cached.getLastModified());
+            }
+        } else {
+            cached = null;
+        }
+
+        ResponseCache.CachedResponse validated = cached;
+        return execute(request, response -> {
+            if (validated != null && response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                debugLog("Not modified: " + request.url());
+                response.close();
+                responseCache.revalidated(key, validated);
+                return new DiscogsResponse(HttpURLConnection.HTTP_OK, validated.getBody());
+            }
+            DiscogsResponse read = DiscogsResponse.read(response);
+            if (read.getCode() == HttpURLConnection.HTTP_OK) {
+                String eTag = response.header(HttpRequest.HEADER_ETAG);
+                String lastModified = response.header(HttpRequest.HEADER_LAST_MODIFIED);
+                if (!revalidate || eTag != null || lastModified != null) {
+                    responseCache.put(key, read.getBody(), eTag, lastModified);
+                }
+            }
+            return read;
+        });
+    }
+
+    private TransportResponse openGet(String URL) {
+        TransportRequest request = createGetRequest(URL).userAgent(userAgent);
+        debugLog(request.toString());
+        return execute(request);
     }
 
-    private HttpRequest createPutRequest(String URL) {
-        HttpRequest httpRequest = HttpRequest.put(URL);
-        return requestWithTimeout(httpRequest);
+    TransportResponse execute(TransportRequest request) {
+        return execute(request, Function.identity());
     }
 
-    private HttpRequest createDeleteRequest(String URL) {
-        HttpRequest httpRequest = HttpRequest.delete(URL);
-        return requestWithTimeout(httpRequest);
+    /**
+     * Execute a request signed with the credentials of this client and read its response
+     *
+     * @param read reads the response, inside the retries of the retry policy
+     */
+    <T> T execute(TransportRequest request, Function<TransportResponse, T> read) {
+        return execute(request, this::authenticatedHeader, read);
     }
 
-    private HttpRequest createDeleteRequest(String URL, boolean encode) {
-        HttpRequest httpRequest = HttpRequest.delete(URL, encode);
-        return requestWithTimeout(httpRequest);
+    /**
+     * Execute a request and read its response, retrying both according to the retry policy
+     *
+     * @param request the request, already signed for the first attempt
+     * @param authorization computes the Authorization header of a retry from the method and URL,
+     * so that every attempt carries a fresh OAuth nonce and signature
+     * @param read reads the response, inside the retries of the retry policy
+     */
+    <T> T execute(TransportRequest request, BiFunction<String, String, String> authorization, Function<TransportResponse, T> read) {
+        if (retryPolicy == null) {
+            return read.apply(send(request));
+        }
+        boolean[] first = {true};
+        return retryPolicy.execute(() -> {
+            if (!first[0]) {
+                request.authorization(authorization.apply(request.method(), request.url()));
+            }
+            first[0] = false;
+            return request;
+        }, this::send, read);
     }
 
-    private HttpRequest requestWithTimeout(HttpRequest httpRequest) {
-        if (connectTimeout > 0) {
-            httpRequest.connectTimeout(connectTimeout);
+    private TransportResponse send(TransportRequest request) {
+        if (rateLimiter != null) {
+            rateLimiter.acquire();
         }
-        if (readTimeout > 0) {
-            httpRequest.readTimeout(readTimeout);
+        TransportResponse response = transport.execute(request);
+        if (rateLimiter != null) {
+            rateLimiter.update(response);
         }
-        return httpRequest;
+        return response;
     }
 
-    private void debugLog(String logText) {
+    private String bodyOrNoContent(TransportResponse response) {
+        if (response.code() == HttpURLConnection.HTTP_NO_CONTENT) {
+            debugLog(Integer.toString(response.code()));
+            response.close();
+            return Integer.toString(response.code()) + " No Content";
+        }
+        return response.body();
+    }
+
+    void debugLog(String logText) {
 		if(isDebugEnabled()) {
 			System.out.println(logText);
 		}
@@ -769,22 +1210,72 @@ public class DiscogsClient {
 	}
 
     /**
-     * @return the value to use in the Authorization header on Discogs resource requests
+     * @param method request method
+     * @param url request URL
+     * @return the value to use in the Authorization header on the Discogs resource request, signed with the signature method
+     */
+    public String authenticatedHeader(String method, String url) {
+        if (getAuthenticationType() == AuthenticationType.OAUTH && signatureMethod == SignatureMethod.HMAC_SHA1) {
+            return getHmacOAuthHeader(method, url, oauthSigningKey, OAUTH_ACCESS_TOKEN, oauthToken);
+        }
+        return authenticatedHeader();
+    }
+
+    /**
+     * @return the value to use in the Authorization header on Discogs resource requests, OAuth requests signed with PLAINTEXT
      */
 	public String authenticatedHeader(){
+        if (getAuthenticationType() == AuthenticationType.OAUTH) {
+            return getOAuthHeader();
+        }
+        return staticAuthorizationHeader;
+	}
+
+    /**
+     * @return the Authorization header value for authentication types that do not change per request
+     */
+    private String staticAuthorizationHeader() {
         switch (getAuthenticationType()) {
             case DISCOGS_CONSUMER_AUTH:
                 return getDiscogsConsumerAuthHeader();
             case DISCOGS_PERSONAL_AUTH:
                 return getDiscogsPersonalAuthHeader();
+            case NONE:
+                // intentional fall-through to default
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * @return a value identifying who requests are made on behalf of, used to separate cached user resources;
+     * a hash, so that the credentials do not end up in cache keys
+     */
+    private String authorizationIdentity() {
+        String credentials;
+        switch (getAuthenticationType()) {
+            case DISCOGS_CONSUMER_AUTH:
+                credentials = consumerKey;
+                break;
+            case DISCOGS_PERSONAL_AUTH:
+                credentials = personalAccessToken;
+                break;
             case OAUTH:
-                return getOAuthHeader();
+                credentials = consumerKey + '&' + oauthToken;
+                break;
             case NONE:
                 // intentional fall-through to default
             default:
                 return "";
         }
-	}
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(String.valueOf(credentials).getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
 
     private String getDiscogsConsumerAuthHeader() {
         return "Discogs " +
@@ -797,150 +1288,367 @@ public class DiscogsClient {
                 DISCOGS_PERSONAL_TOKEN + "=" + personalAccessToken;
     }
 
+    /**
+     * Only the nonce and timestamp differ between requests, they are appended to a prefix holding the other parameters
+     */
     private String getOAuthHeader() {
-        java.util.Date date= new java.util.Date();
-
-        return "OAuth "
-                + OAUTH_CONSUMER_KEY + "=\"" + consumerKey + "\", "
-                + OAUTH_NONCE + "=\"" + String.valueOf(date.getTime()) + "\", "
-                + OAUTH_SIGNATURE + "=\"" + consumerSecret + "&" + oauthTokenSecret + "\", "
-                + OAUTH_SIGNATURE_METHOD + "=\"" + OAUTH_SIGNATURE_METHOD_VALUE + "\", "
-                + OAUTH_TIMESTAMP + "=\"" + String.valueOf(date.getTime()) + "\", "
-                + OAUTH_ACCESS_TOKEN + "=\"" + oauthToken + "\"";
+        String prefix = oauthHeaderPrefix;
+        String nonce = OAuthNonce.next();
+        String time = OAuthNonce.timestamp();
+
+        return new StringBuilder(prefix.length() + OAUTH_NONCE.length() + OAUTH_TIMESTAMP.length() + nonce.length() + time.length() + 8)
+                .append(prefix)
+                .append(OAUTH_NONCE).append("=\"").append(nonce).append("\", ")
+                .append(OAUTH_TIMESTAMP).append("=\"").append(time).append('"')
+                .toString();
     }
 
     /**
-     * @return the value to use in the Authorization header on Discogs OAuth flow requests (acces_token)
+     * Sign a request with HMAC-SHA1
+     *
+     * @param parameters names and values of the OAuth parameters besides those common to all requests
      */
-	public String accessAuthorizationHeader(){
-		java.util.Date date= new java.util.Date();
-		
-		String authorization = "OAuth "
-				+ OAUTH_CONSUMER_KEY + "=\"" + consumerKey + "\", "
-		        + OAUTH_NONCE + "=\"" + String.valueOf(date.getTime()) + "\", "
-		        + OAUTH_SIGNATURE + "=\"" + consumerSecret + "&" + requestTokenSecret + "\", "
-		        + OAUTH_SIGNATURE_METHOD + "=\"" + OAUTH_SIGNATURE_METHOD_VALUE + "\", "
-		        + OAUTH_TIMESTAMP + "=\"" + String.valueOf(date.getTime()) + "\", "
-		        + OAUTH_VERIFIER + "=\"" + accessVerifier + "\", "
-		        + OAUTH_ACCESS_TOKEN + "=\"" + requestToken + "\"";
-		
-		return authorization;
-	}
+    String getHmacOAuthHeader(String method, String url, SecretKeySpec key, String... parameters) {
+        String nonce = OAuthNonce.next();
+        String timestamp = OAuthNonce.timestamp();
+        String signatureMethod = SignatureMethod.HMAC_SHA1.getValue();
+        String signature = OAuthSigner.start()
+                .parameters(parameters)
+                .parameter(OAUTH_CONSUMER_KEY, consumerKey)
+                .parameter(OAUTH_NONCE, nonce)
+                .parameter(OAUTH_SIGNATURE_METHOD, signatureMethod)
+                .parameter(OAUTH_TIMESTAMP, timestamp)
+                .sign(key, method, url);
+
+        StringBuilder header = new StringBuilder(256).append("OAuth ");
+        for (int i = 0; i + 1 < parameters.length; i += 2) {
+            appendOAuthParameter(header, parameters[i], parameters[i + 1]).append(", ");
+        }
+        appendOAuthParameter(header, OAUTH_CONSUMER_KEY, consumerKey).append(", ");
+        appendOAuthParameter(header, OAUTH_NONCE, nonce).append(", ");
+        appendOAuthParameter(header, OAUTH_SIGNATURE_METHOD, signatureMethod).append(", ");
+        appendOAuthParameter(header, OAUTH_TIMESTAMP, timestamp).append(", ");
+        return appendOAuthParameter(header, OAUTH_SIGNATURE, signature).toString();
+    }
 
-    /**
-     * @return the value to use in the Authorization header on Discogs OAuth flow requests (request_token)
-     */
-	public String requestAuthorizationHeader(){
-		java.util.Date date= new java.util.Date();
-		
-		String authorization = "OAuth "
-				+ OAUTH_CONSUMER_KEY + "=\"" + consumerKey + "\", "
-		        + OAUTH_NONCE + "=\"" + String.valueOf(date.getTime()) + "\", "
-		        + OAUTH_SIGNATURE + "=\"" + consumerSecret + "&" + "\", "
-		        + OAUTH_SIGNATURE_METHOD + "=\"" + OAUTH_SIGNATURE_METHOD_VALUE + "\", "
-		        + OAUTH_TIMESTAMP + "=\"" + String.valueOf(date.getTime()) + "\", "
-		        + OAUTH_CALLBACK + "=\"" + callbackUrl + "\"";
-								
-		return authorization;
-	}
+    private static StringBuilder appendOAuthParameter(StringBuilder header, String name, String value) {
+        return OAuthSigner.encode(value, header.append(name).append("=\"")).append('"');
+    }
 
 	public String getConsumerKey() {
 		return consumerKey;
 	}
 
-	public void setConsumerKey(String consumerKey) {
-		this.consumerKey = consumerKey;
-	}
-
 	public String getConsumerSecret() {
 		return consumerSecret;
 	}
 
-	public void setConsumerSecret(String consumerSecret) {
-		this.consumerSecret = consumerSecret;
-	}
-
 	public String getUserAgent() {
 		return userAgent;
 	}
 
-	public void setUserAgent(String userAgent) {
-		this.userAgent = userAgent;
-	}
-
 	public String getCallbackUrl() {
 		return callbackUrl;
 	}
 
-	public void setCallbackUrl(String callbackUrl) {
-		this.callbackUrl = callbackUrl;
-	}
-	
-	public void setRequestToken(String requestToken) {
-		this.requestToken = requestToken;
-	}
-
-	public String getRequestTokenSecret() {
-		return requestTokenSecret;
-	}
-
-	public void setRequestTokenSecret(String requestTokenSecret) {
-		this.requestTokenSecret = requestTokenSecret;
-	}
-
-	public String getAccessVerifier() {
-		return accessVerifier;
-	}
-
-	public void setAccessVerifier(String accessVerifier) {
-		this.accessVerifier = accessVerifier;
-	}
-
 	public String getOauthToken() {
 		return oauthToken;
 	}
 
-	public void setOauthToken(String oauthToken) {
-		this.oauthToken = oauthToken;
-	}
-
 	public String getOauthTokenSecret() {
 		return oauthTokenSecret;
 	}
 
-	public void setOauthTokenSecret(String oauthTokenSecret) {
-		this.oauthTokenSecret = oauthTokenSecret;
-	}
-
 	public boolean isDebugEnabled() {
 		return debugEnabled;
 	}
 
-	public void setDebugEnabled(boolean debugEnabled) {
-		this.debugEnabled = debugEnabled;
-	}
+    public boolean isCompressionEnabled() {
+        return compressionEnabled;
+    }
 
-    public void setConnectTimeout(Duration connectTimeout) {
-        this.connectTimeout = (int)connectTimeout.toMillis();
+    public long getMaxInMemorySize() {
+        return maxInMemorySize;
     }
 
-    public void setReadTimeout(Duration readTimeout) {
-        this.readTimeout = (int)readTimeout.toMillis();
+    public SignatureMethod getSignatureMethod() {
+        return signatureMethod;
     }
 
     public AuthenticationType getAuthenticationType() {
         return authenticationType;
     }
 
-    public void setAuthenticationType(AuthenticationType authenticationType) {
-        this.authenticationType = authenticationType;
+    public Transport getTransport() {
+        return transport;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+
+    public ResponseCache getResponseCache() {
+        return responseCache;
+    }
+
+    public int getPrefetchPages() {
+        return prefetchPages;
+    }
+
+    public Executor getPrefetchExecutor() {
+        return prefetchExecutor;
+    }
+
+    /**
+     * Concurrent identical GET requests made through this client share a single request in flight
+     *
+     * @return the coalescing of in-flight requests, for its statistics
+     */
+    public SingleFlight<?> getInFlightRequests() {
+        return inFlightRequests;
     }
 
     public String getPersonalAccessToken() {
         return personalAccessToken;
     }
 
-    public void setPersonalAccessToken(String personalAccessToken) {
-        this.personalAccessToken = personalAccessToken;
+    /**
+     * Configures a {@link DiscogsClient}. The client it builds never changes, so it can be shared
+     * by any number of threads; use {@link DiscogsClient#toBuilder()} to derive a client with a
+     * different configuration.
+     * <p>
+     * Unless set explicitly, the authentication type follows from the credentials: a personal
+     * access token selects {@link AuthenticationType#DISCOGS_PERSONAL_AUTH}, an OAuth token or
+     * callback URL {@link AuthenticationType#OAUTH} and a consumer key alone
+     * {@link AuthenticationType#DISCOGS_CONSUMER_AUTH}.
+     */
+    public static class Builder {
+
+        private AuthenticationType authenticationType;
+        private SignatureMethod signatureMethod = SignatureMethod.PLAINTEXT;
+        private Transport transport;
+        private RateLimiter rateLimiter;
+        private RetryPolicy retryPolicy;
+        private ResponseCache responseCache;
+        private int prefetchPages = 0;
+        private Executor prefetchExecutor;
+        private boolean debugEnabled = false;
+        private boolean compressionEnabled = true;
+        private long maxInMemorySize = 0;
+        private int connectTimeout = 0;
+        private int readTimeout = 0;
+        private String consumerKey = "";
+        private String consumerSecret = "";
+        private String userAgent = "";
+        private String callbackUrl = "";
+        private String oauthToken = "";
+        private String oauthTokenSecret = "";
+        private String personalAccessToken = "";
+
+        private Builder() {
+        }
+
+        /**
+         * @param userAgent application user agent
+         * @return this builder
+         */
+        public Builder userAgent(String userAgent) {
+            this.userAgent = userAgent;
+            return this;
+        }
+
+        /**
+         * @param consumerKey application consumer key
+         * @param consumerSecret application consumer secret
+         * @return this builder
+         */
+        public Builder consumer(String consumerKey, String consumerSecret) {
+            this.consumerKey = consumerKey;
+            this.consumerSecret = consumerSecret;
+            return this;
+        }
+
+        /**
+         * @param callbackUrl oauth callback url
+         * @return this builder
+         */
+        public Builder callbackUrl(String callbackUrl) {
+            this.callbackUrl = callbackUrl;
+            return this;
+        }
+
+        /**
+         * @param oauthToken oauth flow token
+         * @param oauthTokenSecret oauth flow token secret
+         * @return this builder
+         */
+        public Builder oauthToken(String oauthToken, String oauthTokenSecret) {
+            this.oauthToken = oauthToken;
+            this.oauthTokenSecret = oauthTokenSecret;
+            return this;
+        }
+
+        /**
+         * @param personalAccessToken user personal access token
+         * @return this builder
+         */
+        public Builder personalAccessToken(String personalAccessToken) {
+            this.personalAccessToken = personalAccessToken;
+            return this;
+        }
+
+        /**
+         * @param authenticationType how requests are authorized, overriding the type that follows from the credentials
+         * @return this builder
+         */
+        public Builder authenticationType(AuthenticationType authenticationType) {
+            this.authenticationType = authenticationType;
+            return this;
+        }
+
+        /**
+         * @param signatureMethod how OAuth requests are signed, defaults to {@link SignatureMethod#PLAINTEXT}
+         * @return this builder
+         */
+        public Builder signatureMethod(SignatureMethod signatureMethod) {
+            this.signatureMethod = signatureMethod;
+            return this;
+        }
+
+        /**
+         * @param transport the transport to execute all requests with, defaults to {@link HttpRequestTransport}
+         * @return this builder
+         */
+        public Builder transport(Transport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        /**
+         * Execute all requests with an {@link HttpClientTransport} (HTTP/2) when it is supported, falling back to an
+         * {@link HttpRequestTransport} on Java 8 or when the classes are not loaded from the multi-release jar
+         *
+         * @param connectionPool the connection settings of the transport
+         * @return this builder
+         */
+        public Builder preferHttpClient(ConnectionPool connectionPool) {
+            this.transport = HttpClientTransport.isSupported()
+                    ? HttpClientTransport.create(connectionPool)
+                    : new HttpRequestTransport(connectionPool);
+            return this;
+        }
+
+        /**
+         * @param rateLimiter the limiter pacing the requests of this client, can be shared with other clients; null to disable
+         * @return this builder
+         */
+        public Builder rateLimiter(RateLimiter rateLimiter) {
+            this.rateLimiter = rateLimiter;
+            return this;
+        }
+
+        /**
+         * @param retryPolicy the policy for retrying transient failures, can be shared with other clients; null to disable
+         * @return this builder
+         */
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        /**
+         * @param responseCache the cache for release, master release, artist and label responses; null to disable.
+         *                      Profile, collection and wantlist responses are cached too and revalidated on every request.
+         * @return this builder
+         */
+        public Builder responseCache(ResponseCache responseCache) {
+            this.responseCache = responseCache;
+            return this;
+        }
+
+        /**
+         * Fetch the pages of paged streams ahead of the consumer, in parallel. Every page request
+         * still goes through the rate limiter, if configured.
+         *
+         * @param pages the maximum number of pages to fetch ahead, 0 to fetch pages one by one
+         * @param executor the executor to fetch the pages on
+         * @return this builder
+         */
+        public Builder pagePrefetch(int pages, Executor executor) {
+            if (pages > 0 && executor == null) {
+                throw new IllegalArgumentException("An executor is required to prefetch pages");
+            }
+            this.prefetchPages = Math.max(0, pages);
+            this.prefetchExecutor = executor;
+            return this;
+        }
+
+        public Builder debugEnabled(boolean debugEnabled) {
+            this.debugEnabled = debugEnabled;
+            return this;
+        }
+
+        /**
+         * @param compressionEnabled false to ask for uncompressed responses; by default gzip or deflate
+         * compressed responses are accepted and decompressed by the transport
+         * @return this builder
+         */
+        public Builder compressionEnabled(boolean compressionEnabled) {
+            this.compressionEnabled = compressionEnabled;
+            return this;
+        }
+
+        /**
+         * @param maxInMemorySize the largest response body read onto the heap, in bytes, 0 for no limit (the default);
+         * a hard cap for the methods returning a String or a model, which fail with an HttpRequestException on a larger
+         * body, and the spill threshold of {@link DiscogsClient#genericGetBuffer(String)},
+         * {@link DiscogsClient#searchBuffer(String, Map)} and {@link DiscogsClient#inventoryBuffer(String, Map)}
+         * @return this builder
+         */
+        public Builder maxInMemorySize(long maxInMemorySize) {
+            if (maxInMemorySize < 0) {
+                throw new IllegalArgumentException("maxInMemorySize must not be negative");
+            }
+            this.maxInMemorySize = maxInMemorySize;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = (int) connectTimeout.toMillis();
+            return this;
+        }
+
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = (int) readTimeout.toMillis();
+            return this;
+        }
+
+        /**
+         * @return a new client with this configuration
+         */
+        public DiscogsClient build() {
+            return new DiscogsClient(this);
+        }
+
+        private AuthenticationType authenticationType() {
+            if (authenticationType != null) {
+                return authenticationType;
+            } else if (!isEmpty(personalAccessToken)) {
+                return AuthenticationType.DISCOGS_PERSONAL_AUTH;
+            } else if (!isEmpty(oauthToken) || !isEmpty(callbackUrl)) {
+                return AuthenticationType.OAUTH;
+            } else if (!isEmpty(consumerKey)) {
+                return AuthenticationType.DISCOGS_CONSUMER_AUTH;
+            }
+            return AuthenticationType.NONE;
+        }
+
+        private static boolean isEmpty(String value) {
+            return value == null || value.isEmpty();
+        }
     }
 }
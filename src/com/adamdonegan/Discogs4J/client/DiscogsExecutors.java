@@ -0,0 +1,91 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.ConnectionPool;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Factory methods for the executors used by {@link AsyncDiscogsClient}.
+ */
+public final class DiscogsExecutors {
+
+    /**
+     * The JVM default of the 'http.maxConnections' property, see {@link com.adamdonegan.Discogs4J.util.HttpRequest#maxConnections(int)}
+     */
+    private static final int DEFAULT_MAX_CONNECTIONS = 5;
+
+    // Looked up reflectively so the library keeps running on Java 8
+    private static final Method NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR = findVirtualThreadFactoryMethod();
+
+    private DiscogsExecutors() {
+    }
+
+    private static Method findVirtualThreadFactoryMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return true when running on Java 21 or later
+     */
+    public static boolean isVirtualThreadSupported() {
+        return NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR != null;
+    }
+
+    /**
+     * Create an executor that starts a new virtual thread for each task.
+     *
+     * @return executor service, to be shut down by the caller
+     * @throws UnsupportedOperationException when not running on Java 21 or later
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isVirtualThreadSupported()) {
+            throw new UnsupportedOperationException("Virtual threads require Java 21 or later");
+        }
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_PER_TASK_EXECUTOR.invoke(null);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Create an executor running each task on a virtual thread, with at most
+     * the given number of tasks running at the same time.
+     *
+     * @param maxConcurrency the maximum number of concurrent requests
+     * @return executor
+     * @throws UnsupportedOperationException when not running on Java 21 or later
+     */
+    public static BoundedExecutor newBoundedVirtualThreadExecutor(int maxConcurrency) {
+        return new BoundedExecutor(newVirtualThreadPerTaskExecutor(), maxConcurrency);
+    }
+
+    /**
+     * @return the configured 'http.maxConnections' keep-alive pool size
+     */
+    public static int maxConnections() {
+        return Integer.getInteger("http.maxConnections", DEFAULT_MAX_CONNECTIONS);
+    }
+
+    /**
+     * @param client the client whose transport executes the requests
+     * @return the connection limit of the {@link ConnectionPool} of the client's transport when it has one,
+     * otherwise {@link #maxConnections()}
+     */
+    public static int maxConnections(DiscogsClient client) {
+        ConnectionPool connectionPool = client.getTransport().getConnectionPool();
+        if (connectionPool != null && connectionPool.getMaxConnections() > 0) {
+            return connectionPool.getMaxConnections();
+        }
+        return maxConnections();
+    }
+}
@@ -0,0 +1,92 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Status code and body of a completed response, as shared between coalesced requests.
+ * <p>
+ * The body is held as it was read, either decoded or as its UTF-8 encoded bytes, and converted
+ * only when asked for in the other form.
+ */
+final class DiscogsResponse {
+
+    private final int code;
+    private volatile String body;
+    private final byte[] bytes;
+
+    DiscogsResponse(int code, String body) {
+        this.code = code;
+        this.body = body;
+        this.bytes = null;
+    }
+
+    private DiscogsResponse(int code, byte[] bytes) {
+        this.code = code;
+        this.bytes = bytes;
+    }
+
+    /**
+     * Read the status code and the complete body of the response
+     *
+     * @param response the response
+     * @return the response
+     */
+    static DiscogsResponse read(TransportResponse response) {
+        return new DiscogsResponse(response.code(), response.body());
+    }
+
+    /**
+     * Read the status code and the complete body of the response
+     *
+     * @param response the response
+     * @param bytes true to keep the body as bytes rather than decoding it, for a parser reading UTF-8
+     * @return the response
+     */
+    static DiscogsResponse read(TransportResponse response, boolean bytes) {
+        return bytes ? new DiscogsResponse(response.code(), response.bytes()) : read(response);
+    }
+
+    int getCode() {
+        return code;
+    }
+
+    String getBody() {
+        String body = this.body;
+        if (body == null && bytes != null) {
+            body = new String(bytes, StandardCharsets.UTF_8);
+            this.body = body;
+        }
+        return body;
+    }
+
+    /**
+     * @return true for a 2xx status code
+     */
+    boolean isSuccessful() {
+        return code >= 200 && code < 300;
+    }
+
+    /**
+     * @return the body of a successful response
+     * @throws DiscogsResponseException when the response was not successful
+     */
+    String getBodyOrThrow() throws DiscogsResponseException {
+        if (!isSuccessful()) {
+            throw new DiscogsResponseException(code, getBody());
+        }
+        return getBody();
+    }
+
+    /**
+     * @return the UTF-8 encoded body of a successful response, not to be modified
+     * @throws DiscogsResponseException when the response was not successful
+     */
+    byte[] getBytesOrThrow() throws DiscogsResponseException {
+        if (!isSuccessful()) {
+            throw new DiscogsResponseException(code, getBody());
+        }
+        return bytes != null ? bytes : body.getBytes(StandardCharsets.UTF_8);
+    }
+}
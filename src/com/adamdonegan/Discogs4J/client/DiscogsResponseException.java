@@ -0,0 +1,30 @@
+package com.adamdonegan.Discogs4J.client;
+
+/**
+ * Discogs answered a request with an error status, for example 404 for an unknown id
+ */
+public class DiscogsResponseException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int code;
+    private final String body;
+
+    /**
+     * @param code the status code of the response
+     * @param body the body of the response, usually a JSON object with a message
+     */
+    public DiscogsResponseException(int code, String body) {
+        super("Response code " + code + (body == null || body.isEmpty() ? "" : ": " + body));
+        this.code = code;
+        this.body = body;
+    }
+
+    public int getCode() {
+        return code;
+    }
+
+    public String getBody() {
+        return body;
+    }
+}
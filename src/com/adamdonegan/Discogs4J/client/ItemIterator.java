@@ -0,0 +1,152 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+import com.adamdonegan.Discogs4J.util.JsonTokenizer;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the elements of an array member (for example 'results' or 'listings') of
+ * every page of a paged endpoint, following the 'pagination.urls.next' link of each page.
+ * <p>
+ * Each page is tokenized straight from the response stream, so only the current element is
+ * held in memory, never a whole page. The response of a page stays open until its last
+ * element is read or the iterator is closed.
+ *
+ * @param <T> element type
+ */
+public class ItemIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final Function<String, TransportResponse> open;
+    private final String arrayName;
+    private final Function<byte[], T> decode;
+
+    private String nextUrl;
+    private TransportResponse response;
+    private JsonTokenizer tokenizer;
+    private boolean inArray;
+
+    /**
+     * @param open executes the request for a page URL
+     * @param firstUrl the URL of the first page
+     * @param arrayName name of the array member holding the elements
+     * @param decode decodes the UTF-8 encoded JSON of an element
+     */
+    public ItemIterator(Function<String, TransportResponse> open, String firstUrl, String arrayName, Function<byte[], T> decode) {
+        this.open = open;
+        this.nextUrl = firstUrl;
+        this.arrayName = arrayName;
+        this.decode = decode;
+    }
+
+    /**
+     * @param open executes the request for a page URL
+     * @param firstUrl the URL of the first page
+     * @param arrayName name of the array member holding the elements
+     * @param decode decodes the UTF-8 encoded JSON of an element
+     * @param <T> element type
+     * @return sequential, ordered stream of the elements, closing the open response when closed
+     */
+    public static <T> Stream<T> stream(Function<String, TransportResponse> open, String firstUrl, String arrayName, Function<byte[], T> decode) {
+        ItemIterator<T> items = new ItemIterator<T>(open, firstUrl, arrayName, decode);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(items, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(items::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        try {
+            while (true) {
+                if (tokenizer == null) {
+                    if (nextUrl == null) {
+                        return false;
+                    }
+                    openPage();
+                }
+                if (inArray) {
+                    if (tokenizer.hasNext()) {
+                        return true;
+                    }
+                    tokenizer.endArray();
+                    inArray = false;
+                }
+                while (!inArray && tokenizer.hasNext()) {
+                    String name = tokenizer.nextName();
+                    if (name.equals(arrayName) && tokenizer.peek() == JsonTokenizer.Token.BEGIN_ARRAY) {
+                        tokenizer.beginArray();
+                        inArray = true;
+                    } else if (name.equals("pagination")) {
+                        nextUrl = Pagination.read(tokenizer).getNext();
+                    } else {
+                        tokenizer.skipValue();
+                    }
+                }
+                if (!inArray) {
+                    tokenizer.endObject();
+                    close();
+                }
+            }
+        } catch (IOException e) {
+            close();
+            throw new HttpRequestException(e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        try {
+            return decode.apply(tokenizer.nextRawValue());
+        } catch (IOException e) {
+            close();
+            throw new HttpRequestException(e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Close the response of the current page, if any
+     */
+    @Override
+    public void close() {
+        if (response != null) {
+            response.close();
+        }
+        response = null;
+        tokenizer = null;
+        inArray = false;
+    }
+
+    private void openPage() throws IOException {
+        String url = nextUrl;
+        nextUrl = null;
+        response = open.apply(url);
+        int code = response.code();
+        if (code < 200 || code >= 300) {
+            String body = response.body();
+            close();
+            throw new DiscogsResponseException(code, body);
+        }
+        tokenizer = new JsonTokenizer(response.stream());
+        if (tokenizer.peek() != JsonTokenizer.Token.BEGIN_OBJECT) {
+            close();
+            throw new IllegalArgumentException("Expected a JSON object from " + url);
+        }
+        tokenizer.beginObject();
+    }
+}
@@ -0,0 +1,36 @@
+package com.adamdonegan.Discogs4J.client;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates OAuth nonces that are unique across threads without any shared state.
+ * <p>
+ * Each thread draws 64 random bits once and then counts up, so a nonce is the thread's random
+ * prefix followed by its counter. Two threads only collide when they draw the same prefix,
+ * which with 64 bits does not happen in practice, and no two requests of one thread ever do.
+ */
+final class OAuthNonce {
+
+    private static final ThreadLocal<OAuthNonce> NONCES = ThreadLocal.withInitial(OAuthNonce::new);
+
+    private final String prefix = Long.toHexString(ThreadLocalRandom.current().nextLong()) + '-';
+    private long counter;
+
+    private OAuthNonce() {
+    }
+
+    /**
+     * @return a nonce not returned before in this JVM
+     */
+    static String next() {
+        OAuthNonce nonce = NONCES.get();
+        return nonce.prefix + Long.toHexString(nonce.counter++);
+    }
+
+    /**
+     * @return the OAuth timestamp, the number of seconds since the epoch
+     */
+    static String timestamp() {
+        return Long.toString(System.currentTimeMillis() / 1000);
+    }
+}
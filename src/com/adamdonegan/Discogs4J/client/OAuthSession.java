@@ -0,0 +1,168 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.models.SignatureMethod;
+import com.adamdonegan.Discogs4J.transport.TransportRequest;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * The state of one three-legged OAuth handshake, performed with the consumer key, secret and
+ * callback URL of the client that created it.
+ * <p>
+ * The client itself never changes: once the access token is obtained, {@link #authorizedClient()}
+ * creates a new client authorized with it. The tokens of the handshake can be restored with the
+ * setters, for example when the callback is handled by another thread or process than the one
+ * that requested the request token. A session is meant to be used for a single handshake.
+ */
+public class OAuthSession {
+
+    private final DiscogsClient client;
+
+    private volatile String requestToken = "";
+    private volatile String requestTokenSecret = "";
+    private volatile String accessVerifier = "";
+
+    private volatile String oauthToken = "";
+    private volatile String oauthTokenSecret = "";
+
+    OAuthSession(DiscogsClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Retrieve an unauthorized request token
+     */
+    public void getRequestToken() {
+        String url = HttpRequest.append(DiscogsClient.URL_REQUEST_TOKEN);
+        Map<String, String> r = exchange(HttpRequest.METHOD_GET, url, this::requestAuthorizationHeader);
+
+        requestToken = r.get("oauth_token");
+        requestTokenSecret = r.get("oauth_token_secret");
+    }
+
+    /**
+     * @return OAuth Authorization URL
+     */
+    public String getAuthorizationURL() {
+        return HttpRequest.append(DiscogsClient.URL_AUTHORIZE, "oauth_token", requestToken);
+    }
+
+    /**
+     * Exchange the authorized request token for an access token
+     *
+     * @param verifier the verifier received after the user authorized the request token
+     */
+    public void getAccessToken(String verifier) {
+        accessVerifier = verifier;
+        String url = DiscogsClient.URL_ACCESS_TOKEN;
+        Map<String, String> r = exchange(HttpRequest.METHOD_POST, url, this::accessAuthorizationHeader);
+
+        oauthToken = r.get("oauth_token");
+        oauthTokenSecret = r.get("oauth_token_secret");
+    }
+
+    /**
+     * @return a client configured like the one that created this session, authorized with the access token
+     * @throws IllegalStateException when the access token has not been obtained
+     */
+    public DiscogsClient authorizedClient() {
+        if (oauthToken == null || oauthToken.isEmpty()) {
+            throw new IllegalStateException("No access token, call getAccessToken first");
+        }
+        return client.toBuilder().oauthToken(oauthToken, oauthTokenSecret).build();
+    }
+
+    /**
+     * @return the value to use in the Authorization header on Discogs OAuth flow requests (acces_token), signed with PLAINTEXT
+     */
+    public String accessAuthorizationHeader() {
+        return "OAuth "
+                + DiscogsClient.OAUTH_CONSUMER_KEY + "=\"" + client.getConsumerKey() + "\", "
+                + DiscogsClient.OAUTH_NONCE + "=\"" + OAuthNonce.next() + "\", "
+                + DiscogsClient.OAUTH_SIGNATURE + "=\"" + client.getConsumerSecret() + "&" + requestTokenSecret + "\", "
+                + DiscogsClient.OAUTH_SIGNATURE_METHOD + "=\"" + SignatureMethod.PLAINTEXT.getValue() + "\", "
+                + DiscogsClient.OAUTH_TIMESTAMP + "=\"" + OAuthNonce.timestamp() + "\", "
+                + DiscogsClient.OAUTH_VERIFIER + "=\"" + accessVerifier + "\", "
+                + DiscogsClient.OAUTH_ACCESS_TOKEN + "=\"" + requestToken + "\"";
+    }
+
+    /**
+     * @return the value to use in the Authorization header on Discogs OAuth flow requests (request_token), signed with PLAINTEXT
+     */
+    public String requestAuthorizationHeader() {
+        return "OAuth "
+                + DiscogsClient.OAUTH_CONSUMER_KEY + "=\"" + client.getConsumerKey() + "\", "
+                + DiscogsClient.OAUTH_NONCE + "=\"" + OAuthNonce.next() + "\", "
+                + DiscogsClient.OAUTH_SIGNATURE + "=\"" + client.getConsumerSecret() + "&" + "\", "
+                + DiscogsClient.OAUTH_SIGNATURE_METHOD + "=\"" + SignatureMethod.PLAINTEXT.getValue() + "\", "
+                + DiscogsClient.OAUTH_TIMESTAMP + "=\"" + OAuthNonce.timestamp() + "\", "
+                + DiscogsClient.OAUTH_CALLBACK + "=\"" + client.getCallbackUrl() + "\"";
+    }
+
+    private String accessAuthorizationHeader(String method, String url) {
+        if (client.getSignatureMethod() == SignatureMethod.HMAC_SHA1) {
+            return client.getHmacOAuthHeader(method, url, OAuthSigner.key(client.getConsumerSecret(), requestTokenSecret),
+                    DiscogsClient.OAUTH_VERIFIER, accessVerifier, DiscogsClient.OAUTH_ACCESS_TOKEN, requestToken);
+        }
+        return accessAuthorizationHeader();
+    }
+
+    private String requestAuthorizationHeader(String method, String url) {
+        if (client.getSignatureMethod() == SignatureMethod.HMAC_SHA1) {
+            return client.getHmacOAuthHeader(method, url, OAuthSigner.key(client.getConsumerSecret(), ""),
+                    DiscogsClient.OAUTH_CALLBACK, client.getCallbackUrl());
+        }
+        return requestAuthorizationHeader();
+    }
+
+    /**
+     * Execute a handshake request
+     *
+     * @param authorization computes the Authorization header from the method and URL, again for each retry
+     * @return the form-encoded parameters of the response
+     */
+    private Map<String, String> exchange(String method, String url, BiFunction<String, String, String> authorization) {
+        TransportRequest request = client.createRequest(method, url, authorization.apply(method, url)).userAgent(client.getUserAgent());
+        if (HttpRequest.METHOD_POST.equals(method)) {
+            request.send("");
+        }
+        client.debugLog(request.toString());
+        Map<String, String> r = client.execute(request, authorization, response -> {
+            client.debugLog(Integer.toString(response.code()));
+            return client.parseParams(response.body());
+        });
+        client.debugLog(r.get("oauth_token"));
+        client.debugLog(r.get("oauth_token_secret"));
+        return r;
+    }
+
+    public String getRequestTokenSecret() {
+        return requestTokenSecret;
+    }
+
+    public void setRequestToken(String requestToken) {
+        this.requestToken = requestToken;
+    }
+
+    public void setRequestTokenSecret(String requestTokenSecret) {
+        this.requestTokenSecret = requestTokenSecret;
+    }
+
+    public String getAccessVerifier() {
+        return accessVerifier;
+    }
+
+    public void setAccessVerifier(String accessVerifier) {
+        this.accessVerifier = accessVerifier;
+    }
+
+    public String getOauthToken() {
+        return oauthToken;
+    }
+
+    public String getOauthTokenSecret() {
+        return oauthTokenSecret;
+    }
+}
@@ -0,0 +1,439 @@
+package com.adamdonegan.Discogs4J.client;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Computes OAuth 1.0a HMAC-SHA1 signatures (RFC 5849, section 3.4).
+ * <p>
+ * The parameters are percent-encoded straight into a per-thread byte buffer and sorted by their
+ * offsets in it; the signature base string is then written into a second per-thread buffer and
+ * fed to a per-thread {@link Mac} that is only re-initialized when the key changes. Signing a
+ * request therefore creates no Mac, key, intermediate string or parameter list.
+ * <p>
+ * Usage: {@link #start()}, add the {@link #parameter(String, String) parameters} and {@link #sign(SecretKeySpec, String, String) sign}.
+ * The signer is reused by the calling thread, so it must not be kept beyond a single signature.
+ */
+final class OAuthSigner {
+
+    static final String ALGORITHM = "HmacSHA1";
+
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ThreadLocal<OAuthSigner> SIGNERS = ThreadLocal.withInitial(OAuthSigner::new);
+
+    private final Mac mac;
+    private SecretKeySpec key;
+
+    // The encoded names and values of the parameters
+    private final Buffer parameters = new Buffer(512);
+    // Per parameter: start of the name, start of the value and end of the value in the parameters buffer
+    private int[] offsets = new int[3 * 16];
+    private int count;
+    private int[] order = new int[16];
+
+    private final Buffer base = new Buffer(512);
+
+    private OAuthSigner() {
+        try {
+            mac = Mac.getInstance(ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            // Every Java platform is required to support HmacSHA1
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param consumerSecret application consumer secret
+     * @param tokenSecret token secret, empty when there is no token yet
+     * @return the signing key, to be cached for as long as the secrets do not change
+     */
+    static SecretKeySpec key(String consumerSecret, String tokenSecret) {
+        String key = encode(consumerSecret) + '&' + encode(tokenSecret);
+        return new SecretKeySpec(key.getBytes(StandardCharsets.US_ASCII), ALGORITHM);
+    }
+
+    /**
+     * @return the signer of the calling thread, without parameters
+     */
+    static OAuthSigner start() {
+        OAuthSigner signer = SIGNERS.get();
+        signer.parameters.length = 0;
+        signer.count = 0;
+        return signer;
+    }
+
+    /**
+     * @param key signing key, see {@link #key(String, String)}
+     * @param method request method
+     * @param url request URL, its query parameters are signed too
+     * @param oauthParameters names and values of the oauth_* protocol parameters, except the signature
+     * @return the base64 encoded signature, not yet percent-encoded
+     */
+    static String sign(SecretKeySpec key, String method, String url, String... oauthParameters) {
+        return start().parameters(oauthParameters).sign(key, method, url);
+    }
+
+    /**
+     * @param value any string
+     * @return the value percent-encoded as OAuth requires: everything but unreserved characters
+     */
+    static String encode(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (!isUnreserved(value.charAt(i))) {
+                return encode(value, new StringBuilder(value.length() + 16)).toString();
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Append the value percent-encoded as OAuth requires: everything but unreserved characters
+     *
+     * @param value any string, null being empty
+     * @param encoded receives the encoded value
+     * @return the given builder
+     */
+    static StringBuilder encode(String value, StringBuilder encoded) {
+        if (value == null) {
+            return encoded;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            int codePoint = utf8CodePoint(value, i, value.length());
+            i += Character.charCount(codePoint) - 1;
+            if (isUnreserved(codePoint)) {
+                encoded.append((char) codePoint);
+            } else if (codePoint < 0x80) {
+                appendPercent(encoded, codePoint);
+            } else {
+                for (int shift = utf8Shift(codePoint); shift >= 0; shift -= 6) {
+                    appendPercent(encoded, utf8Byte(codePoint, shift));
+                }
+            }
+        }
+        return encoded;
+    }
+
+    /**
+     * @param nameValuePairs names and values of parameters to sign
+     * @return this signer
+     */
+    OAuthSigner parameters(String... nameValuePairs) {
+        for (int i = 0; i + 1 < nameValuePairs.length; i += 2) {
+            parameter(nameValuePairs[i], nameValuePairs[i + 1]);
+        }
+        return this;
+    }
+
+    /**
+     * @param name name of a parameter to sign
+     * @param value value of the parameter, null being empty
+     * @return this signer
+     */
+    OAuthSigner parameter(String name, String value) {
+        int index = addParameter();
+        offsets[index] = parameters.length;
+        writeEncoded(parameters, name, 0, name.length(), false);
+        offsets[index + 1] = parameters.length;
+        if (value != null) {
+            writeEncoded(parameters, value, 0, value.length(), false);
+        }
+        offsets[index + 2] = parameters.length;
+        return this;
+    }
+
+    /**
+     * @param key signing key, see {@link #key(String, String)}
+     * @param method request method
+     * @param url request URL, its query parameters are signed too
+     * @return the base64 encoded signature, not yet percent-encoded
+     */
+    String sign(SecretKeySpec key, String method, String url) {
+        if (key != this.key) {
+            try {
+                mac.init(key);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalArgumentException(e);
+            }
+            this.key = key;
+        }
+        base.length = 0;
+        writeBaseString(method, url);
+        mac.update(base.bytes, 0, base.length);
+        return Base64.getEncoder().encodeToString(mac.doFinal());
+    }
+
+    private void writeBaseString(String method, String url) {
+        int end = url.indexOf('#');
+        if (end < 0) {
+            end = url.length();
+        }
+        int query = url.indexOf('?');
+        if (query > end) {
+            query = -1;
+        }
+        addQueryParameters(url, query >= 0 ? query + 1 : end, end);
+
+        for (int i = 0; i < method.length(); i++) {
+            base.write(Character.toUpperCase(method.charAt(i)));
+        }
+        base.write('&');
+        writeBaseUri(url, query >= 0 ? query : end);
+        base.write('&');
+
+        sortParameters();
+        for (int i = 0; i < count; i++) {
+            int index = order[i];
+            if (i > 0) {
+                writePercent(base, '&');
+            }
+            writeReencoded(offsets[index], offsets[index + 1]);
+            writePercent(base, '=');
+            writeReencoded(offsets[index + 1], offsets[index + 2]);
+        }
+    }
+
+    /**
+     * Add the form-encoded parameters of the query, decoding and percent-encoding them in one pass
+     */
+    private void addQueryParameters(String url, int start, int end) {
+        while (start < end) {
+            int next = url.indexOf('&', start);
+            if (next < 0 || next > end) {
+                next = end;
+            }
+            if (next > start) {
+                int equals = url.indexOf('=', start);
+                if (equals < 0 || equals > next) {
+                    equals = next;
+                }
+                int index = addParameter();
+                offsets[index] = parameters.length;
+                writeEncoded(parameters, url, start, equals, true);
+                offsets[index + 1] = parameters.length;
+                if (equals < next) {
+                    writeEncoded(parameters, url, equals + 1, next, true);
+                }
+                offsets[index + 2] = parameters.length;
+            }
+            start = next + 1;
+        }
+    }
+
+    /**
+     * @return the offset in {@link #offsets} of a new parameter
+     */
+    private int addParameter() {
+        if (3 * (count + 1) > offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        return 3 * count++;
+    }
+
+    /**
+     * Sort the parameters by name and then value, by insertion as there are only a few
+     */
+    private void sortParameters() {
+        if (order.length < count) {
+            order = new int[Math.max(count, order.length * 2)];
+        }
+        for (int i = 0; i < count; i++) {
+            int index = 3 * i;
+            int j = i;
+            while (j > 0 && compareParameters(order[j - 1], index) > 0) {
+                order[j] = order[j - 1];
+                j--;
+            }
+            order[j] = index;
+        }
+    }
+
+    private int compareParameters(int a, int b) {
+        int byName = compare(offsets[a], offsets[a + 1], offsets[b], offsets[b + 1]);
+        return byName != 0 ? byName : compare(offsets[a + 1], offsets[a + 2], offsets[b + 1], offsets[b + 2]);
+    }
+
+    /**
+     * Compare two ranges of the parameters buffer, as the encoded parameters are ASCII
+     * this orders them like their strings
+     */
+    private int compare(int start, int end, int otherStart, int otherEnd) {
+        byte[] bytes = parameters.bytes;
+        int length = Math.min(end - start, otherEnd - otherStart);
+        for (int i = 0; i < length; i++) {
+            int difference = bytes[start + i] - bytes[otherStart + i];
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return (end - start) - (otherEnd - otherStart);
+    }
+
+    /**
+     * Write the encoded base URI: the URL up to its query, with the scheme and host in lower case
+     * and without the default port
+     */
+    private void writeBaseUri(String url, int end) {
+        int authority = url.indexOf("://");
+        if (authority < 0 || authority > end) {
+            writeEncoded(base, url, 0, end, false);
+            return;
+        }
+        int path = url.indexOf('/', authority + 3);
+        if (path < 0 || path > end) {
+            path = end;
+        }
+        int hostEnd = path;
+        int port = url.lastIndexOf(':', path - 1);
+        if (port > authority + 3) {
+            if ((regionEquals(url, 0, authority, "http") && regionEquals(url, port, path, ":80"))
+                    || (regionEquals(url, 0, authority, "https") && regionEquals(url, port, path, ":443"))) {
+                hostEnd = port;
+            }
+        }
+        for (int i = 0; i < hostEnd; i++) {
+            int codePoint = utf8CodePoint(url, i, hostEnd);
+            i += Character.charCount(codePoint) - 1;
+            writeCodePoint(base, Character.toLowerCase(codePoint));
+        }
+        writeEncoded(base, url, path, end, false);
+    }
+
+    private static boolean regionEquals(String url, int start, int end, String expected) {
+        return end - start == expected.length() && url.regionMatches(true, start, expected, 0, expected.length());
+    }
+
+    /**
+     * Write a character, percent-encoding every byte of its UTF-8 encoding unless it is unreserved
+     */
+    private static void writeCodePoint(Buffer buffer, int codePoint) {
+        if (isUnreserved(codePoint)) {
+            buffer.write(codePoint);
+        } else if (codePoint < 0x80) {
+            writePercent(buffer, codePoint);
+        } else {
+            for (int shift = utf8Shift(codePoint); shift >= 0; shift -= 6) {
+                writePercent(buffer, utf8Byte(codePoint, shift));
+            }
+        }
+    }
+
+    /**
+     * Write a range of the value percent-encoding every byte of it but unreserved characters
+     *
+     * @param formEncoded true when the value is a form-encoded query name or value, to be decoded first: '+' being a space
+     */
+    private static void writeEncoded(Buffer buffer, String value, int start, int end, boolean formEncoded) {
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (formEncoded && c == '+') {
+                writePercent(buffer, ' ');
+            } else if (formEncoded && c == '%' && i + 2 < end && isHex(value.charAt(i + 1)) && isHex(value.charAt(i + 2))) {
+                int b = Character.digit(value.charAt(i + 1), 16) << 4 | Character.digit(value.charAt(i + 2), 16);
+                if (isUnreserved(b)) {
+                    buffer.write(b);
+                } else {
+                    writePercent(buffer, b);
+                }
+                i += 2;
+            } else {
+                int codePoint = utf8CodePoint(value, i, end);
+                i += Character.charCount(codePoint) - 1;
+                writeCodePoint(buffer, codePoint);
+            }
+        }
+    }
+
+    /**
+     * Write a range of the encoded parameters to the base string, where only their '%' characters need encoding again
+     */
+    private void writeReencoded(int start, int end) {
+        byte[] bytes = parameters.bytes;
+        for (int i = start; i < end; i++) {
+            if (bytes[i] == '%') {
+                writePercent(base, '%');
+            } else {
+                base.write(bytes[i]);
+            }
+        }
+    }
+
+    private static void appendPercent(StringBuilder encoded, int b) {
+        encoded.append('%').append((char) HEX[b >> 4]).append((char) HEX[b & 0xF]);
+    }
+
+    private static void writePercent(Buffer buffer, int b) {
+        buffer.write('%');
+        buffer.write(HEX[b >> 4]);
+        buffer.write(HEX[b & 0xF]);
+    }
+
+    /**
+     * @return the code point at the index, '?' for a lone surrogate as {@link String#getBytes(java.nio.charset.Charset)} encodes it
+     */
+    private static int utf8CodePoint(String value, int index, int end) {
+        char c = value.charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < end && Character.isLowSurrogate(value.charAt(index + 1))) {
+            return Character.toCodePoint(c, value.charAt(index + 1));
+        }
+        return Character.isSurrogate(c) ? '?' : c;
+    }
+
+    /**
+     * @return the shift of the first byte of the UTF-8 encoding of the code point
+     */
+    private static int utf8Shift(int codePoint) {
+        if (codePoint < 0x800) {
+            return 6;
+        }
+        return codePoint < 0x10000 ? 12 : 18;
+    }
+
+    /**
+     * @return the byte of the UTF-8 encoding of the code point holding the bits from the shift on
+     */
+    private static int utf8Byte(int codePoint, int shift) {
+        if (shift == utf8Shift(codePoint)) {
+            // Leading byte: the length marker followed by the highest bits
+            int marker = shift == 6 ? 0xC0 : shift == 12 ? 0xE0 : 0xF0;
+            return marker | (codePoint >> shift);
+        }
+        return 0x80 | ((codePoint >> shift) & 0x3F);
+    }
+
+    private static boolean isHex(char c) {
+        return Character.digit(c, 16) >= 0;
+    }
+
+    private static boolean isUnreserved(int c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '-' || c == '.' || c == '_' || c == '~';
+    }
+
+    /**
+     * Growable byte buffer, reused for every signature of a thread
+     */
+    private static final class Buffer {
+
+        private byte[] bytes;
+        private int length;
+
+        private Buffer(int capacity) {
+            bytes = new byte[capacity];
+        }
+
+        private void write(int b) {
+            if (length == bytes.length) {
+                bytes = Arrays.copyOf(bytes, length * 2);
+            }
+            bytes[length++] = (byte) b;
+        }
+    }
+}
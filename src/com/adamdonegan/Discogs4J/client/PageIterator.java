@@ -0,0 +1,70 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the pages of a paged endpoint, fetching each page when it is requested
+ * and following the 'pagination.urls.next' link of the previous page.
+ * <p>
+ * Only the URL of the next page is retained, so iterating any number of pages needs
+ * no more memory than a single page. A page answered with an error status, for example 429
+ * once retries are exhausted, ends the iteration with a {@link DiscogsResponseException}.
+ */
+public class PageIterator implements Iterator<String> {
+
+    private final Function<String, TransportResponse> open;
+    private String nextUrl;
+
+    /**
+     * @param open executes the request for a page URL
+     * @param firstUrl the URL of the first page to fetch
+     */
+    public PageIterator(Function<String, TransportResponse> open, String firstUrl) {
+        this.open = open;
+        this.nextUrl = firstUrl;
+    }
+
+    /**
+     * @param open executes the request for a page URL
+     * @param firstUrl the URL of the first page to fetch
+     * @return sequential, ordered stream of page bodies
+     */
+    public static Stream<String> stream(Function<String, TransportResponse> open, String firstUrl) {
+        Iterator<String> pages = new PageIterator(open, firstUrl);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextUrl != null;
+    }
+
+    @Override
+    public String next() {
+        if (nextUrl == null) {
+            throw new NoSuchElementException();
+        }
+        String url = nextUrl;
+        nextUrl = null;
+        String page = read(open.apply(url));
+        nextUrl = Pagination.parse(page).getNext();
+        return page;
+    }
+
+    /**
+     * @param response the response of a page
+     * @return the body of the page
+     * @throws DiscogsResponseException when the page was answered with an error status
+     */
+    static String read(TransportResponse response) {
+        return DiscogsResponse.read(response).getBodyOrThrow();
+    }
+}
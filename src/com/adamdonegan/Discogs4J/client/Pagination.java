@@ -0,0 +1,144 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.util.JsonTokenizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The 'pagination' object of a paged response:
+ * <pre>
+ * "pagination": {
+ *   "page": 1, "pages": 30, "per_page": 50, "items": 1470,
+ *   "urls": {"last": "...", "next": "..."}
+ * }
+ * </pre>
+ * See the <a href="https://www.discogs.com/developers#page:home,header:home-pagination">pagination</a> documentation.
+ */
+public class Pagination {
+
+    private int page = -1;
+    private int pages = -1;
+    private int perPage = -1;
+    private int items = -1;
+    private String next;
+    private String last;
+
+    private Pagination() {
+    }
+
+    /**
+     * Read the pagination of a response body
+     *
+     * @param body the JSON response body of a paged endpoint
+     * @return the pagination, with an unknown (-1) page count and no next page if the body has none
+     * @throws IllegalArgumentException if the body up to the pagination is not a well-formed JSON object
+     */
+    public static Pagination parse(String body) {
+        JsonTokenizer tokenizer = new JsonTokenizer(body.getBytes(StandardCharsets.UTF_8));
+        try {
+            if (tokenizer.peek() != JsonTokenizer.Token.BEGIN_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            tokenizer.beginObject();
+            if (tokenizer.seek("pagination")) {
+                return read(tokenizer);
+            }
+            return new Pagination();
+        } catch (IOException e) {
+            // Not thrown when reading from an array
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    /**
+     * Read the value of the 'pagination' member, the tokenizer positioned at the value
+     *
+     * @param tokenizer the tokenizer
+     * @return the pagination
+     * @throws IOException when reading fails
+     */
+    static Pagination read(JsonTokenizer tokenizer) throws IOException {
+        Pagination pagination = new Pagination();
+        if (tokenizer.peek() != JsonTokenizer.Token.BEGIN_OBJECT) {
+            tokenizer.skipValue();
+            return pagination;
+        }
+        tokenizer.beginObject();
+        while (tokenizer.hasNext()) {
+            String name = tokenizer.nextName();
+            if (tokenizer.peek() == JsonTokenizer.Token.NUMBER && "page".equals(name)) {
+                pagination.page = tokenizer.nextInt();
+            } else if (tokenizer.peek() == JsonTokenizer.Token.NUMBER && "pages".equals(name)) {
+                pagination.pages = tokenizer.nextInt();
+            } else if (tokenizer.peek() == JsonTokenizer.Token.NUMBER && "per_page".equals(name)) {
+                pagination.perPage = tokenizer.nextInt();
+            } else if (tokenizer.peek() == JsonTokenizer.Token.NUMBER && "items".equals(name)) {
+                pagination.items = tokenizer.nextInt();
+            } else if (tokenizer.peek() == JsonTokenizer.Token.BEGIN_OBJECT && "urls".equals(name)) {
+                pagination.readUrls(tokenizer);
+            } else {
+                tokenizer.skipValue();
+            }
+        }
+        tokenizer.endObject();
+        return pagination;
+    }
+
+    private void readUrls(JsonTokenizer tokenizer) throws IOException {
+        tokenizer.beginObject();
+        while (tokenizer.hasNext()) {
+            String name = tokenizer.nextName();
+            if (tokenizer.peek() == JsonTokenizer.Token.STRING && "next".equals(name)) {
+                next = tokenizer.nextString();
+            } else if (tokenizer.peek() == JsonTokenizer.Token.STRING && "last".equals(name)) {
+                last = tokenizer.nextString();
+            } else {
+                tokenizer.skipValue();
+            }
+        }
+        tokenizer.endObject();
+    }
+
+    /**
+     * @return the current page number, starting at 1; or -1 if unknown
+     */
+    public int getPage() {
+        return page;
+    }
+
+    /**
+     * @return the total number of pages, or -1 if unknown
+     */
+    public int getPages() {
+        return pages;
+    }
+
+    /**
+     * @return the number of items per page, or -1 if unknown
+     */
+    public int getPerPage() {
+        return perPage;
+    }
+
+    /**
+     * @return the total number of items, or -1 if unknown
+     */
+    public int getItems() {
+        return items;
+    }
+
+    /**
+     * @return the URL of the next page, or null on the last page
+     */
+    public String getNext() {
+        return next;
+    }
+
+    /**
+     * @return the URL of the last page, or null on the last page
+     */
+    public String getLast() {
+        return last;
+    }
+}
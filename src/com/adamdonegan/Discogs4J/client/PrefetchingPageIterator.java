@@ -0,0 +1,168 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterates over the pages of a paged endpoint like {@link PageIterator}, fetching up to a
+ * fixed number of pages ahead of the consumer in parallel.
+ * <p>
+ * The first page is fetched on the calling thread. Its pagination reveals the total number of
+ * pages and the 'page' parameter of the next URL; the remaining page URLs are derived from it and
+ * fetched on the given executor. Pages are always returned in order. When the next URL has no
+ * recognizable 'page' parameter, the iterator falls back to following the next links one by one.
+ * <p>
+ * A page answered with an error status fails the iteration with a {@link DiscogsResponseException}
+ * once it is reached, cancelling the pages fetched ahead of it.
+ */
+public class PrefetchingPageIterator implements Iterator<String>, AutoCloseable {
+
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("([?&]page=)(\\d+)");
+
+    private final Function<String, TransportResponse> open;
+    private final Executor executor;
+    private final int prefetch;
+
+    private String firstUrl;
+    private String nextUrl;
+
+    private String pageUrlPrefix;
+    private String pageUrlSuffix;
+    private int nextPage;
+    private int lastPage;
+    private final Deque<CompletableFuture<String>> inFlight = new ArrayDeque<CompletableFuture<String>>();
+
+    /**
+     * @param open executes the request for a page URL
+     * @param firstUrl the URL of the first page to fetch
+     * @param executor the executor to fetch the pages after the first page on
+     * @param prefetch the maximum number of pages to fetch ahead of the consumer
+     */
+    public PrefetchingPageIterator(Function<String, TransportResponse> open, String firstUrl, Executor executor, int prefetch) {
+        if (prefetch < 1) {
+            throw new IllegalArgumentException("Prefetch must be greater than zero");
+        }
+        this.open = open;
+        this.firstUrl = firstUrl;
+        this.executor = executor;
+        this.prefetch = prefetch;
+    }
+
+    /**
+     * @param open executes the request for a page URL
+     * @param firstUrl the URL of the first page to fetch
+     * @param executor the executor to fetch the pages after the first page on
+     * @param prefetch the maximum number of pages to fetch ahead of the consumer
+     * @return sequential, ordered stream of page bodies; closing it cancels the pages not yet fetched
+     */
+    public static Stream<String> stream(Function<String, TransportResponse> open, String firstUrl, Executor executor, int prefetch) {
+        PrefetchingPageIterator pages = new PrefetchingPageIterator(open, firstUrl, executor, prefetch);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(pages, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(pages::close);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return firstUrl != null || !inFlight.isEmpty() || nextUrl != null;
+    }
+
+    @Override
+    public String next() {
+        try {
+            return nextPage();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private String nextPage() {
+        if (firstUrl != null) {
+            String url = firstUrl;
+            firstUrl = null;
+            String page = fetch(url);
+            plan(Pagination.parse(page));
+            fill();
+            return page;
+        }
+        if (!inFlight.isEmpty()) {
+            CompletableFuture<String> page = inFlight.poll();
+            fill();
+            return join(page);
+        }
+        if (nextUrl != null) {
+            String url = nextUrl;
+            nextUrl = null;
+            String page = fetch(url);
+            nextUrl = Pagination.parse(page).getNext();
+            return page;
+        }
+        throw new NoSuchElementException();
+    }
+
+    /**
+     * Cancel the pages that were not fetched yet
+     */
+    @Override
+    public void close() {
+        for (CompletableFuture<String> page : inFlight) {
+            page.cancel(false);
+        }
+        inFlight.clear();
+        nextPage = lastPage + 1;
+        nextUrl = null;
+    }
+
+    private void plan(Pagination pagination) {
+        String next = pagination.getNext();
+        if (next == null) {
+            return;
+        }
+        Matcher matcher = PAGE_PARAMETER.matcher(next);
+        if (pagination.getPage() > 0 && pagination.getPages() > 0 && matcher.find()
+                && Integer.parseInt(matcher.group(2)) == pagination.getPage() + 1) {
+            pageUrlPrefix = next.substring(0, matcher.end(1));
+            pageUrlSuffix = next.substring(matcher.end(2));
+            nextPage = pagination.getPage() + 1;
+            lastPage = pagination.getPages();
+        } else {
+            nextUrl = next;
+        }
+    }
+
+    private void fill() {
+        while (pageUrlPrefix != null && inFlight.size() < prefetch && nextPage <= lastPage) {
+            String url = pageUrlPrefix + nextPage++ + pageUrlSuffix;
+            inFlight.add(CompletableFuture.supplyAsync(() -> fetch(url), executor));
+        }
+    }
+
+    private String fetch(String url) {
+        return PageIterator.read(open.apply(url));
+    }
+
+    private static String join(CompletableFuture<String> page) {
+        try {
+            return page.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket pacing the requests of one or more {@link DiscogsClient clients}.
+ * <p>
+ * The bucket holds up to the number of requests allowed per minute and refills at the
+ * same rate. After every response the limit and remaining budget reported by the
+ * 'X-Discogs-Ratelimit' headers are applied, so the bucket never holds more tokens than
+ * the server has left. Threads that find the bucket empty reserve the next token and
+ * sleep until it becomes available.
+ * <p>
+ * See the <a href="https://www.discogs.com/developers#page:home,header:home-rate-limiting">rate limiting</a> documentation.
+ */
+public class RateLimiter {
+
+    /**
+     * 'X-Discogs-Ratelimit' header name, the total number of requests allowed in a one minute window
+     */
+    public static final String HEADER_RATELIMIT = "X-Discogs-Ratelimit";
+
+    /**
+     * 'X-Discogs-Ratelimit-Used' header name, the number of requests made in the current window
+     */
+    public static final String HEADER_RATELIMIT_USED = "X-Discogs-Ratelimit-Used";
+
+    /**
+     * 'X-Discogs-Ratelimit-Remaining' header name, the number of requests remaining in the current window
+     */
+    public static final String HEADER_RATELIMIT_REMAINING = "X-Discogs-Ratelimit-Remaining";
+
+    /**
+     * Requests per minute allowed for authenticated requests
+     */
+    public static final int DEFAULT_REQUESTS_PER_MINUTE = 60;
+
+    private static final long WINDOW_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private int limit;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Create a limiter for {@value #DEFAULT_REQUESTS_PER_MINUTE} requests per minute,
+     * adjusted to the limit reported by the server after the first response
+     */
+    public RateLimiter() {
+        this(DEFAULT_REQUESTS_PER_MINUTE);
+    }
+
+    /**
+     * @param requestsPerMinute the initial number of requests per minute,
+     *                          adjusted to the limit reported by the server after the first response
+     */
+    public RateLimiter(int requestsPerMinute) {
+        if (requestsPerMinute < 1) {
+            throw new IllegalArgumentException("Requests per minute must be greater than zero");
+        }
+        this.limit = requestsPerMinute;
+        this.tokens = requestsPerMinute;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Take a token from the bucket, waiting until one is available
+     *
+     * @throws HttpRequestException when interrupted while waiting
+     */
+    public void acquire() throws HttpRequestException {
+        long waitNanos;
+        synchronized (this) {
+            refill();
+            tokens -= 1;
+            waitNanos = tokens < 0 ? (long) (-tokens * nanosPerToken()) : 0;
+        }
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HttpRequestException(new InterruptedIOException("Interrupted while waiting for the rate limit"));
+            }
+        }
+    }
+
+    /**
+     * Apply the rate limit headers of the given response, if present
+     *
+     * @param response response to a request paced by this limiter
+     */
+    public void update(TransportResponse response) {
+        int reportedLimit = intHeader(response, HEADER_RATELIMIT);
+        int remaining = intHeader(response, HEADER_RATELIMIT_REMAINING);
+        if (remaining < 0 && reportedLimit > 0) {
+            int used = intHeader(response, HEADER_RATELIMIT_USED);
+            if (used >= 0) {
+                remaining = Math.max(0, reportedLimit - used);
+            }
+        }
+        update(reportedLimit, remaining);
+    }
+
+    /**
+     * Apply a rate limit reported by the server
+     *
+     * @param reportedLimit the total number of requests per minute, ignored when not positive
+     * @param remaining the number of requests remaining in the current window, ignored when negative
+     */
+    public synchronized void update(int reportedLimit, int remaining) {
+        refill();
+        if (reportedLimit > 0) {
+            limit = reportedLimit;
+            tokens = Math.min(tokens, limit);
+        }
+        if (remaining >= 0) {
+            tokens = Math.min(tokens, remaining);
+        }
+    }
+
+    /**
+     * @return the number of requests allowed per minute
+     */
+    public synchronized int getLimit() {
+        return limit;
+    }
+
+    /**
+     * @return the number of requests that can be made right now without waiting
+     */
+    public synchronized int getAvailableTokens() {
+        refill();
+        return (int) Math.max(0, Math.floor(tokens));
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(limit, tokens + (now - lastRefill) / nanosPerToken());
+        lastRefill = now;
+    }
+
+    private double nanosPerToken() {
+        return (double) WINDOW_NANOS / limit;
+    }
+
+    private static int intHeader(TransportResponse response, String name) {
+        String value = response.header(name);
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.adamdonegan.Discogs4J.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-memory cache of response bodies, keyed on the request URL. Responses to user
+ * specific resources are keyed on the URL prefixed with the authenticated identity.
+ * <p>
+ * Entries expire a fixed time after they were stored. When the number of entries or their
+ * total weight exceeds the configured maximum, the least recently used entries are evicted.
+ * The weight of an entry is the approximate heap size of its body in bytes (two per character).
+ * <p>
+ * Responses stored with an 'ETag' or 'Last-Modified' validator can be revalidated with a
+ * conditional request once they expired, a 304 Not Modified response then renews the entry.
+ * <p>
+ * The cache holds the responses as seen by the client that stored them, so it should only be
+ * shared by clients using the same authentication.
+ */
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<String, CachedResponse>(16, 0.75f, true);
+    private long weight;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+    private long revalidationCount;
+
+    /**
+     * @param maxEntries the maximum number of cached responses
+     * @param maxWeight the maximum total size in bytes of the cached responses
+     * @param ttl time to live of a cached response
+     * @param unit unit of the time to live
+     */
+    public ResponseCache(int maxEntries, long maxWeight, long ttl, TimeUnit unit) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be greater than zero");
+        }
+        if (maxWeight < 1) {
+            throw new IllegalArgumentException("Max weight must be greater than zero");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.ttlNanos = unit.toNanos(ttl);
+    }
+
+    /**
+     * @param url the request URL
+     * @return the cached response body, or null if absent or expired
+     */
+    public synchronized String get(String url) {
+        CachedResponse entry = entries.get(url);
+        if (entry != null && entry.isExpired(System.nanoTime())) {
+            if (!entry.hasValidator()) {
+                remove(url);
+                evictionCount++;
+            }
+            entry = null;
+        }
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.body;
+    }
+
+    /**
+     * @param url the request URL
+     * @return the cached response including its validators, even if expired; or null if absent
+     */
+    public synchronized CachedResponse getForRevalidation(String url) {
+        return entries.get(url);
+    }
+
+    /**
+     * Store a response body, evicting the least recently used entries if needed
+     *
+     * @param url the request URL
+     * @param body the response body
+     */
+    public synchronized void put(String url, String body) {
+        put(url, body, null, null);
+    }
+
+    /**
+     * Store a response body with its validators, evicting the least recently used entries if needed
+     *
+     * @param url the request URL
+     * @param body the response body
+     * @param eTag the 'ETag' response header, or null
+     * @param lastModified the 'Last-Modified' response header, or null
+     */
+    public synchronized void put(String url, String body, String eTag, String lastModified) {
+        CachedResponse entry = new CachedResponse(body, eTag, lastModified, System.nanoTime() + ttlNanos);
+        if (entry.weight > maxWeight) {
+            return;
+        }
+        remove(url);
+        entries.put(url, entry);
+        weight += entry.weight;
+        evict();
+    }
+
+    /**
+     * Renew a cached response after the server confirmed it was not modified
+     *
+     * @param url the request URL
+     * @param response the cached response that was revalidated
+     */
+    public synchronized void revalidated(String url, CachedResponse response) {
+        if (entries.get(url) == response) {
+            entries.put(url, new CachedResponse(response.body, response.eTag, response.lastModified, System.nanoTime() + ttlNanos));
+        }
+        revalidationCount++;
+    }
+
+    /**
+     * Remove the cached response for the given URL, if any
+     *
+     * @param url the request URL
+     */
+    public synchronized void invalidate(String url) {
+        remove(url);
+    }
+
+    /**
+     * Remove all cached responses
+     */
+    public synchronized void invalidateAll() {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return the number of cached responses, including expired responses not yet removed
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the total weight in bytes of the cached responses
+     */
+    public synchronized long getWeight() {
+        return weight;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * @return the number of cached responses reused after a 304 Not Modified response
+     */
+    public synchronized long getRevalidationCount() {
+        return revalidationCount;
+    }
+
+    /**
+     * @return the number of responses removed because they expired or to stay within the bounds
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    private void remove(String url) {
+        CachedResponse previous = entries.remove(url);
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext() && (entries.size() > maxEntries || weight > maxWeight)) {
+            CachedResponse eldest = iterator.next().getValue();
+            iterator.remove();
+            weight -= eldest.weight;
+            evictionCount++;
+        }
+    }
+
+    /**
+     * A cached response body with its validators
+     */
+    public static class CachedResponse {
+
+        private final String body;
+        private final String eTag;
+        private final String lastModified;
+        private final long expiresAt;
+        private final long weight;
+
+        private CachedResponse(String body, String eTag, String lastModified, long expiresAt) {
+            this.body = body;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.expiresAt = expiresAt;
+            this.weight = 2L * body.length();
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        /**
+         * @return the 'ETag' response header, or null
+         */
+        public String getETag() {
+            return eTag;
+        }
+
+        /**
+         * @return the 'Last-Modified' response header, or null
+         */
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * @return true if the response can be revalidated with a conditional request
+         */
+        public boolean hasValidator() {
+            return eTag != null || lastModified != null;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.adamdonegan.Discogs4J.client;
+
+import static java.net.HttpURLConnection.HTTP_BAD_GATEWAY;
+import static java.net.HttpURLConnection.HTTP_UNAVAILABLE;
+
+import com.adamdonegan.Discogs4J.transport.Transport;
+import com.adamdonegan.Discogs4J.transport.TransportRequest;
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+
+import java.io.InterruptedIOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Retries requests that failed with a transient error: a 429 Too Many Requests,
+ * 502 Bad Gateway or 503 Service Unavailable response, or an I/O failure such as a connection reset.
+ * <p>
+ * The delay before each retry is taken from the 'Retry-After' response header when present,
+ * otherwise it grows exponentially with full jitter: a random delay between zero and
+ * {@code min(maxDelay, baseDelay * 2^retry)}. Retrying stops when the maximum number of attempts
+ * is reached or when the next delay would exceed the total time budget; the last response is then
+ * returned, or the last exception thrown.
+ * <p>
+ * Only GET and HEAD requests are retried unless {@link #retryWrites(boolean)} is enabled.
+ * A policy can be shared by multiple clients and threads.
+ * <p>
+ * Each attempt takes a new request from the given supplier, so that a signed request gets a fresh
+ * OAuth nonce and signature rather than replaying those of the failed attempt. A failure while
+ * reading the body is retried too when the body is read by the function passed to
+ * {@link #execute(Supplier, Transport, Function)}; a body streamed by the caller after
+ * {@link #execute(Supplier, Transport)} returned is not.
+ */
+public class RetryPolicy {
+
+    /**
+     * 'Retry-After' header name
+     */
+    public static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    private volatile int maxAttempts = 4;
+    private volatile long baseDelay = 500;
+    private volatile long maxDelay = TimeUnit.SECONDS.toMillis(30);
+    private volatile long maxElapsed = TimeUnit.MINUTES.toMillis(2);
+    private volatile boolean retryWrites = false;
+
+    private final AtomicLong attempts = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong giveUps = new AtomicLong();
+
+    /**
+     * @param maxAttempts the maximum number of attempts per request, including the first one; default 4
+     * @return this policy
+     */
+    public RetryPolicy maxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be greater than zero");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * @param baseDelay the delay in milliseconds the exponential backoff starts from; default 500
+     * @return this policy
+     */
+    public RetryPolicy baseDelay(long baseDelay) {
+        this.baseDelay = baseDelay;
+        return this;
+    }
+
+    /**
+     * @param maxDelay the maximum backoff delay in milliseconds between two attempts; default 30 seconds
+     * @return this policy
+     */
+    public RetryPolicy maxDelay(long maxDelay) {
+        this.maxDelay = maxDelay;
+        return this;
+    }
+
+    /**
+     * @param maxElapsed the total time budget in milliseconds for all attempts of a request; default 2 minutes
+     * @return this policy
+     */
+    public RetryPolicy maxElapsed(long maxElapsed) {
+        this.maxElapsed = maxElapsed;
+        return this;
+    }
+
+    /**
+     * @param retryWrites true to also retry POST, PUT and DELETE requests; default false
+     * @return this policy
+     */
+    public RetryPolicy retryWrites(boolean retryWrites) {
+        this.retryWrites = retryWrites;
+        return this;
+    }
+
+    /**
+     * Execute the request, retrying it according to this policy
+     *
+     * @param request supplies the request to send, called once per attempt
+     * @param transport the transport executing a single attempt
+     * @return the first successful response, or the last response when giving up
+     * @throws HttpRequestException the last failure when giving up
+     */
+    public TransportResponse execute(Supplier<TransportRequest> request, Transport transport) throws HttpRequestException {
+        return execute(request, transport, Function.identity());
+    }
+
+    /**
+     * Execute the request and read its response, retrying both according to this policy
+     *
+     * @param request supplies the request to send, called once per attempt
+     * @param transport the transport executing a single attempt
+     * @param read reads the response, for example its complete body; a failure to read a
+     * retryable request is retried like a failure to send it
+     * @param <T> type of the result read
+     * @return the result read from the first successful response, or from the last response when giving up
+     * @throws HttpRequestException the last failure when giving up
+     */
+    public <T> T execute(Supplier<TransportRequest> request, Transport transport, Function<TransportResponse, T> read) throws HttpRequestException {
+        TransportRequest attemptRequest = request.get();
+        if (!isRetryable(attemptRequest)) {
+            attempts.incrementAndGet();
+            return read.apply(transport.execute(attemptRequest));
+        }
+
+        long start = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            if (attempt > 1) {
+                attemptRequest = request.get();
+            }
+            attempts.incrementAndGet();
+            TransportResponse response = null;
+            try {
+                response = transport.execute(attemptRequest);
+                if (!isRetryable(response.code())) {
+                    return read.apply(response);
+                }
+            } catch (HttpRequestException e) {
+                if (response != null) {
+                    response.close();
+                }
+                if (e.getCause() instanceof InterruptedIOException) {
+                    throw e;
+                }
+                long delay = nextDelay(attempt, start, -1);
+                if (delay < 0) {
+                    giveUps.incrementAndGet();
+                    throw e;
+                }
+                sleep(delay, e);
+                continue;
+            }
+
+            long delay = nextDelay(attempt, start, retryAfter(response));
+            if (delay < 0) {
+                giveUps.incrementAndGet();
+                return read.apply(response);
+            }
+            response.close();
+            sleep(delay, null);
+        }
+    }
+
+    /**
+     * @return the total number of attempts made, including first attempts
+     */
+    public long getAttempts() {
+        return attempts.get();
+    }
+
+    /**
+     * @return the number of attempts that were retries of a failed attempt
+     */
+    public long getRetries() {
+        return retries.get();
+    }
+
+    /**
+     * @return the number of requests that still failed after the last allowed attempt
+     */
+    public long getGiveUps() {
+        return giveUps.get();
+    }
+
+    private boolean isRetryable(TransportRequest request) {
+        String method = request.method();
+        return retryWrites || HttpRequest.METHOD_GET.equals(method) || HttpRequest.METHOD_HEAD.equals(method);
+    }
+
+    private static boolean isRetryable(int code) {
+        return code == HTTP_TOO_MANY_REQUESTS
+                || code == HTTP_BAD_GATEWAY
+                || code == HTTP_UNAVAILABLE;
+    }
+
+    /**
+     * @return the delay in milliseconds before the next attempt, or -1 to give up
+     */
+    private long nextDelay(int attempt, long start, long retryAfter) {
+        if (attempt >= maxAttempts) {
+            return -1;
+        }
+        long delay;
+        if (retryAfter >= 0) {
+            delay = retryAfter;
+        } else {
+            long ceiling = Math.min(maxDelay, baseDelay << Math.min(attempt - 1, 30));
+            delay = ceiling > 0 ? ThreadLocalRandom.current().nextLong(ceiling + 1) : 0;
+        }
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (elapsed + delay > maxElapsed) {
+            return -1;
+        }
+        return delay;
+    }
+
+    private void sleep(long delay, HttpRequestException failure) {
+        retries.incrementAndGet();
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            InterruptedIOException interrupted = new InterruptedIOException("Interrupted while waiting to retry");
+            if (failure != null) {
+                interrupted.initCause(failure.getCause());
+            }
+            throw new HttpRequestException(interrupted);
+        }
+    }
+
+    /**
+     * @return the delay in milliseconds requested by the 'Retry-After' header, or -1 if absent
+     */
+    private static long retryAfter(TransportResponse response) {
+        String value = response.header(HEADER_RETRY_AFTER);
+        if (value == null) {
+            return -1;
+        }
+        value = value.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException e) {
+            // Not delay-seconds, try an HTTP-date
+        }
+        try {
+            ZonedDateTime date = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, date.toInstant().toEpochMilli() - System.currentTimeMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+}
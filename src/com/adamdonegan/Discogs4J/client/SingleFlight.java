@@ -0,0 +1,82 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key: the first caller executes the call,
+ * callers arriving while it is in flight wait for and share its result (or failure).
+ *
+ * @param <V> result type
+ */
+public class SingleFlight<V> {
+
+    private final ConcurrentMap<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<String, CompletableFuture<V>>();
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong sharedCount = new AtomicLong();
+
+    /**
+     * Execute the call, or wait for the result of an identical call already in flight
+     *
+     * @param key identifies identical calls
+     * @param call the call to execute
+     * @return the result of the call
+     * @throws HttpRequestException when interrupted while waiting for the call in flight
+     */
+    public V execute(String key, Supplier<V> call) throws HttpRequestException {
+        CompletableFuture<V> created = new CompletableFuture<V>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            sharedCount.incrementAndGet();
+            return await(existing);
+        }
+
+        executedCount.incrementAndGet();
+        try {
+            V result = call.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    /**
+     * @return the number of calls that were executed
+     */
+    public long getExecutedCount() {
+        return executedCount.get();
+    }
+
+    /**
+     * @return the number of calls that shared the result of a call in flight instead of executing
+     */
+    public long getSharedCount() {
+        return sharedCount.get();
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HttpRequestException(new InterruptedIOException("Interrupted while waiting for a request in flight"));
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw (Error) cause;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.adamdonegan.Discogs4J.models;
+
+import java.util.List;
+
+/**
+ * An artist, as returned by {@link com.adamdonegan.Discogs4J.client.DiscogsClient#getArtist(String)}.
+ * Also the artist credits of releases and masters, which have a subset of the fields.
+ */
+public class Artist extends JsonModel {
+
+    public Artist(byte[] json) {
+        super(json);
+    }
+
+    public Artist(byte[] json, int offset, int length) {
+        super(json, offset, length);
+    }
+
+    Artist(JsonModel model) {
+        super(model);
+    }
+
+    public long getId() {
+        return getLong("id", 0);
+    }
+
+    public String getName() {
+        return getString("name");
+    }
+
+    public String getRealName() {
+        return getString("realname");
+    }
+
+    public String getProfile() {
+        return getString("profile");
+    }
+
+    public String getDataQuality() {
+        return getString("data_quality");
+    }
+
+    public String getUri() {
+        return getString("uri");
+    }
+
+    public String getResourceUrl() {
+        return getString("resource_url");
+    }
+
+    public String getReleasesUrl() {
+        return getString("releases_url");
+    }
+
+    public List<String> getUrls() {
+        return getStrings("urls");
+    }
+
+    public List<String> getNameVariations() {
+        return getStrings("namevariations");
+    }
+}
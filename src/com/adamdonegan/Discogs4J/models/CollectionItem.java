@@ -0,0 +1,51 @@
+package com.adamdonegan.Discogs4J.models;
+
+/**
+ * A release in a collection folder, as streamed by
+ * {@link com.adamdonegan.Discogs4J.client.DiscogsClient#getCollectionItems(String, String, java.util.Map)}
+ */
+public class CollectionItem extends JsonModel {
+
+    public CollectionItem(byte[] json) {
+        super(json);
+    }
+
+    public CollectionItem(byte[] json, int offset, int length) {
+        super(json, offset, length);
+    }
+
+    CollectionItem(JsonModel model) {
+        super(model);
+    }
+
+    /**
+     * @return the release id
+     */
+    public long getId() {
+        return getLong("id", 0);
+    }
+
+    public long getInstanceId() {
+        return getLong("instance_id", 0);
+    }
+
+    public long getFolderId() {
+        return getLong("folder_id", 0);
+    }
+
+    public int getRating() {
+        return getInt("rating", 0);
+    }
+
+    public String getDateAdded() {
+        return getString("date_added");
+    }
+
+    /**
+     * @return the title, year, artists, labels and other basic fields of the release
+     */
+    public Release getBasicInformation() {
+        JsonModel model = getObject("basic_information");
+        return model != null ? new Release(model) : null;
+    }
+}
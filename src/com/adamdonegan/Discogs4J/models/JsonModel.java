@@ -0,0 +1,291 @@
+package com.adamdonegan.Discogs4J.models;
+
+import com.adamdonegan.Discogs4J.util.JsonTokenizer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JSON object kept as its UTF-8 encoded bytes, decoding members only when they are read.
+ * <p>
+ * The first access scans the object once to locate its members, skipping over their values
+ * without decoding them. Each getter then decodes just the requested member, so reading a few
+ * fields of a large document costs little more than that single scan. Nested objects are views
+ * on the same bytes, nothing is copied.
+ * <p>
+ * Getters return null (or the given default) for members that are missing or null.
+ * Instances are immutable and safe to share between threads.
+ */
+public class JsonModel {
+
+    private final byte[] json;
+    private final int offset;
+    private final int length;
+
+    private volatile Map<String, int[]> members;
+
+    /**
+     * @param json UTF-8 encoded JSON object
+     */
+    public JsonModel(byte[] json) {
+        this(json, 0, json.length);
+    }
+
+    /**
+     * @param json array holding a UTF-8 encoded JSON object, not copied and so not to be modified
+     * @param offset start of the object in the array
+     * @param length length of the object
+     */
+    public JsonModel(byte[] json, int offset, int length) {
+        this.json = json;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * @param model model to share the bytes and member index of
+     */
+    protected JsonModel(JsonModel model) {
+        this.json = model.json;
+        this.offset = model.offset;
+        this.length = model.length;
+        this.members = model.members;
+    }
+
+    /**
+     * @param json JSON object
+     */
+    public JsonModel(String json) {
+        this(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param name member name
+     * @return true when the object has the member with a value other than null
+     */
+    public boolean has(String name) {
+        int[] member = member(name);
+        return member != null && peek(member) != JsonTokenizer.Token.NULL;
+    }
+
+    /**
+     * @param name member name
+     * @return the string, or the text of a number
+     */
+    public String getString(String name) {
+        int[] member = member(name);
+        if (member == null) {
+            return null;
+        }
+        try {
+            JsonTokenizer tokenizer = tokenizer(member);
+            JsonTokenizer.Token token = tokenizer.peek();
+            if (token == JsonTokenizer.Token.STRING || token == JsonTokenizer.Token.NUMBER) {
+                return tokenizer.nextString();
+            } else if (token == JsonTokenizer.Token.BOOLEAN) {
+                return String.valueOf(tokenizer.nextBoolean());
+            }
+            return null;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param name member name
+     * @param defaultValue value returned when the member is missing, not a number or out of range
+     * @return the number, a fraction truncated towards zero
+     */
+    public long getLong(String name, long defaultValue) {
+        String value = getString(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            // A fraction or exponent, or not a number at all
+            double number = parseDouble(value);
+            if (Double.isNaN(number) || number < Long.MIN_VALUE || number >= 0x1p63) {
+                return defaultValue;
+            }
+            return (long) number;
+        }
+    }
+
+    /**
+     * @param name member name
+     * @param defaultValue value returned when the member is missing, not a number or out of range
+     * @return the number, a fraction truncated towards zero
+     */
+    public int getInt(String name, int defaultValue) {
+        long value = getLong(name, defaultValue);
+        return value < Integer.MIN_VALUE || value > Integer.MAX_VALUE ? defaultValue : (int) value;
+    }
+
+    /**
+     * @param name member name
+     * @param defaultValue value returned when the member is missing or not a number
+     * @return the number
+     */
+    public double getDouble(String name, double defaultValue) {
+        String value = getString(name);
+        if (value == null || value.isEmpty()) {
+            return defaultValue;
+        }
+        double number = parseDouble(value);
+        return Double.isNaN(number) ? defaultValue : number;
+    }
+
+    public boolean getBoolean(String name, boolean defaultValue) {
+        String value = getString(name);
+        return value == null ? defaultValue : Boolean.parseBoolean(value);
+    }
+
+    /**
+     * @param name member name
+     * @return the nested object as a view on the same bytes, or null when not an object
+     */
+    public JsonModel getObject(String name) {
+        int[] member = member(name);
+        if (member == null || peek(member) != JsonTokenizer.Token.BEGIN_OBJECT) {
+            return null;
+        }
+        return new JsonModel(json, member[0], member[1] - member[0]);
+    }
+
+    /**
+     * @param name member name
+     * @return the objects in the array, as views on the same bytes; empty when not an array
+     */
+    public List<JsonModel> getObjects(String name) {
+        List<JsonModel> objects = new ArrayList<JsonModel>();
+        int[] member = member(name);
+        if (member == null || peek(member) != JsonTokenizer.Token.BEGIN_ARRAY) {
+            return objects;
+        }
+        try {
+            JsonTokenizer tokenizer = tokenizer(member);
+            tokenizer.beginArray();
+            while (tokenizer.hasNext()) {
+                if (tokenizer.peek() == JsonTokenizer.Token.BEGIN_OBJECT) {
+                    int start = member[0] + (int) tokenizer.peekValuePosition();
+                    tokenizer.skipValue();
+                    objects.add(new JsonModel(json, start, member[0] + (int) tokenizer.getPosition() - start));
+                } else {
+                    tokenizer.skipValue();
+                }
+            }
+            return objects;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param name member name
+     * @return the strings (and texts of numbers) in the array; empty when not an array
+     */
+    public List<String> getStrings(String name) {
+        int[] member = member(name);
+        if (member == null || peek(member) != JsonTokenizer.Token.BEGIN_ARRAY) {
+            return Collections.emptyList();
+        }
+        List<String> strings = new ArrayList<String>();
+        try {
+            JsonTokenizer tokenizer = tokenizer(member);
+            tokenizer.beginArray();
+            while (tokenizer.hasNext()) {
+                JsonTokenizer.Token token = tokenizer.peek();
+                if (token == JsonTokenizer.Token.STRING || token == JsonTokenizer.Token.NUMBER) {
+                    strings.add(tokenizer.nextString());
+                } else {
+                    tokenizer.skipValue();
+                }
+            }
+            return strings;
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param name member name
+     * @return the JSON of the member value, or null when missing
+     */
+    public String getJson(String name) {
+        int[] member = member(name);
+        return member == null ? null : new String(json, member[0], member[1] - member[0], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return the JSON of this object
+     */
+    public String toJson() {
+        return new String(json, offset, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    /**
+     * @return the start and end of the member value in the array, or null when missing
+     */
+    private int[] member(String name) {
+        Map<String, int[]> index = members;
+        if (index == null) {
+            index = index();
+            members = index;
+        }
+        return index.get(name);
+    }
+
+    private Map<String, int[]> index() {
+        Map<String, int[]> index = new HashMap<String, int[]>();
+        try {
+            JsonTokenizer tokenizer = new JsonTokenizer(json, offset, length);
+            tokenizer.beginObject();
+            while (tokenizer.hasNext()) {
+                String name = tokenizer.nextName();
+                int start = offset + (int) tokenizer.peekValuePosition();
+                tokenizer.skipValue();
+                index.put(name, new int[] {start, offset + (int) tokenizer.getPosition()});
+            }
+            tokenizer.endObject();
+        } catch (IOException e) {
+            // Not thrown when reading from an array
+            throw new IllegalStateException(e);
+        }
+        return index;
+    }
+
+    private JsonTokenizer tokenizer(int[] member) {
+        return new JsonTokenizer(json, member[0], member[1] - member[0]);
+    }
+
+    private JsonTokenizer.Token peek(int[] member) {
+        try {
+            return tokenizer(member).peek();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @return the number, NaN when the value is not a number
+     */
+    private static double parseDouble(String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
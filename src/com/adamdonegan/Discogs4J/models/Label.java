@@ -0,0 +1,65 @@
+package com.adamdonegan.Discogs4J.models;
+
+import java.util.List;
+
+/**
+ * A label, as returned by {@link com.adamdonegan.Discogs4J.client.DiscogsClient#getLabel(String)}.
+ * Also the labels of releases, which have a subset of the fields and a catalog number.
+ */
+public class Label extends JsonModel {
+
+    public Label(byte[] json) {
+        super(json);
+    }
+
+    public Label(byte[] json, int offset, int length) {
+        super(json, offset, length);
+    }
+
+    Label(JsonModel model) {
+        super(model);
+    }
+
+    public long getId() {
+        return getLong("id", 0);
+    }
+
+    public String getName() {
+        return getString("name");
+    }
+
+    public String getProfile() {
+        return getString("profile");
+    }
+
+    public String getContactInfo() {
+        return getString("contact_info");
+    }
+
+    public String getDataQuality() {
+        return getString("data_quality");
+    }
+
+    public String getUri() {
+        return getString("uri");
+    }
+
+    public String getResourceUrl() {
+        return getString("resource_url");
+    }
+
+    public String getReleasesUrl() {
+        return getString("releases_url");
+    }
+
+    public List<String> getUrls() {
+        return getStrings("urls");
+    }
+
+    /**
+     * @return the catalog number, for the labels of a release
+     */
+    public String getCatalogNumber() {
+        return getString("catno");
+    }
+}
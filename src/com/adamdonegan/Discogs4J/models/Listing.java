@@ -0,0 +1,81 @@
+package com.adamdonegan.Discogs4J.models;
+
+/**
+ * A marketplace listing, as returned by {@link com.adamdonegan.Discogs4J.client.DiscogsClient#getListing(String)}
+ * and streamed by {@link com.adamdonegan.Discogs4J.client.DiscogsClient#getListings(String, java.util.Map)}
+ */
+public class Listing extends JsonModel {
+
+    public Listing(byte[] json) {
+        super(json);
+    }
+
+    public Listing(byte[] json, int offset, int length) {
+        super(json, offset, length);
+    }
+
+    Listing(JsonModel model) {
+        super(model);
+    }
+
+    public long getId() {
+        return getLong("id", 0);
+    }
+
+    public String getStatus() {
+        return getString("status");
+    }
+
+    public String getCondition() {
+        return getString("condition");
+    }
+
+    public String getSleeveCondition() {
+        return getString("sleeve_condition");
+    }
+
+    public String getComments() {
+        return getString("comments");
+    }
+
+    public String getPosted() {
+        return getString("posted");
+    }
+
+    public boolean isAllowOffers() {
+        return getBoolean("allow_offers", false);
+    }
+
+    public String getShipsFrom() {
+        return getString("ships_from");
+    }
+
+    /**
+     * @return the price value, in {@link #getCurrency()}
+     */
+    public double getPrice() {
+        JsonModel price = getObject("price");
+        return price != null ? price.getDouble("value", 0) : 0;
+    }
+
+    public String getCurrency() {
+        JsonModel price = getObject("price");
+        return price != null ? price.getString("currency") : null;
+    }
+
+    public String getUri() {
+        return getString("uri");
+    }
+
+    public String getResourceUrl() {
+        return getString("resource_url");
+    }
+
+    /**
+     * @return the id, title, year and other basic fields of the release on offer
+     */
+    public Release getRelease() {
+        JsonModel model = getObject("release");
+        return model != null ? new Release(model) : null;
+    }
+}
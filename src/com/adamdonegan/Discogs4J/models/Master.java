@@ -0,0 +1,80 @@
+package com.adamdonegan.Discogs4J.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A master release, as returned by {@link com.adamdonegan.Discogs4J.client.DiscogsClient#getMaster(String)}
+ */
+public class Master extends JsonModel {
+
+    public Master(byte[] json) {
+        super(json);
+    }
+
+    public Master(byte[] json, int offset, int length) {
+        super(json, offset, length);
+    }
+
+    Master(JsonModel model) {
+        super(model);
+    }
+
+    public long getId() {
+        return getLong("id", 0);
+    }
+
+    public String getTitle() {
+        return getString("title");
+    }
+
+    public int getYear() {
+        return getInt("year", 0);
+    }
+
+    /**
+     * @return the id of the main release
+     */
+    public long getMainRelease() {
+        return getLong("main_release", 0);
+    }
+
+    public String getMainReleaseUrl() {
+        return getString("main_release_url");
+    }
+
+    public String getVersionsUrl() {
+        return getString("versions_url");
+    }
+
+    public String getDataQuality() {
+        return getString("data_quality");
+    }
+
+    public String getUri() {
+        return getString("uri");
+    }
+
+    public String getResourceUrl() {
+        return getString("resource_url");
+    }
+
+    public List<String> getGenres() {
+        return getStrings("genres");
+    }
+
+    public List<String> getStyles() {
+        return getStrings("styles");
+    }
+
+    /**
+     * @return the credited artists, with their name, id and resource URL
+     */
+    public List<Artist> getArtists() {
+        List<Artist> list = new ArrayList<Artist>();
+        for (JsonModel model : getObjects("artists")) {
+            list.add(new Artist(model));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,111 @@
+package com.adamdonegan.Discogs4J.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A release, as returned by {@link com.adamdonegan.Discogs4J.client.DiscogsClient#getRelease(String)}.
+ * Also the 'basic_information' of collection items and wants, and the release of a listing,
+ * which have a subset of the fields.
+ */
+public class Release extends JsonModel {
+
+    public Release(byte[] json) {
+        super(json);
+    }
+
+    public Release(byte[] json, int offset, int length) {
+        super(json, offset, length);
+    }
+
+    Release(JsonModel model) {
+        super(model);
+    }
+
+    public long getId() {
+        return getLong("id", 0);
+    }
+
+    public String getTitle() {
+        return getString("title");
+    }
+
+    /**
+     * @return the year of release, or 0 if unknown
+     */
+    public int getYear() {
+        return getInt("year", 0);
+    }
+
+    public String getCountry() {
+        return getString("country");
+    }
+
+    /**
+     * @return the release date, for example "1987-07-00"
+     */
+    public String getReleased() {
+        return getString("released");
+    }
+
+    public String getNotes() {
+        return getString("notes");
+    }
+
+    public String getStatus() {
+        return getString("status");
+    }
+
+    public String getDataQuality() {
+        return getString("data_quality");
+    }
+
+    /**
+     * @return the id of the master release, or 0 if none
+     */
+    public long getMasterId() {
+        return getLong("master_id", 0);
+    }
+
+    public String getThumb() {
+        return getString("thumb");
+    }
+
+    public String getUri() {
+        return getString("uri");
+    }
+
+    public String getResourceUrl() {
+        return getString("resource_url");
+    }
+
+    public List<String> getGenres() {
+        return getStrings("genres");
+    }
+
+    public List<String> getStyles() {
+        return getStrings("styles");
+    }
+
+    /**
+     * @return the credited artists, with their name, id and resource URL
+     */
+    public List<Artist> getArtists() {
+        List<Artist> list = new ArrayList<Artist>();
+        for (JsonModel model : getObjects("artists")) {
+            list.add(new Artist(model));
+        }
+        return list;
+    }
+
+    /**
+     * @return the labels, with their name, catalog number, id and resource URL
+     */
+    public List<Label> getLabels() {
+        List<Label> list = new ArrayList<Label>();
+        for (JsonModel model : getObjects("labels")) {
+            list.add(new Label(model));
+        }
+        return list;
+    }
+}
@@ -0,0 +1,28 @@
+package com.adamdonegan.Discogs4J.models;
+
+/**
+ * How OAuth requests are signed
+ */
+public enum SignatureMethod {
+    /**
+     * The secrets are sent as the signature, relying on HTTPS to protect them
+     */
+    PLAINTEXT("PLAINTEXT"),
+    /**
+     * Each request is signed with HMAC-SHA1 over its method, URL, query and OAuth parameters
+     */
+    HMAC_SHA1("HMAC-SHA1");
+
+    private final String value;
+
+    SignatureMethod(String value) {
+        this.value = value;
+    }
+
+    /**
+     * @return the value of the oauth_signature_method parameter
+     */
+    public String getValue() {
+        return value;
+    }
+}
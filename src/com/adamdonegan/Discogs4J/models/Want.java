@@ -0,0 +1,51 @@
+package com.adamdonegan.Discogs4J.models;
+
+/**
+ * A release in a wantlist, as streamed by
+ * {@link com.adamdonegan.Discogs4J.client.DiscogsClient#getWants(String, java.util.Map)}
+ */
+public class Want extends JsonModel {
+
+    public Want(byte[] json) {
+        super(json);
+    }
+
+    public Want(byte[] json, int offset, int length) {
+        super(json, offset, length);
+    }
+
+    Want(JsonModel model) {
+        super(model);
+    }
+
+    /**
+     * @return the release id
+     */
+    public long getId() {
+        return getLong("id", 0);
+    }
+
+    public int getRating() {
+        return getInt("rating", 0);
+    }
+
+    public String getNotes() {
+        return getString("notes");
+    }
+
+    public String getDateAdded() {
+        return getString("date_added");
+    }
+
+    public String getResourceUrl() {
+        return getString("resource_url");
+    }
+
+    /**
+     * @return the title, year, artists, labels and other basic fields of the release
+     */
+    public Release getBasicInformation() {
+        JsonModel model = getObject("basic_information");
+        return model != null ? new Release(model) : null;
+    }
+}
@@ -0,0 +1,379 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Connection settings of a single transport: the maximum number of connections in use, keep-alive
+ * and the proxy, with the occupancy observable at runtime. Unlike the JVM wide 'http.*' system
+ * properties set by {@link com.adamdonegan.Discogs4J.util.HttpRequest#maxConnections(int)} and
+ * friends, two transports in the same JVM can be configured differently.
+ * <p>
+ * A connection is in use from the moment its request is sent until its response is read or closed.
+ * When all connections are in use, further requests wait for one to be released, in arrival order.
+ * <p>
+ * With {@link HttpRequestTransport}, a connection idle for longer than the
+ * {@link Builder#keepAliveDuration(Duration) keep-alive duration} is closed the next time the pool is
+ * used, or by {@link #evictIdleConnections()}. The JVM still closes idle connections after its own
+ * 'http.keepAlive.time.server' (or the timeout the server announces), so only a shorter duration
+ * should be set, and the number of idle connections kept for reuse remains 'http.maxConnections'. {@code java.net.http.HttpClient} gives no
+ * access to its connections: its keep-alive is the JVM wide 'jdk.httpclient.keepalive.timeout'.
+ * <p>
+ * The settings are fixed when the pool is created, see {@link #builder()}, so a transport may read
+ * them once, as {@code HttpClientTransport} does for the proxy of its client.
+ */
+public class ConnectionPool {
+
+    private final int maxConnections;
+    private final Semaphore permits;
+
+    private final boolean keepAlive;
+    private final long keepAliveNanos;
+    private final String proxyHost;
+    private final int proxyPort;
+
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger peakActive = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong waited = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    /**
+     * Connections released for reuse, the longest idle first
+     */
+    private final Deque<Lease> idle = new ArrayDeque<Lease>();
+
+    /**
+     * Create a pool without a limit on the number of connections in use
+     */
+    public ConnectionPool() {
+        this(0);
+    }
+
+    /**
+     * @param maxConnections the maximum number of connections in use at the same time, 0 for no limit
+     */
+    public ConnectionPool(int maxConnections) {
+        this(builder().maxConnections(maxConnections));
+    }
+
+    private ConnectionPool(Builder builder) {
+        this.maxConnections = builder.maxConnections;
+        this.permits = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        this.keepAlive = builder.keepAlive;
+        this.keepAliveNanos = builder.keepAliveNanos;
+        this.proxyHost = builder.proxyHost;
+        this.proxyPort = builder.proxyPort;
+    }
+
+    /**
+     * @return a builder for a pool without a limit on the number of connections, with keep-alive and without a proxy
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public boolean isKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * @return how long a connection is kept for reuse once idle, {@link Duration#ZERO} when only the JVM decides
+     */
+    public Duration getKeepAliveDuration() {
+        return Duration.ofNanos(keepAliveNanos);
+    }
+
+    public String getProxyHost() {
+        return proxyHost;
+    }
+
+    public int getProxyPort() {
+        return proxyPort;
+    }
+
+    /**
+     * @return the number of connections in use now
+     */
+    public int getActiveConnections() {
+        return active.get();
+    }
+
+    /**
+     * @return the highest number of connections in use at the same time
+     */
+    public int getPeakActiveConnections() {
+        return peakActive.get();
+    }
+
+    /**
+     * @return an estimate of the number of requests waiting for a connection now
+     */
+    public int getWaitingRequests() {
+        return permits != null ? permits.getQueueLength() : 0;
+    }
+
+    /**
+     * @return the total number of connections used
+     */
+    public long getAcquiredCount() {
+        return acquired.get();
+    }
+
+    /**
+     * @return the number of requests that had to wait for a connection
+     */
+    public long getWaitedCount() {
+        return waited.get();
+    }
+
+    /**
+     * @return the number of connections released for reuse and not evicted yet
+     */
+    public int getIdleConnections() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    /**
+     * @return the number of idle connections closed for exceeding the keep-alive duration
+     */
+    public long getEvictedCount() {
+        return evicted.get();
+    }
+
+    /**
+     * Close the connections idle for longer than the keep-alive duration now, rather than the next time
+     * the pool is used
+     */
+    public void evictIdleConnections() {
+        if (keepAliveNanos == 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        List<Lease> expired = new ArrayList<Lease>();
+        synchronized (idle) {
+            while (!idle.isEmpty() && now - idle.peekFirst().idleSince > keepAliveNanos) {
+                expired.add(idle.removeFirst());
+            }
+        }
+        for (Lease lease : expired) {
+            evicted.incrementAndGet();
+            lease.evict();
+        }
+    }
+
+    /**
+     * Take a connection, waiting for one to be released when all are in use
+     *
+     * @return the connection in use, to release once the response is read or closed
+     * @throws HttpRequestException when interrupted while waiting
+     */
+    Lease acquire() throws HttpRequestException {
+        return acquire(null);
+    }
+
+    /**
+     * Take a connection to a route, waiting for one to be released when all are in use.
+     * <p>
+     * The route identifies the connections the JVM may reuse for the request; the most recently
+     * idle one to the route is taken to be reused, so that only connections left idle are evicted.
+     *
+     * @param route scheme, host and port of the request, null when connections are not tracked
+     * @return the connection in use, to release once the response is read or closed
+     * @throws HttpRequestException when interrupted while waiting
+     */
+    Lease acquire(String route) throws HttpRequestException {
+        evictIdleConnections();
+        if (permits != null && !permits.tryAcquire()) {
+            waited.incrementAndGet();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new HttpRequestException(new InterruptedIOException("Interrupted while waiting for a connection"));
+            }
+        }
+        acquired.incrementAndGet();
+        peakActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+        if (route != null && keepAliveNanos > 0) {
+            synchronized (idle) {
+                Iterator<Lease> reused = idle.descendingIterator();
+                while (reused.hasNext()) {
+                    if (route.equals(reused.next().route)) {
+                        reused.remove();
+                        break;
+                    }
+                }
+            }
+        }
+        return new Lease(route);
+    }
+
+    /**
+     * Configures a {@link ConnectionPool}, whose settings never change once built
+     */
+    public static class Builder {
+
+        private int maxConnections;
+        private boolean keepAlive = true;
+        private long keepAliveNanos;
+        private String proxyHost;
+        private int proxyPort;
+
+        private Builder() {
+        }
+
+        /**
+         * @param maxConnections the maximum number of connections in use at the same time, 0 for no limit (the default)
+         * @return this builder
+         */
+        public Builder maxConnections(int maxConnections) {
+            if (maxConnections < 0) {
+                throw new IllegalArgumentException("maxConnections must not be negative");
+            }
+            this.maxConnections = maxConnections;
+            return this;
+        }
+
+        /**
+         * @param keepAlive false to close each connection after its response instead of keeping it for reuse; default true
+         * @return this builder
+         */
+        public Builder keepAlive(boolean keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        /**
+         * @param keepAliveDuration how long a connection of an {@link HttpRequestTransport} is kept for reuse once idle,
+         * {@link Duration#ZERO} to leave it to the JVM (the default)
+         * @return this builder
+         */
+        public Builder keepAliveDuration(Duration keepAliveDuration) {
+            if (keepAliveDuration.isNegative()) {
+                throw new IllegalArgumentException("keepAliveDuration must not be negative");
+            }
+            this.keepAliveNanos = keepAliveDuration.toNanos();
+            return this;
+        }
+
+        /**
+         * @param host the HTTP proxy to connect through, null to connect directly
+         * @param port the port of the proxy
+         * @return this builder
+         */
+        public Builder proxy(String host, int port) {
+            this.proxyHost = host;
+            this.proxyPort = port;
+            return this;
+        }
+
+        /**
+         * @return a new pool with this configuration
+         */
+        public ConnectionPool build() {
+            return new ConnectionPool(this);
+        }
+    }
+
+    /**
+     * A connection in use, released at most once
+     */
+    final class Lease {
+
+        private final String route;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private volatile Runnable close;
+        private long idleSince;
+
+        private Lease(String route) {
+            this.route = route;
+        }
+
+        /**
+         * @param close closes the connection once it has been idle for longer than the keep-alive duration;
+         * without it the connection is not tracked once released
+         */
+        void closeWhenIdle(Runnable close) {
+            this.close = close;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                active.decrementAndGet();
+                if (permits != null) {
+                    permits.release();
+                }
+                if (close != null && route != null && keepAlive && keepAliveNanos > 0) {
+                    synchronized (idle) {
+                        idleSince = System.nanoTime();
+                        idle.addLast(this);
+                    }
+                }
+            }
+        }
+
+        private void evict() {
+            try {
+                close.run();
+            } catch (RuntimeException e) {
+                // Ignored, the connection is closed or unusable either way
+            }
+        }
+
+        /**
+         * @param stream response body stream
+         * @return stream releasing this connection when closed or read to the end
+         */
+        InputStream releaseOnEnd(InputStream stream) {
+            return new FilterInputStream(stream) {
+                @Override
+                public int read() throws IOException {
+                    int b = super.read();
+                    if (b < 0) {
+                        release();
+                    }
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int read = super.read(buffer, offset, length);
+                    if (read < 0) {
+                        release();
+                    }
+                    return read;
+                }
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        release();
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.adamdonegan.Discogs4J.transport;
+
+/**
+ * Creates the {@link Transport} backed by {@code java.net.http.HttpClient}, negotiating HTTP/2 and
+ * multiplexing concurrent requests over a shared connection.
+ * <p>
+ * This is the Java 8 variant of the class: the implementation is shipped in the multi-release
+ * section of the jar and is only available when running on Java 11 or later from the jar.
+ * Both variants have the same public members; use {@link #isSupported()} before creating a transport.
+ */
+public final class HttpClientTransport {
+
+    private HttpClientTransport() {
+    }
+
+    /**
+     * @return true when running on Java 11 or later, from the multi-release jar
+     */
+    public static boolean isSupported() {
+        return false;
+    }
+
+    /**
+     * Create a transport using a new HTTP/2 preferring client
+     *
+     * @return the transport
+     * @throws UnsupportedOperationException when not running on Java 11 or later
+     */
+    public static Transport create() {
+        throw new UnsupportedOperationException("HttpClientTransport requires Java 11 or later");
+    }
+
+    /**
+     * Create a transport using a new HTTP/2 preferring client, connecting through the proxy of the pool
+     *
+     * @param connectionPool the connection settings of the transport
+     * @return the transport
+     * @throws UnsupportedOperationException when not running on Java 11 or later
+     */
+    public static Transport create(ConnectionPool connectionPool) {
+        throw new UnsupportedOperationException("HttpClientTransport requires Java 11 or later");
+    }
+}
@@ -0,0 +1,204 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import com.adamdonegan.Discogs4J.util.CompressionStats;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Default {@link Transport} executing each request through an {@link HttpRequest},
+ * and so through {@link java.net.HttpURLConnection}. Available on all supported Java versions.
+ * <p>
+ * Response bodies sent with a gzip or deflate Content-Encoding are decompressed.
+ */
+public class HttpRequestTransport implements Transport {
+
+    private final ConnectionPool connectionPool;
+    private final CompressionStats compressionStats = new CompressionStats();
+
+    /**
+     * Create a transport without a limit on the number of connections in use
+     */
+    public HttpRequestTransport() {
+        this(new ConnectionPool());
+    }
+
+    /**
+     * @param connectionPool the connection settings of this transport
+     */
+    public HttpRequestTransport(ConnectionPool connectionPool) {
+        this.connectionPool = connectionPool;
+    }
+
+    @Override
+    public ConnectionPool getConnectionPool() {
+        return connectionPool;
+    }
+
+    @Override
+    public CompressionStats getCompressionStats() {
+        return compressionStats;
+    }
+
+    @Override
+    public TransportResponse execute(TransportRequest request) {
+        ConnectionPool.Lease lease = connectionPool.acquire(route(request.url()));
+        try {
+            HttpRequest httpRequest = new HttpRequest(request.url(), request.method())
+                    .uncompress(true)
+                    .compressionStats(compressionStats)
+                    .maxInMemorySize(request.maxInMemorySize());
+            useProxy(httpRequest);
+            if (request.connectTimeout() > 0) {
+                httpRequest.connectTimeout(request.connectTimeout());
+            }
+            if (request.readTimeout() > 0) {
+                httpRequest.readTimeout(request.readTimeout());
+            }
+            for (Map.Entry<String, String> header : request.headers().entrySet()) {
+                httpRequest.header(header);
+            }
+            if (!connectionPool.isKeepAlive()) {
+                httpRequest.header("Connection", "close");
+            }
+            if (request.body() != null) {
+                Writer writer = httpRequest.writer();
+                try {
+                    request.body().writeTo(writer);
+                    // Flushed but not closed, the request closes its output once the response is read
+                    writer.flush();
+                } catch (IOException e) {
+                    throw new HttpRequestException(e);
+                }
+            }
+            // Send the request now, so a connection failure releases the connection here
+            httpRequest.code();
+            lease.closeWhenIdle(() -> closeIdleConnection(request.url(), request.connectTimeout()));
+            return new HttpRequestResponse(httpRequest, lease);
+        } catch (RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+    }
+
+    /**
+     * The proxy must be set before the connection is created by the first header
+     */
+    private void useProxy(HttpRequest request) {
+        String proxyHost = connectionPool.getProxyHost();
+        if (proxyHost != null) {
+            request.useProxy(proxyHost, connectionPool.getProxyPort());
+        }
+    }
+
+    /**
+     * Close a connection to the route of a URL kept alive by the JVM. Once its body is closed, a request no
+     * longer holds its connection, so disconnecting it has no effect; a connection opened without sending
+     * a request takes the idle connection from the JVM keep-alive cache instead, and disconnecting it
+     * closes that connection. When the JVM already closed it, a new connection is opened and closed.
+     */
+    private void closeIdleConnection(String url, int connectTimeout) {
+        HttpRequest idle = new HttpRequest(url, HttpRequest.METHOD_GET);
+        useProxy(idle);
+        if (connectTimeout > 0) {
+            idle.connectTimeout(connectTimeout);
+        }
+        try {
+            idle.getConnection().connect();
+        } catch (IOException e) {
+            // Ignored, there is no connection left to close
+        } finally {
+            idle.disconnect();
+        }
+    }
+
+    /**
+     * @return the key of the JVM keep-alive cache for the URL, null if it is not a valid URL
+     */
+    private static String route(String url) {
+        try {
+            URL parsed = new URL(url);
+            return parsed.getProtocol() + "://" + parsed.getHost() + ':'
+                    + (parsed.getPort() != -1 ? parsed.getPort() : parsed.getDefaultPort());
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    private static class HttpRequestResponse implements TransportResponse {
+
+        private final HttpRequest request;
+        private final ConnectionPool.Lease lease;
+        private InputStream stream;
+
+        private HttpRequestResponse(HttpRequest request, ConnectionPool.Lease lease) {
+            this.request = request;
+            this.lease = lease;
+        }
+
+        @Override
+        public int code() {
+            return request.code();
+        }
+
+        @Override
+        public String header(String name) {
+            return request.header(name);
+        }
+
+        @Override
+        public InputStream stream() {
+            if (stream == null) {
+                stream = lease.releaseOnEnd(request.stream());
+            }
+            return stream;
+        }
+
+        @Override
+        public byte[] bytes() {
+            try {
+                return request.bytes();
+            } finally {
+                lease.release();
+            }
+        }
+
+        @Override
+        public String body() {
+            try {
+                return request.body();
+            } finally {
+                lease.release();
+            }
+        }
+
+        @Override
+        public ByteBuffer byteBuffer() {
+            try {
+                return request.byteBuffer();
+            } finally {
+                lease.release();
+            }
+        }
+
+        @Override
+        public void close() {
+            // Closing (rather than disconnecting) keeps the connection eligible for keep-alive reuse;
+            // a body not opened yet is closed as received, without starting to decompress it
+            try {
+                (stream != null ? stream : request.uncompress(false).stream()).close();
+            } catch (HttpRequestException | IOException e) {
+                // Ignored, the body was already consumed or never available
+            } finally {
+                lease.release();
+            }
+        }
+    }
+}
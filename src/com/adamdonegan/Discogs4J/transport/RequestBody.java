@@ -0,0 +1,44 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import com.adamdonegan.Discogs4J.util.JsonWriter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+
+/**
+ * Content of a request, written straight to the connection by the {@link Transport}.
+ * <p>
+ * A body must be replayable: a retried request writes it again.
+ */
+public interface RequestBody {
+
+    /**
+     * Write the content, encoded with the charset of the request content type
+     *
+     * @param writer the writer to write the content to
+     * @throws IOException when writing fails
+     */
+    void writeTo(Writer writer) throws IOException;
+
+    /**
+     * @param content the content
+     * @return body writing the given content
+     */
+    static RequestBody of(String content) {
+        return writer -> writer.write(content);
+    }
+
+    /**
+     * @param value value written with {@link JsonWriter#value(Object)}, for example a map of
+     * the fields of an object; null or an empty map writes no content at all
+     * @return body writing the value as JSON
+     */
+    static RequestBody json(Object value) {
+        return writer -> {
+            if (value != null && !(value instanceof Map && ((Map<?, ?>) value).isEmpty())) {
+                JsonWriter.write(writer, value);
+            }
+        };
+    }
+}
@@ -0,0 +1,38 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import com.adamdonegan.Discogs4J.util.CompressionStats;
+
+/**
+ * Executes {@link TransportRequest requests} built by the
+ * {@link com.adamdonegan.Discogs4J.client.DiscogsClient DiscogsClient}.
+ * <p>
+ * Implementations must be safe for use by multiple threads.
+ *
+ * @see HttpRequestTransport
+ * @see HttpClientTransport
+ */
+public interface Transport {
+
+    /**
+     * Execute the given request
+     *
+     * @param request the request to send
+     * @return the response, the caller is responsible for closing it
+     * @throws com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException on I/O failure
+     */
+    TransportResponse execute(TransportRequest request);
+
+    /**
+     * @return the connection settings of this transport, null when it has none
+     */
+    default ConnectionPool getConnectionPool() {
+        return null;
+    }
+
+    /**
+     * @return the bytes read and saved by compression over all responses of this transport, null when not counted
+     */
+    default CompressionStats getCompressionStats() {
+        return null;
+    }
+}
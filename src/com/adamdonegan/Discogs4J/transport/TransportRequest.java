@@ -0,0 +1,143 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Description of a single request to be executed by a {@link Transport}.
+ * <p>
+ * The URL is expected to be final: query parameters appended and encoded.
+ */
+public class TransportRequest {
+
+    private final String method;
+    private final String url;
+    private final Map<String, String> headers = new LinkedHashMap<String, String>();
+
+    private RequestBody body;
+    private int connectTimeout = 0;
+    private int readTimeout = 0;
+    private long maxInMemorySize = 0;
+
+    /**
+     * @param method HTTP request method (e.g., "GET", "POST")
+     * @param url final request URL
+     */
+    public TransportRequest(String method, String url) {
+        this.method = method;
+        this.url = url;
+    }
+
+    /**
+     * Set a request header, replacing any previous value
+     *
+     * @param name header name
+     * @param value header value
+     * @return this request
+     */
+    public TransportRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    public TransportRequest authorization(String authorization) {
+        return header(HttpRequest.HEADER_AUTHORIZATION, authorization);
+    }
+
+    public TransportRequest userAgent(String userAgent) {
+        return header(HttpRequest.HEADER_USER_AGENT, userAgent);
+    }
+
+    public TransportRequest contentType(String contentType) {
+        return header(HttpRequest.HEADER_CONTENT_TYPE, contentType);
+    }
+
+    /**
+     * Set the request body, a null body sends no content at all
+     *
+     * @param body request body
+     * @return this request
+     */
+    public TransportRequest send(RequestBody body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Set the request body, a null body sends no content at all
+     *
+     * @param body request body
+     * @return this request
+     */
+    public TransportRequest send(String body) {
+        return send(body != null ? RequestBody.of(body) : null);
+    }
+
+    /**
+     * @param connectTimeout connect timeout in milliseconds, 0 for the transport default
+     * @return this request
+     */
+    public TransportRequest connectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * @param readTimeout read timeout in milliseconds, 0 for the transport default
+     * @return this request
+     */
+    public TransportRequest readTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    /**
+     * @param maxInMemorySize the largest response body read into memory by {@link TransportResponse#bytes()}
+     * and {@link TransportResponse#body()}, 0 for no limit; see {@link TransportResponse#byteBuffer()}
+     * @return this request
+     */
+    public TransportRequest maxInMemorySize(long maxInMemorySize) {
+        this.maxInMemorySize = maxInMemorySize;
+        return this;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    public String url() {
+        return url;
+    }
+
+    public String header(String name) {
+        return headers.get(name);
+    }
+
+    public Map<String, String> headers() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public RequestBody body() {
+        return body;
+    }
+
+    public int connectTimeout() {
+        return connectTimeout;
+    }
+
+    public int readTimeout() {
+        return readTimeout;
+    }
+
+    public long maxInMemorySize() {
+        return maxInMemorySize;
+    }
+
+    @Override
+    public String toString() {
+        return method + ' ' + url;
+    }
+}
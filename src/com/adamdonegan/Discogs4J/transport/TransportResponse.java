@@ -0,0 +1,60 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Response to a {@link TransportRequest}.
+ * <p>
+ * The body can be consumed once, either through {@link #stream()},
+ * {@link #bytes()}, {@link #body()} or {@link #byteBuffer()}. {@link #bytes()}
+ * and {@link #body()} fail with an {@link com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException}
+ * for a body larger than {@link TransportRequest#maxInMemorySize(long)}, a hard
+ * cap for them; {@link #byteBuffer()} spills such a body to disk instead.
+ */
+public interface TransportResponse extends Closeable {
+
+    /**
+     * @return the HTTP status code
+     */
+    int code();
+
+    /**
+     * @param name header name
+     * @return the first value of the response header, or null if absent
+     */
+    String header(String name);
+
+    /**
+     * @return stream to the (uncompressed) response body
+     */
+    InputStream stream();
+
+    /**
+     * @return the response body as a byte array
+     */
+    byte[] bytes();
+
+    /**
+     * @return the response body decoded with the charset of the Content-Type header, UTF-8 if absent
+     */
+    String body();
+
+    /**
+     * A body larger than {@link TransportRequest#maxInMemorySize(long)} is spilled to a temporary
+     * file and mapped rather than read onto the heap. The default implementation reads the body
+     * into memory whatever its size.
+     *
+     * @return a read-only view of the response body
+     */
+    default ByteBuffer byteBuffer() {
+        return ByteBuffer.wrap(bytes()).asReadOnlyBuffer();
+    }
+
+    /**
+     * Release the resources held by this response without throwing
+     */
+    @Override
+    void close();
+}
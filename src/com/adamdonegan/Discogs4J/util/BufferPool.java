@@ -0,0 +1,66 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A small lock-free pool of byte arrays for reading response bodies.
+ * <p>
+ * Arrays are kept in a fixed number of slots shared by all threads, so the pool also serves
+ * virtual threads, which would each start with an empty thread-local. Taking or returning an
+ * array is a single atomic swap on a slot; when no slot holds an array, or none is free to
+ * return one to, a new array is allocated or the returned one is left to the garbage collector.
+ * Arrays larger than {@link #MAX_POOLED_SIZE} are never kept, which bounds the memory retained
+ * by the pool to a few megabytes.
+ */
+public final class BufferPool {
+
+    /**
+     * The largest array kept for reuse, in bytes
+     */
+    public static final int MAX_POOLED_SIZE = 512 * 1024;
+
+    private static final AtomicReferenceArray<byte[]> SLOTS =
+            new AtomicReferenceArray<byte[]>(Math.max(4, 2 * Runtime.getRuntime().availableProcessors()));
+
+    private BufferPool() {
+    }
+
+    /**
+     * @param minimumSize the minimum length of the array
+     * @return a pooled or new array of at least the given length, with undefined contents
+     */
+    public static byte[] acquire(int minimumSize) {
+        int slots = SLOTS.length();
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            int slot = (start + i) % slots;
+            if (SLOTS.get(slot) != null) {
+                byte[] buffer = SLOTS.getAndSet(slot, null);
+                if (buffer != null && buffer.length >= minimumSize) {
+                    return buffer;
+                }
+                // Too small for this request, a larger one takes its place on release
+            }
+        }
+        return new byte[minimumSize];
+    }
+
+    /**
+     * Return an array for reuse; it must no longer be used by the caller
+     *
+     * @param buffer array from {@link #acquire(int)}, may be null
+     */
+    public static void release(byte[] buffer) {
+        if (buffer == null || buffer.length > MAX_POOLED_SIZE) {
+            return;
+        }
+        int slots = SLOTS.length();
+        int start = ThreadLocalRandom.current().nextInt(slots);
+        for (int i = 0; i < slots; i++) {
+            if (SLOTS.compareAndSet((start + i) % slots, null, buffer)) {
+                return;
+            }
+        }
+    }
+}
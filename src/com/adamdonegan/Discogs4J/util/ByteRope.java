@@ -0,0 +1,251 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bytes held in a list of chunks from the {@link BufferPool}, for reading a stream of unknown length.
+ * <p>
+ * A full chunk is never copied or resized, the next bytes go to a new chunk, so reading a body
+ * of any length copies each byte once. The bytes are then decoded chunk by chunk into a String,
+ * read back through {@link #inputStream()} by a parser, or copied once into an exactly sized array.
+ * Call {@link #release()} once done to return the chunks to the pool.
+ */
+public final class ByteRope {
+
+    /**
+     * Size of the chunks added once the first one is full
+     */
+    public static final int CHUNK_SIZE = 16 * 1024;
+
+    private final List<byte[]> chunks = new ArrayList<byte[]>();
+    private byte[] last;
+    private int lastLength;
+    private long length;
+
+    /**
+     * @param firstChunkSize size of the first chunk, for example the expected length when known
+     */
+    public ByteRope(int firstChunkSize) {
+        last = BufferPool.acquire(firstChunkSize > 0 ? firstChunkSize : CHUNK_SIZE);
+        chunks.add(last);
+    }
+
+    /**
+     * Read the stream to its end, without closing it
+     *
+     * @param input stream to read
+     * @param listener called with the number of bytes after each read, may be null
+     * @return this rope
+     * @throws IOException
+     */
+    public ByteRope readFrom(InputStream input, ReadListener listener) throws IOException {
+        readAtMost(input, Long.MAX_VALUE, listener);
+        return this;
+    }
+
+    /**
+     * Read the stream to its end, without closing it, unless it holds more than the limit
+     *
+     * @param input stream to read
+     * @param limit the most bytes to hold
+     * @param listener called with the number of bytes after each read, may be null
+     * @return true when the end of the stream was reached, false when more than the limit
+     * was read, the rope then holding at least the first bytes of the stream
+     * @throws IOException
+     */
+    public boolean readAtMost(InputStream input, long limit, ReadListener listener) throws IOException {
+        while (true) {
+            if (length > limit) {
+                return false;
+            }
+            if (lastLength == last.length) {
+                // Probe for the end first, an exactly sized first chunk then needs no second one
+                int read = input.read();
+                if (read == -1) {
+                    return true;
+                }
+                last = BufferPool.acquire(CHUNK_SIZE);
+                lastLength = 0;
+                chunks.add(last);
+                last[lastLength++] = (byte) read;
+                length++;
+                if (listener != null) {
+                    listener.onRead(1);
+                }
+            }
+            int read = input.read(last, lastLength, last.length - lastLength);
+            if (read == -1) {
+                return true;
+            }
+            lastLength += read;
+            length += read;
+            if (listener != null) {
+                listener.onRead(read);
+            }
+        }
+    }
+
+    /**
+     * @return the number of bytes held
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return a copy of the bytes held
+     * @throws IllegalStateException when longer than an array can be
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[checkedLength()];
+        int offset = 0;
+        for (int i = 0; i < chunks.size(); i++) {
+            int chunkLength = chunkLength(i);
+            System.arraycopy(chunks.get(i), 0, bytes, offset, chunkLength);
+            offset += chunkLength;
+        }
+        return bytes;
+    }
+
+    /**
+     * Write the bytes held to the output, without closing it
+     *
+     * @param output stream to write to
+     * @throws IOException
+     */
+    public void writeTo(OutputStream output) throws IOException {
+        for (int i = 0; i < chunks.size(); i++) {
+            output.write(chunks.get(i), 0, chunkLength(i));
+        }
+    }
+
+    /**
+     * Decode the bytes held, replacing malformed and unmappable input like {@link String#String(byte[], Charset)}
+     *
+     * @param charset character set of the bytes
+     * @return the decoded string
+     */
+    public String toString(Charset charset) {
+        if (chunks.size() == 1) {
+            return new String(last, 0, lastLength, charset);
+        }
+        CharsetDecoder decoder = TextDecoder.decoder(charset);
+        CharBuffer chars = CharBuffer.allocate((int) Math.min(Integer.MAX_VALUE - 8, (long) Math.ceil(length * (double) decoder.maxCharsPerByte())));
+        decode(decoder, chars);
+        return new String(chars.array(), 0, chars.position());
+    }
+
+    /**
+     * Decode the bytes held into a buffer large enough for all of them, a character split over
+     * two chunks included
+     */
+    private void decode(CharsetDecoder decoder, CharBuffer chars) {
+        ByteBuffer carry = ByteBuffer.allocate(32);
+        for (int i = 0; i < chunks.size(); i++) {
+            ByteBuffer bytes = ByteBuffer.wrap(chunks.get(i), 0, chunkLength(i));
+            // Complete a character started at the end of the previous chunk, byte by byte
+            while (carry.position() > 0 && bytes.hasRemaining() && carry.hasRemaining()) {
+                carry.put(bytes.get());
+                carry.flip();
+                check(decoder.decode(carry, chars, false));
+                carry.compact();
+            }
+            check(decoder.decode(bytes, chars, false));
+            if (bytes.remaining() > carry.remaining()) {
+                throw new IllegalStateException("Undecodable sequence of " + bytes.remaining() + " bytes");
+            }
+            carry.put(bytes);
+        }
+        carry.flip();
+        check(decoder.decode(carry, chars, true));
+        check(decoder.flush(chars));
+    }
+
+    private static void check(CoderResult result) {
+        if (result.isOverflow()) {
+            throw new IllegalStateException("Character buffer too small");
+        }
+    }
+
+    /**
+     * @return a stream reading the bytes held, without copying them; valid until {@link #release()}
+     */
+    public InputStream inputStream() {
+        return new InputStream() {
+
+            private int chunk;
+            private int position;
+
+            @Override
+            public int read() {
+                return next() ? chunks.get(chunk)[position++] & 0xFF : -1;
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int count) {
+                if (count == 0) {
+                    return 0;
+                }
+                if (!next()) {
+                    return -1;
+                }
+                int read = Math.min(count, chunkLength(chunk) - position);
+                System.arraycopy(chunks.get(chunk), position, buffer, offset, read);
+                position += read;
+                return read;
+            }
+
+            /**
+             * @return true when positioned on a byte to read, moving to the next chunk if needed
+             */
+            private boolean next() {
+                while (chunk < chunks.size() && position == chunkLength(chunk)) {
+                    chunk++;
+                    position = 0;
+                }
+                return chunk < chunks.size();
+            }
+        };
+    }
+
+    /**
+     * Return the chunks to the pool; the rope must no longer be used
+     */
+    public void release() {
+        for (byte[] chunk : chunks) {
+            BufferPool.release(chunk);
+        }
+        chunks.clear();
+        last = null;
+        lastLength = 0;
+        length = 0;
+    }
+
+    private int chunkLength(int index) {
+        return index == chunks.size() - 1 ? lastLength : chunks.get(index).length;
+    }
+
+    private int checkedLength() {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too large for an array: " + length + " bytes");
+        }
+        return (int) length;
+    }
+
+    /**
+     * Receives the number of bytes read, for progress reporting
+     */
+    public interface ReadListener {
+
+        void onRead(int count);
+    }
+}
@@ -0,0 +1,86 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the response bytes read off the wire and the bytes they decompressed to, to measure
+ * what compression saves. Bytes are counted as they are read, so a body that is not read is not
+ * counted; a single instance may be shared by any number of requests and threads.
+ */
+public class CompressionStats {
+
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong compressedResponses = new AtomicLong();
+    private final AtomicLong uncompressedBytes = new AtomicLong();
+    private final AtomicLong compressedBytes = new AtomicLong();
+    private final AtomicLong decompressedBytes = new AtomicLong();
+
+    /**
+     * @return the number of response bodies opened
+     */
+    public long getResponses() {
+        return responses.get();
+    }
+
+    /**
+     * @return the number of response bodies opened that were sent compressed
+     */
+    public long getCompressedResponses() {
+        return compressedResponses.get();
+    }
+
+    /**
+     * @return the number of body bytes read off the wire, compressed or not
+     */
+    public long getBytesRead() {
+        return uncompressedBytes.get() + compressedBytes.get();
+    }
+
+    /**
+     * @return the number of body bytes read off the wire for compressed responses
+     */
+    public long getCompressedBytes() {
+        return compressedBytes.get();
+    }
+
+    /**
+     * @return the number of bytes the compressed responses decompressed to
+     */
+    public long getDecompressedBytes() {
+        return decompressedBytes.get();
+    }
+
+    /**
+     * @return the number of bytes compression kept off the wire
+     */
+    public long getBytesSaved() {
+        return decompressedBytes.get() - compressedBytes.get();
+    }
+
+    @Override
+    public String toString() {
+        return "CompressionStats{responses=" + getResponses()
+                + ", compressedResponses=" + getCompressedResponses()
+                + ", bytesRead=" + getBytesRead()
+                + ", bytesSaved=" + getBytesSaved() + '}';
+    }
+
+    void opened(boolean compressed) {
+        responses.incrementAndGet();
+        if (compressed) {
+            compressedResponses.incrementAndGet();
+        }
+    }
+
+    AtomicLong uncompressedBytes() {
+        return uncompressedBytes;
+    }
+
+    AtomicLong compressedBytes() {
+        return compressedBytes;
+    }
+
+    AtomicLong decompressedBytes() {
+        return decompressedBytes;
+    }
+}
@@ -0,0 +1,167 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Decodes response bodies sent with a gzip or deflate Content-Encoding.
+ * <p>
+ * The input buffer of the decompressing stream is drawn from the {@link BufferPool} and
+ * returned once the stream is closed. A 'deflate' body may be zlib wrapped, as the HTTP
+ * specification requires, or raw deflate data, as some servers send; both are accepted.
+ */
+public final class Decompression {
+
+    private Decompression() {
+    }
+
+    /**
+     * @param stream response body as received
+     * @param contentEncoding value of the Content-Encoding header, may be null
+     * @param bufferSize size of the buffer reading compressed input
+     * @param stats statistics to count the bytes read into, may be null
+     * @return the decompressed body, or the body itself when not compressed with a supported encoding
+     * @throws IOException when the gzip header cannot be read
+     */
+    public static InputStream decode(InputStream stream, String contentEncoding, int bufferSize, CompressionStats stats)
+            throws IOException {
+        String encoding = contentEncoding != null ? contentEncoding.trim().toLowerCase(Locale.ROOT) : "";
+        boolean gzip = encoding.equals(HttpRequest.ENCODING_GZIP) || encoding.equals("x-gzip");
+        boolean deflate = encoding.equals(HttpRequest.ENCODING_DEFLATE);
+        if (!gzip && !deflate) {
+            if (stats == null) {
+                return stream;
+            }
+            stats.opened(false);
+            return new CountingInputStream(stream, stats.uncompressedBytes());
+        }
+        if (stats != null) {
+            stream = new CountingInputStream(stream, stats.compressedBytes());
+        }
+
+        PushbackInputStream peek = new PushbackInputStream(stream, 2);
+        int first = peek.read();
+        if (stats != null) {
+            stats.opened(first != -1);
+        }
+        if (first == -1) {
+            // No body at all, as for HEAD requests and 204 or 304 responses
+            return peek;
+        }
+        int second = peek.read();
+        if (second != -1) {
+            peek.unread(second);
+        }
+        peek.unread(first);
+
+        byte[] buffer = BufferPool.acquire(bufferSize);
+        InputStream decoded;
+        try {
+            decoded = gzip
+                    ? new PooledGzipInputStream(peek, buffer)
+                    : new PooledInflaterInputStream(peek, new Inflater(!isZlibHeader(first, second)), buffer);
+        } catch (IOException e) {
+            BufferPool.release(buffer);
+            throw e;
+        }
+        return stats != null ? new CountingInputStream(decoded, stats.decompressedBytes()) : decoded;
+    }
+
+    /**
+     * @return true when the first two bytes are a zlib header (RFC 1950): deflate method and a valid check value
+     */
+    private static boolean isZlibHeader(int first, int second) {
+        return second != -1 && (first & 0x0F) == 8 && ((first << 8) | second) % 31 == 0;
+    }
+
+    private static final class PooledGzipInputStream extends GZIPInputStream {
+
+        private boolean released;
+
+        private PooledGzipInputStream(InputStream in, byte[] buffer) throws IOException {
+            // The minimal buffer allocated by the constructor is replaced by the pooled one
+            super(in, 1);
+            buf = buffer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    BufferPool.release(buf);
+                }
+            }
+        }
+    }
+
+    private static final class PooledInflaterInputStream extends InflaterInputStream {
+
+        private boolean released;
+
+        private PooledInflaterInputStream(InputStream in, Inflater inflater, byte[] buffer) {
+            super(in, inflater, 1);
+            buf = buffer;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!released) {
+                    released = true;
+                    // Not ended by InflaterInputStream, as it was not created by it
+                    inf.end();
+                    BufferPool.release(buf);
+                }
+            }
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private final AtomicLong count;
+
+        private CountingInputStream(InputStream in, AtomicLong count) {
+            super(in);
+            this.count = count;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count.incrementAndGet();
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                count.addAndGet(read);
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            if (skipped > 0) {
+                count.addAndGet(skipped);
+            }
+            return skipped;
+        }
+    }
+}
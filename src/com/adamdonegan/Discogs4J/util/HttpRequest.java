@@ -117,6 +117,16 @@ public class HttpRequest {
    */
   public static final String ENCODING_GZIP = "gzip";
 
+  /**
+   * 'deflate' encoding header value
+   */
+  public static final String ENCODING_DEFLATE = "deflate";
+
+  /**
+   * 'gzip, deflate' accept encoding header value
+   */
+  public static final String ENCODING_GZIP_DEFLATE = ENCODING_GZIP + ", " + ENCODING_DEFLATE;
+
   /**
    * 'Accept' header name
    */
@@ -172,6 +182,11 @@ public class HttpRequest {
    */
   public static final String HEADER_EXPIRES = "Expires";
 
+  /**
+   * 'If-Modified-Since' header name
+   */
+  public static final String HEADER_IF_MODIFIED_SINCE = "If-Modified-Since";
+
   /**
    * 'If-None-Match' header name
    */
@@ -1448,8 +1463,12 @@ public class HttpRequest {
 
   private boolean uncompress = false;
 
+  private CompressionStats compressionStats;
+
   private int bufferSize = 8192;
 
+  private long maxInMemorySize = 0;
+
   private long totalSize = -1;
 
   private long totalWritten = 0;
@@ -1712,16 +1731,43 @@ public class HttpRequest {
     return bufferSize;
   }
 
+  /**
+   * Set the largest response body {@link #body()} and {@link #bytes()} read
+   * into memory; larger bodies fail with an {@link HttpRequestException}
+   * rather than growing the heap without bound, and can be read with
+   * {@link #byteBuffer()} instead.
+   * <p>
+   * The default is 0, no limit
+   *
+   * @param size
+   * @return this request
+   */
+  public HttpRequest maxInMemorySize(final long size) {
+    if (size < 0)
+      throw new IllegalArgumentException("Size must not be negative");
+    maxInMemorySize = size;
+    return this;
+  }
+
+  /**
+   * Get the largest response body read into memory, 0 for no limit
+   *
+   * @return size
+   */
+  public long maxInMemorySize() {
+    return maxInMemorySize;
+  }
+
   /**
    * Set whether or not the response body should be automatically uncompressed
    * when read from.
    * <p>
    * This will only affect requests that have the 'Content-Encoding' response
-   * header set to 'gzip'.
+   * header set to 'gzip' or 'deflate'.
    * <p>
-   * This causes all receive methods to use a {@link GZIPInputStream} when
-   * applicable so that higher level streams and readers can read the data
-   * uncompressed.
+   * This causes all receive methods to use a {@link GZIPInputStream} or
+   * {@link java.util.zip.InflaterInputStream} when applicable so that higher
+   * level streams and readers can read the data uncompressed.
    * <p>
    * Setting this option does not cause any request headers to be set
    * automatically so {@link #acceptGzipEncoding()} should be used in
@@ -1735,6 +1781,19 @@ public class HttpRequest {
     return this;
   }
 
+  /**
+   * Set the statistics counting the bytes read and saved by compression.
+   * <p>
+   * Only responses read with {@link #uncompress(boolean)} enabled are counted.
+   *
+   * @param stats
+   * @return this request
+   */
+  public HttpRequest compressionStats(final CompressionStats stats) {
+    this.compressionStats = stats;
+    return this;
+  }
+
   /**
    * Create byte array output stream
    *
@@ -1759,12 +1818,47 @@ public class HttpRequest {
    * @throws HttpRequestException
    */
   public String body(final String charset) throws HttpRequestException {
-    final ByteArrayOutputStream output = byteStream();
+    final Charset decoding = forCharset(charset);
+    final ByteRope body = readBody();
     try {
-      copy(buffer(), output);
-      return output.toString(getValidCharset(charset));
-    } catch (IOException e) {
-      throw new HttpRequestException(e);
+      return body.toString(decoding);
+    } finally {
+      body.release();
+    }
+  }
+
+  /**
+   * Decode the response body into the given appendable as it is read, a
+   * buffer at a time, without holding the whole body in memory.
+   * <p>
+   * This will fall back to using the UTF-8 character set if the given charset
+   * is null
+   *
+   * @param output
+   * @param charset
+   * @return this request
+   * @throws HttpRequestException
+   */
+  public HttpRequest body(final Appendable output, final String charset)
+      throws HttpRequestException {
+    final Charset decoding = forCharset(charset);
+    final InputStream input = stream();
+    return new CloseOperation<HttpRequest>(input, ignoreCloseExceptions) {
+
+      @Override
+      public HttpRequest run() throws IOException {
+        TextDecoder.decode(input, decoding, output, bufferSize);
+        return HttpRequest.this;
+      }
+    }.call();
+  }
+
+  private static Charset forCharset(final String charset)
+      throws HttpRequestException {
+    try {
+      return Charset.forName(getValidCharset(charset));
+    } catch (IllegalArgumentException e) {
+      throw new HttpRequestException(new UnsupportedEncodingException(charset));
     }
   }
 
@@ -1824,13 +1918,100 @@ public class HttpRequest {
    * @throws HttpRequestException
    */
   public byte[] bytes() throws HttpRequestException {
-    final ByteArrayOutputStream output = byteStream();
+    final ByteRope body = readBody();
     try {
-      copy(buffer(), output);
-    } catch (IOException e) {
-      throw new HttpRequestException(e);
+      return body.toByteArray();
+    } finally {
+      body.release();
     }
-    return output.toByteArray();
+  }
+
+  /**
+   * Read the whole response body into pooled chunks, the first one sized from
+   * the Content-Length header when present. The caller must release the rope.
+   *
+   * @return body
+   * @throws HttpRequestException
+   */
+  private ByteRope readBody() throws HttpRequestException {
+    final int size = contentLength();
+    final long limit = maxInMemorySize > 0 ? maxInMemorySize : Long.MAX_VALUE;
+    final InputStream input = stream();
+    return new CloseOperation<ByteRope>(input, ignoreCloseExceptions) {
+
+      @Override
+      protected ByteRope run() throws IOException {
+        if (size > limit)
+          throw tooLarge(size);
+        final ByteRope body = new ByteRope(size > 0 ? size : ByteRope.CHUNK_SIZE);
+        try {
+          final boolean complete = body.readAtMost(input, limit,
+              new ByteRope.ReadListener() {
+
+                @Override
+                public void onRead(final int count) {
+                  totalWritten += count;
+                  progress.onUpload(totalWritten, totalSize);
+                }
+              });
+          if (!complete)
+            throw tooLarge(body.length());
+          return body;
+        } catch (IOException e) {
+          body.release();
+          throw e;
+        } catch (RuntimeException e) {
+          body.release();
+          throw e;
+        }
+      }
+    }.call();
+  }
+
+  private IOException tooLarge(final long size) {
+    return new IOException("Response body of more than " + maxInMemorySize
+        + " bytes (" + size + " read or announced) exceeds the in-memory limit,"
+        + " read it with byteBuffer()");
+  }
+
+  /**
+   * Get response as a read-only {@link ByteBuffer}.
+   * <p>
+   * A body larger than {@link #maxInMemorySize(long)} is written to a
+   * temporary file that is mapped into memory rather than read onto the heap.
+   *
+   * @return buffer
+   * @throws HttpRequestException
+   */
+  public ByteBuffer byteBuffer() throws HttpRequestException {
+    final int size = contentLength();
+    if (maxInMemorySize > 0 && size > maxInMemorySize) {
+      // Known to be too large, received into a file straight away
+      final File file;
+      try {
+        file = MappedBody.createTempFile();
+      } catch (IOException e) {
+        throw new HttpRequestException(e);
+      }
+      try {
+        receive(file);
+        return MappedBody.map(file);
+      } catch (IOException e) {
+        file.delete();
+        throw new HttpRequestException(e);
+      } catch (HttpRequestException e) {
+        file.delete();
+        throw e;
+      }
+    }
+    final InputStream input = stream();
+    return new CloseOperation<ByteBuffer>(input, ignoreCloseExceptions) {
+
+      @Override
+      protected ByteBuffer run() throws IOException {
+        return MappedBody.read(input, size, maxInMemorySize, bufferSize);
+      }
+    }.call();
   }
 
   /**
@@ -1841,7 +2022,20 @@ public class HttpRequest {
    * @throws HttpRequestException
    */
   public BufferedInputStream buffer() throws HttpRequestException {
-    return new BufferedInputStream(stream(), bufferSize);
+    final byte[] pooled = BufferPool.acquire(bufferSize);
+    return new BufferedInputStream(stream(), 1) {
+      {
+        buf = pooled;
+      }
+
+      @Override
+      public void close() throws IOException {
+        // Captured before closing, which discards the buffer
+        final byte[] released = buf;
+        super.close();
+        BufferPool.release(released);
+      }
+    };
   }
 
   /**
@@ -1871,11 +2065,12 @@ public class HttpRequest {
         }
     }
 
-    if (!uncompress || !ENCODING_GZIP.equals(contentEncoding()))
+    if (!uncompress)
       return stream;
     else
       try {
-        return new GZIPInputStream(stream);
+        return Decompression.decode(stream, contentEncoding(), bufferSize,
+            compressionStats);
       } catch (IOException e) {
         throw new HttpRequestException(e);
       }
@@ -1948,7 +2143,8 @@ public class HttpRequest {
   public HttpRequest receive(final File file) throws HttpRequestException {
     final OutputStream output;
     try {
-      output = new BufferedOutputStream(new FileOutputStream(file), bufferSize);
+      // Not buffered, the copy already writes bufferSize chunks
+      output = new FileOutputStream(file);
     } catch (FileNotFoundException e) {
       throw new HttpRequestException(e);
     }
@@ -1971,7 +2167,8 @@ public class HttpRequest {
   public HttpRequest receive(final OutputStream output)
       throws HttpRequestException {
     try {
-      return copy(buffer(), output);
+      // Not buffered, the copy already reads bufferSize chunks
+      return copy(stream(), output);
     } catch (IOException e) {
       throw new HttpRequestException(e);
     }
@@ -1998,21 +2195,7 @@ public class HttpRequest {
    */
   public HttpRequest receive(final Appendable appendable)
       throws HttpRequestException {
-    final BufferedReader reader = bufferedReader();
-    return new CloseOperation<HttpRequest>(reader, ignoreCloseExceptions) {
-
-      @Override
-      public HttpRequest run() throws IOException {
-        final CharBuffer buffer = CharBuffer.allocate(bufferSize);
-        int read;
-        while ((read = reader.read(buffer)) != -1) {
-          buffer.rewind();
-          appendable.append(buffer, 0, read);
-          buffer.rewind();
-        }
-        return HttpRequest.this;
-      }
-    }.call();
+    return body(appendable, charset());
   }
 
   /**
@@ -2023,14 +2206,7 @@ public class HttpRequest {
    * @throws HttpRequestException
    */
   public HttpRequest receive(final Writer writer) throws HttpRequestException {
-    final BufferedReader reader = bufferedReader();
-    return new CloseOperation<HttpRequest>(reader, ignoreCloseExceptions) {
-
-      @Override
-      public HttpRequest run() throws IOException {
-        return copy(reader, writer);
-      }
-    }.call();
+    return body(writer, charset());
   }
 
   /**
@@ -2370,6 +2546,16 @@ public class HttpRequest {
     return acceptEncoding(ENCODING_GZIP);
   }
 
+  /**
+   * Set the 'Accept-Encoding' header to 'gzip, deflate'
+   *
+   * @see #uncompress(boolean)
+   * @return this request
+   */
+  public HttpRequest acceptCompressedEncoding() {
+    return acceptEncoding(ENCODING_GZIP_DEFLATE);
+  }
+
   /**
    * Set the 'Accept-Charset' header to given value
    *
@@ -2614,12 +2800,16 @@ public class HttpRequest {
 
       @Override
       public HttpRequest run() throws IOException {
-        final byte[] buffer = new byte[bufferSize];
-        int read;
-        while ((read = input.read(buffer)) != -1) {
-          output.write(buffer, 0, read);
-          totalWritten += read;
-          progress.onUpload(totalWritten, totalSize);
+        final byte[] buffer = BufferPool.acquire(bufferSize);
+        try {
+          int read;
+          while ((read = input.read(buffer, 0, bufferSize)) != -1) {
+            output.write(buffer, 0, read);
+            totalWritten += read;
+            progress.onUpload(totalWritten, totalSize);
+          }
+        } finally {
+          BufferPool.release(buffer);
         }
         return HttpRequest.this;
       }
@@ -0,0 +1,678 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Pull parser reading JSON one token at a time, straight from the bytes of a stream or array.
+ * <p>
+ * UTF-8 is decoded inline, only for the names and strings actually read; objects and arrays
+ * that are skipped are only scanned for their closing bracket, never decoded or validated.
+ * A document of any size can be walked with memory for a single token, for example to visit
+ * the elements of a large array one by one:
+ * <pre>
+ * tokenizer.beginObject();
+ * if (tokenizer.seek("results")) {
+ *     tokenizer.beginArray();
+ *     while (tokenizer.hasNext()) {
+ *         byte[] item = tokenizer.nextRawValue();
+ *     }
+ *     tokenizer.endArray();
+ * }
+ * </pre>
+ * Malformed JSON is reported with an {@link IllegalArgumentException}, failing reads of the
+ * underlying stream with an {@link IOException}.
+ */
+public class JsonTokenizer implements Closeable {
+
+    /**
+     * Kind of the next token
+     */
+    public enum Token {
+        BEGIN_OBJECT, END_OBJECT, BEGIN_ARRAY, END_ARRAY, NAME, STRING, NUMBER, BOOLEAN, NULL, END_DOCUMENT
+    }
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final InputStream in;
+    private byte[] buffer;
+    private int position;
+    private int limit;
+    private long consumed;
+
+    private int[] stack = new int[16];
+    private int depth = 0;
+    private Token peeked;
+
+    private char[] chars = new char[64];
+
+    private ByteArrayOutputStream capture;
+    private int captureStart;
+
+    /**
+     * @param in stream of UTF-8 encoded JSON, read as needed
+     */
+    public JsonTokenizer(InputStream in) {
+        this.in = in;
+        this.buffer = new byte[BUFFER_SIZE];
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @param json UTF-8 encoded JSON
+     */
+    public JsonTokenizer(byte[] json) {
+        this(json, 0, json.length);
+    }
+
+    /**
+     * @param json array holding UTF-8 encoded JSON
+     * @param offset start of the JSON in the array
+     * @param length length of the JSON
+     */
+    public JsonTokenizer(byte[] json, int offset, int length) {
+        this.in = null;
+        this.buffer = json;
+        this.position = offset;
+        this.limit = offset + length;
+        this.consumed = -offset;
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @return the kind of the next token, without consuming it
+     * @throws IOException when reading fails
+     */
+    public Token peek() throws IOException {
+        if (peeked != null) {
+            return peeked;
+        }
+        int c;
+        switch (stack[depth - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                return peeked = peekValue(nextNonWhitespace());
+            case NONEMPTY_DOCUMENT:
+                c = nextNonWhitespace();
+                if (c != -1) {
+                    throw syntaxError("Expected end of document");
+                }
+                return peeked = Token.END_DOCUMENT;
+            case EMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                }
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                return peeked = peekValue(c);
+            case NONEMPTY_ARRAY:
+                c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = Token.END_ARRAY;
+                } else if (c != ',') {
+                    throw syntaxError("Expected ',' or ']'");
+                }
+                return peeked = peekValue(nextNonWhitespace());
+            case EMPTY_OBJECT:
+            case NONEMPTY_OBJECT:
+                c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = Token.END_OBJECT;
+                }
+                if (stack[depth - 1] == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected a name");
+                }
+                stack[depth - 1] = DANGLING_NAME;
+                return peeked = Token.NAME;
+            case DANGLING_NAME:
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':'");
+                }
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                return peeked = peekValue(nextNonWhitespace());
+            default:
+                throw new IllegalStateException();
+        }
+    }
+
+    public void beginObject() throws IOException {
+        consume(Token.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        consume(Token.END_OBJECT);
+        depth--;
+    }
+
+    public void beginArray() throws IOException {
+        consume(Token.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        consume(Token.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * @return true when the current object or array has another member or element
+     * @throws IOException when reading fails
+     */
+    public boolean hasNext() throws IOException {
+        Token token = peek();
+        return token != Token.END_OBJECT && token != Token.END_ARRAY && token != Token.END_DOCUMENT;
+    }
+
+    public String nextName() throws IOException {
+        consume(Token.NAME);
+        return readString();
+    }
+
+    /**
+     * @return the next string, or the text of the next number
+     * @throws IOException when reading fails
+     */
+    public String nextString() throws IOException {
+        Token token = peek();
+        if (token == Token.NUMBER) {
+            peeked = null;
+            return readNumber();
+        }
+        consume(Token.STRING);
+        return readString();
+    }
+
+    public boolean nextBoolean() throws IOException {
+        consume(Token.BOOLEAN);
+        if (peekByte() == 't') {
+            literal("true");
+            return true;
+        }
+        literal("false");
+        return false;
+    }
+
+    public void nextNull() throws IOException {
+        consume(Token.NULL);
+        literal("null");
+    }
+
+    /**
+     * @return the next number, or the next string parsed as a number
+     * @throws IOException when reading fails
+     * @throws NumberFormatException when the number is not a long
+     */
+    public long nextLong() throws IOException {
+        String number = nextString();
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            double value = Double.parseDouble(number);
+            if ((long) value != value) {
+                throw new NumberFormatException("Expected a long but was " + number);
+            }
+            return (long) value;
+        }
+    }
+
+    /**
+     * @return the next number, or the next string parsed as a number
+     * @throws IOException when reading fails
+     * @throws NumberFormatException when the number is not an int
+     */
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if ((int) value != value) {
+            throw new NumberFormatException("Expected an int but was " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * @return the next number, or the next string parsed as a number
+     * @throws IOException when reading fails
+     * @throws NumberFormatException when the string is not a number
+     */
+    public double nextDouble() throws IOException {
+        return Double.parseDouble(nextString());
+    }
+
+    /**
+     * Skip the next value, including all nested values of an object or array, without decoding it.
+     * When positioned at a name, the name and its value are skipped.
+     *
+     * @throws IOException when reading fails
+     */
+    public void skipValue() throws IOException {
+        Token token;
+        do {
+            token = peek();
+            switch (token) {
+                case BEGIN_OBJECT:
+                case BEGIN_ARRAY:
+                    peeked = null;
+                    skipComposite();
+                    break;
+                case NAME:
+                case STRING:
+                    peeked = null;
+                    skipString();
+                    break;
+                case NUMBER:
+                    peeked = null;
+                    skipNumber();
+                    break;
+                case BOOLEAN:
+                case NULL:
+                    peeked = null;
+                    skipLiteral();
+                    break;
+                default:
+                    throw new IllegalStateException("Expected a value but was " + token);
+            }
+        } while (token == Token.NAME);
+    }
+
+    /**
+     * Skip the members of the current object up to the member with the given name
+     *
+     * @param name the member name
+     * @return true when positioned at the value of the member, false when positioned at the end
+     * of the object without finding it
+     * @throws IOException when reading fails
+     */
+    public boolean seek(String name) throws IOException {
+        while (hasNext()) {
+            if (name.equals(nextName())) {
+                return true;
+            }
+            skipValue();
+        }
+        return false;
+    }
+
+    /**
+     * Read the next value as it appears in the document, for decoding separately
+     *
+     * @return the UTF-8 encoded JSON of the next value
+     * @throws IOException when reading fails
+     */
+    public byte[] nextRawValue() throws IOException {
+        int start = valueStart();
+        capture = new ByteArrayOutputStream();
+        captureStart = start;
+        try {
+            skipValue();
+            capture.write(buffer, captureStart, position - captureStart);
+            return capture.toByteArray();
+        } finally {
+            capture = null;
+        }
+    }
+
+    /**
+     * Peek at the next value and return where it starts. After {@link #skipValue()}
+     * {@link #getPosition()} is where it ends, together locating the value in the input.
+     *
+     * @return the position of the first byte of the next value
+     * @throws IOException when reading fails
+     */
+    public long peekValuePosition() throws IOException {
+        return consumed + valueStart();
+    }
+
+    /**
+     * @return the number of bytes read so far
+     */
+    public long getPosition() {
+        return consumed + position;
+    }
+
+    /**
+     * Close the underlying stream, if any
+     *
+     * @throws IOException when closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    private void consume(Token expected) throws IOException {
+        Token token = peek();
+        if (token != expected) {
+            throw new IllegalStateException("Expected " + expected + " but was " + token + " at byte " + getPosition());
+        }
+        peeked = null;
+    }
+
+    /**
+     * @return index in the buffer of the first byte of the next value
+     */
+    private int valueStart() throws IOException {
+        Token token = peek();
+        if (token == Token.NAME || token == Token.END_OBJECT || token == Token.END_ARRAY || token == Token.END_DOCUMENT) {
+            throw new IllegalStateException("Expected a value but was " + token);
+        }
+        // peek consumed the opening '{', '[' or '"' of the value
+        return token == Token.BEGIN_OBJECT || token == Token.BEGIN_ARRAY || token == Token.STRING ? position - 1 : position;
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    /**
+     * @param c the first character of the value, consumed unless it starts a number or literal
+     */
+    private Token peekValue(int c) throws IOException {
+        switch (c) {
+            case '{':
+                return Token.BEGIN_OBJECT;
+            case '[':
+                return Token.BEGIN_ARRAY;
+            case '"':
+                return Token.STRING;
+            case 't':
+            case 'f':
+                position--;
+                return Token.BOOLEAN;
+            case 'n':
+                position--;
+                return Token.NULL;
+            case -1:
+                throw syntaxError("Unexpected end of document");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    position--;
+                    return Token.NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    /**
+     * Decode a string up to and including its closing quote, the opening quote already consumed
+     */
+    private String readString() throws IOException {
+        int length = 0;
+        while (true) {
+            if (position == limit && !fill()) {
+                throw syntaxError("Unterminated string");
+            }
+            int b = buffer[position++];
+            if (length + 2 > chars.length) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            if (b == '"') {
+                return new String(chars, 0, length);
+            } else if (b == '\\') {
+                length = readEscape(length);
+            } else if (b >= 0) {
+                chars[length++] = (char) b;
+            } else {
+                length = readMultiByte(b, length);
+            }
+        }
+    }
+
+    private int readEscape(int length) throws IOException {
+        int c = nextByte();
+        switch (c) {
+            case 'b': chars[length++] = '\b'; break;
+            case 'f': chars[length++] = '\f'; break;
+            case 'n': chars[length++] = '\n'; break;
+            case 'r': chars[length++] = '\r'; break;
+            case 't': chars[length++] = '\t'; break;
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextByte(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                chars[length++] = (char) value;
+                break;
+            case '"':
+            case '\\':
+            case '/':
+                chars[length++] = (char) c;
+                break;
+            case -1:
+                throw syntaxError("Unterminated escape");
+            default:
+                throw syntaxError("Invalid escape '\\" + (char) c + "'");
+        }
+        return length;
+    }
+
+    /**
+     * Decode a UTF-8 sequence of two to four bytes, malformed sequences decode to U+FFFD
+     */
+    private int readMultiByte(int lead, int length) throws IOException {
+        int extra;
+        int codePoint;
+        if ((lead & 0xE0) == 0xC0) {
+            extra = 1;
+            codePoint = lead & 0x1F;
+        } else if ((lead & 0xF0) == 0xE0) {
+            extra = 2;
+            codePoint = lead & 0x0F;
+        } else if ((lead & 0xF8) == 0xF0) {
+            extra = 3;
+            codePoint = lead & 0x07;
+        } else {
+            chars[length++] = '\uFFFD';
+            return length;
+        }
+        for (int i = 0; i < extra; i++) {
+            if (position == limit && !fill()) {
+                throw syntaxError("Unterminated string");
+            }
+            int b = buffer[position];
+            if ((b & 0xC0) != 0x80) {
+                chars[length++] = '\uFFFD';
+                return length;
+            }
+            position++;
+            codePoint = (codePoint << 6) | (b & 0x3F);
+        }
+        if (Character.isBmpCodePoint(codePoint)) {
+            chars[length++] = (char) codePoint;
+        } else if (Character.isValidCodePoint(codePoint)) {
+            chars[length++] = Character.highSurrogate(codePoint);
+            chars[length++] = Character.lowSurrogate(codePoint);
+        } else {
+            chars[length++] = '\uFFFD';
+        }
+        return length;
+    }
+
+    private void skipString() throws IOException {
+        byte[] bytes = buffer;
+        int p = position;
+        while (true) {
+            if (p == limit) {
+                position = p;
+                if (!fill()) {
+                    throw syntaxError("Unterminated string");
+                }
+                p = position;
+            }
+            byte b = bytes[p++];
+            if (b == '"') {
+                position = p;
+                return;
+            } else if (b == '\\') {
+                position = p;
+                if (nextByte() == -1) {
+                    throw syntaxError("Unterminated escape");
+                }
+                p = position;
+            }
+        }
+    }
+
+    /**
+     * Skip the rest of an object or array, its opening bracket already consumed, by matching
+     * brackets outside of strings. The skipped content is not otherwise validated.
+     */
+    private void skipComposite() throws IOException {
+        // Works on locals, the hottest loop when reading a few fields of a large document
+        byte[] bytes = buffer;
+        int p = position;
+        int nesting = 1;
+        while (true) {
+            if (p == limit) {
+                position = p;
+                if (!fill()) {
+                    throw syntaxError("Unterminated object or array");
+                }
+                p = position;
+            }
+            byte b = bytes[p++];
+            if (b == '"') {
+                position = p;
+                skipString();
+                p = position;
+            } else if (b == '{' || b == '[') {
+                nesting++;
+            } else if ((b == '}' || b == ']') && --nesting == 0) {
+                position = p;
+                return;
+            }
+        }
+    }
+
+    private String readNumber() throws IOException {
+        int length = 0;
+        int c;
+        while ((c = peekByte()) != -1 && isNumberCharacter(c)) {
+            if (length == chars.length) {
+                chars = Arrays.copyOf(chars, chars.length * 2);
+            }
+            chars[length++] = (char) c;
+            position++;
+        }
+        String number = new String(chars, 0, length);
+        try {
+            Double.parseDouble(number);
+        } catch (NumberFormatException e) {
+            throw syntaxError("Malformed number " + number);
+        }
+        return number;
+    }
+
+    private void skipNumber() throws IOException {
+        int c;
+        while ((c = peekByte()) != -1 && isNumberCharacter(c)) {
+            position++;
+        }
+    }
+
+    private static boolean isNumberCharacter(int c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    private void literal(String expected) throws IOException {
+        for (int i = 0; i < expected.length(); i++) {
+            if (nextByte() != expected.charAt(i)) {
+                throw syntaxError("Expected " + expected);
+            }
+        }
+        int c = peekByte();
+        if (c != -1 && !isDelimiter(c)) {
+            throw syntaxError("Expected " + expected);
+        }
+    }
+
+    private void skipLiteral() throws IOException {
+        literal(peekByte() == 't' ? "true" : peekByte() == 'f' ? "false" : "null");
+    }
+
+    private static boolean isDelimiter(int c) {
+        return c == ',' || c == '}' || c == ']' || c == ' ' || c == '\t' || c == '\r' || c == '\n';
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            int c = buffer[position++];
+            if (c != ' ' && c != '\t' && c != '\r' && c != '\n') {
+                return c;
+            }
+        }
+    }
+
+    private int nextByte() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peekByte() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    /**
+     * Read more bytes into the buffer, handing the bytes of a value being captured over first
+     *
+     * @return false at the end of the input
+     */
+    private boolean fill() throws IOException {
+        if (in == null) {
+            return false;
+        }
+        if (capture != null) {
+            capture.write(buffer, captureStart, limit - captureStart);
+            captureStart = 0;
+        }
+        consumed += limit;
+        position = 0;
+        limit = 0;
+        int read;
+        while ((read = in.read(buffer, 0, buffer.length)) == 0) {
+            // Blocking streams only return 0 for an empty buffer
+        }
+        if (read == -1) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private IllegalArgumentException syntaxError(String message) {
+        return new IllegalArgumentException(message + " at byte " + getPosition());
+    }
+}
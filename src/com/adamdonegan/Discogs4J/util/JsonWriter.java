@@ -0,0 +1,288 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.reflect.Array;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Writes JSON straight to a {@link Writer}, one token at a time, without building the
+ * document in memory first.
+ * <p>
+ * Strings are escaped as required by RFC 8259. Values can be written token by token
+ * ({@link #beginObject()}, {@link #name(String)}, {@link #value(String)}, ...) or as a whole
+ * with {@link #value(Object)}, which walks nested maps, collections and arrays.
+ * <p>
+ * The writer is not buffered, wrap the underlying writer in a {@link java.io.BufferedWriter}
+ * when it writes directly to a stream.
+ */
+public class JsonWriter implements Closeable, Flushable {
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private static final String[] CONTROL_CHARACTERS = new String[0x20];
+
+    static {
+        for (int i = 0; i < CONTROL_CHARACTERS.length; i++) {
+            CONTROL_CHARACTERS[i] = String.format("\\u%04x", i);
+        }
+        CONTROL_CHARACTERS['\b'] = "\\b";
+        CONTROL_CHARACTERS['\t'] = "\\t";
+        CONTROL_CHARACTERS['\n'] = "\\n";
+        CONTROL_CHARACTERS['\f'] = "\\f";
+        CONTROL_CHARACTERS['\r'] = "\\r";
+    }
+
+    private final Writer out;
+    private int[] stack = new int[16];
+    private int depth = 0;
+
+    /**
+     * @param out writer to write the JSON to
+     */
+    public JsonWriter(Writer out) {
+        this.out = out;
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Write a value as a complete document
+     *
+     * @param out writer to write the JSON to
+     * @param value the value, see {@link #value(Object)}
+     * @throws IOException when writing fails
+     */
+    public static void write(Writer out, Object value) throws IOException {
+        new JsonWriter(out).value(value).flush();
+    }
+
+    public JsonWriter beginObject() throws IOException {
+        return open(EMPTY_OBJECT, '{');
+    }
+
+    public JsonWriter endObject() throws IOException {
+        return close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    public JsonWriter beginArray() throws IOException {
+        return open(EMPTY_ARRAY, '[');
+    }
+
+    public JsonWriter endArray() throws IOException {
+        return close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    /**
+     * Write the name of the next member of the current object
+     *
+     * @param name the member name
+     * @return this writer
+     * @throws IOException when writing fails
+     */
+    public JsonWriter name(String name) throws IOException {
+        if (name == null) {
+            throw new NullPointerException("name == null");
+        }
+        int scope = stack[depth - 1];
+        if (scope == NONEMPTY_OBJECT) {
+            out.write(',');
+        } else if (scope != EMPTY_OBJECT) {
+            throw new IllegalStateException("Nesting problem: name outside of an object");
+        }
+        stack[depth - 1] = DANGLING_NAME;
+        string(name);
+        out.write(':');
+        return this;
+    }
+
+    public JsonWriter value(String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        string(value);
+        return this;
+    }
+
+    public JsonWriter value(boolean value) throws IOException {
+        beforeValue();
+        out.write(value ? "true" : "false");
+        return this;
+    }
+
+    public JsonWriter value(long value) throws IOException {
+        beforeValue();
+        out.write(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * @param value the number
+     * @return this writer
+     * @throws IOException when writing fails
+     * @throws IllegalArgumentException for NaN and infinite values, which JSON cannot represent
+     */
+    public JsonWriter value(Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        String number = value.toString();
+        if (number.equals("NaN") || number.endsWith("Infinity")) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        beforeValue();
+        out.write(number);
+        return this;
+    }
+
+    public JsonWriter nullValue() throws IOException {
+        beforeValue();
+        out.write("null");
+        return this;
+    }
+
+    /**
+     * Write any supported value: null, a {@link CharSequence}, {@link Number}, {@link Boolean},
+     * {@link Map} (keys written with {@link String#valueOf(Object)}), {@link Iterable} or array,
+     * nested to any depth. Any other object is written as the string of its {@code toString()}.
+     *
+     * @param value the value
+     * @return this writer
+     * @throws IOException when writing fails
+     */
+    public JsonWriter value(Object value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        } else if (value instanceof CharSequence) {
+            return value(value.toString());
+        } else if (value instanceof Number) {
+            return value((Number) value);
+        } else if (value instanceof Boolean) {
+            return value(((Boolean) value).booleanValue());
+        } else if (value instanceof Map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                value(entry.getValue());
+            }
+            return endObject();
+        } else if (value instanceof Iterable) {
+            beginArray();
+            for (Object element : (Iterable<?>) value) {
+                value(element);
+            }
+            return endArray();
+        } else if (value.getClass().isArray()) {
+            beginArray();
+            for (int i = 0, length = Array.getLength(value); i < length; i++) {
+                value(Array.get(value, i));
+            }
+            return endArray();
+        }
+        return value(value.toString());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    /**
+     * Flush and close the underlying writer
+     *
+     * @throws IOException when closing fails
+     * @throws IllegalStateException when the document is incomplete
+     */
+    @Override
+    public void close() throws IOException {
+        out.close();
+        if (depth > 1 || stack[0] != NONEMPTY_DOCUMENT) {
+            throw new IllegalStateException("Incomplete document");
+        }
+    }
+
+    private JsonWriter open(int empty, char bracket) throws IOException {
+        beforeValue();
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = empty;
+        out.write(bracket);
+        return this;
+    }
+
+    private JsonWriter close(int empty, int nonempty, char bracket) throws IOException {
+        int scope = stack[depth - 1];
+        if (scope != empty && scope != nonempty) {
+            throw new IllegalStateException("Nesting problem: unexpected '" + bracket + "'");
+        }
+        depth--;
+        out.write(bracket);
+        return this;
+    }
+
+    private void beforeValue() throws IOException {
+        switch (stack[depth - 1]) {
+            case EMPTY_DOCUMENT:
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+                break;
+            case EMPTY_ARRAY:
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                break;
+            case NONEMPTY_ARRAY:
+                out.write(',');
+                break;
+            case DANGLING_NAME:
+                stack[depth - 1] = NONEMPTY_OBJECT;
+                break;
+            case NONEMPTY_DOCUMENT:
+                throw new IllegalStateException("JSON must have only one top-level value");
+            default:
+                throw new IllegalStateException("Nesting problem: value without a name");
+        }
+    }
+
+    /**
+     * Write a quoted string, copying runs of characters that need no escaping in one go
+     */
+    private void string(String value) throws IOException {
+        out.write('"');
+        int last = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            String replacement;
+            if (c < 0x20) {
+                replacement = CONTROL_CHARACTERS[c];
+            } else if (c == '"') {
+                replacement = "\\\"";
+            } else if (c == '\\') {
+                replacement = "\\\\";
+            } else if (c == '\u2028') {
+                replacement = "\\u2028";
+            } else if (c == '\u2029') {
+                replacement = "\\u2029";
+            } else {
+                continue;
+            }
+            if (last < i) {
+                out.write(value, last, i - last);
+            }
+            out.write(replacement);
+            last = i + 1;
+        }
+        if (last < length) {
+            out.write(value, last, length - last);
+        }
+        out.write('"');
+    }
+}
@@ -0,0 +1,117 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads a response body into memory up to a limit, spilling larger bodies to a temporary file
+ * that is mapped read-only, so the heap used by a response stays bounded whatever its size.
+ * <p>
+ * The temporary file is deleted as soon as it is mapped where the platform allows it, the
+ * mapping itself remaining valid until the buffer is garbage collected; elsewhere it is deleted
+ * when the JVM exits.
+ */
+public final class MappedBody {
+
+    private MappedBody() {
+    }
+
+    /**
+     * Read the stream to its end, without closing it
+     *
+     * @param input body to read
+     * @param expectedLength expected length of the body, -1 when unknown
+     * @param maxInMemorySize the largest body kept on the heap, 0 for no limit
+     * @param bufferSize size of the buffer copying the remainder of a spilled body
+     * @return a read-only view of the body, on the heap or mapped from a temporary file
+     * @throws IOException
+     */
+    public static ByteBuffer read(InputStream input, long expectedLength, long maxInMemorySize, int bufferSize)
+            throws IOException {
+        boolean fits = maxInMemorySize <= 0 || expectedLength <= maxInMemorySize;
+        ByteRope rope = new ByteRope(fits && expectedLength > 0 && expectedLength < Integer.MAX_VALUE ? (int) expectedLength : ByteRope.CHUNK_SIZE);
+        try {
+            if (rope.readAtMost(input, maxInMemorySize > 0 ? maxInMemorySize : Long.MAX_VALUE, null)) {
+                return ByteBuffer.wrap(rope.toByteArray()).asReadOnlyBuffer();
+            }
+            File file = createTempFile();
+            try {
+                OutputStream output = new FileOutputStream(file);
+                try {
+                    rope.writeTo(output);
+                    rope.release();
+                    copy(input, output, bufferSize);
+                } finally {
+                    output.close();
+                }
+                return map(file);
+            } catch (IOException e) {
+                delete(file);
+                throw e;
+            } catch (RuntimeException e) {
+                delete(file);
+                throw e;
+            }
+        } finally {
+            rope.release();
+        }
+    }
+
+    /**
+     * @return a new empty temporary file to spill a body to
+     * @throws IOException
+     */
+    public static File createTempFile() throws IOException {
+        return Files.createTempFile("discogs4j-", ".body").toFile();
+    }
+
+    /**
+     * Map a spilled body and delete its file
+     *
+     * @param file file holding the body
+     * @return a read-only view of the file contents
+     * @throws IOException when the file cannot be read or is larger than a buffer can be
+     */
+    public static ByteBuffer map(File file) throws IOException {
+        try {
+            FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            try {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("Response body of " + size + " bytes is too large to map");
+                }
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } finally {
+                channel.close();
+            }
+        } finally {
+            delete(file);
+        }
+    }
+
+    private static void delete(File file) {
+        // Mapped files cannot be deleted on all platforms
+        if (!file.delete() && file.exists()) {
+            file.deleteOnExit();
+        }
+    }
+
+    private static void copy(InputStream input, OutputStream output, int bufferSize) throws IOException {
+        byte[] buffer = BufferPool.acquire(bufferSize);
+        try {
+            int read;
+            while ((read = input.read(buffer, 0, bufferSize)) != -1) {
+                output.write(buffer, 0, read);
+            }
+        } finally {
+            BufferPool.release(buffer);
+        }
+    }
+}
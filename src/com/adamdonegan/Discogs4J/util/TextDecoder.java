@@ -0,0 +1,121 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+
+/**
+ * Decodes a stream of bytes incrementally, a buffer at a time, straight into an {@link Appendable}.
+ * <p>
+ * Unlike an {@link java.io.InputStreamReader}, nothing is allocated per stream: the byte buffer
+ * comes from the {@link BufferPool} and each thread keeps its decoder and character buffer for
+ * reuse. Malformed and unmappable input is replaced, as {@link String#String(byte[], Charset)} does.
+ */
+public final class TextDecoder {
+
+    private static final int CHAR_BUFFER_SIZE = 8192;
+
+    private static final ThreadLocal<TextDecoder> DECODERS = new ThreadLocal<TextDecoder>();
+
+    private CharsetDecoder decoder;
+    private final CharBuffer chars = CharBuffer.allocate(CHAR_BUFFER_SIZE);
+
+    private TextDecoder() {
+    }
+
+    /**
+     * @param charset character set to decode
+     * @return a reset decoder for the charset, replacing malformed and unmappable input; reused
+     * by the calling thread, so it must not be kept beyond decoding a single text
+     */
+    public static CharsetDecoder decoder(Charset charset) {
+        TextDecoder decoder = DECODERS.get();
+        if (decoder == null) {
+            decoder = new TextDecoder();
+            DECODERS.set(decoder);
+        }
+        return decoder.reset(charset);
+    }
+
+    /**
+     * Decode the stream to its end into the output, without closing either
+     *
+     * @param input bytes to decode
+     * @param charset character set of the bytes
+     * @param output receives the characters as they are decoded
+     * @param bufferSize number of bytes to read at a time
+     * @throws IOException when reading the input or appending to the output fails
+     */
+    public static void decode(InputStream input, Charset charset, Appendable output, int bufferSize) throws IOException {
+        // Taken from the thread while in use, in case the output decodes text itself
+        TextDecoder decoder = DECODERS.get();
+        if (decoder == null) {
+            decoder = new TextDecoder();
+        } else {
+            DECODERS.set(null);
+        }
+        byte[] buffer = BufferPool.acquire(Math.max(bufferSize, 16));
+        try {
+            decoder.decode(input, charset, output, buffer);
+        } finally {
+            BufferPool.release(buffer);
+            DECODERS.set(decoder);
+        }
+    }
+
+    private CharsetDecoder reset(Charset charset) {
+        if (decoder == null || !decoder.charset().equals(charset)) {
+            decoder = charset.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+        return decoder.reset();
+    }
+
+    private void decode(InputStream input, Charset charset, Appendable output, byte[] buffer) throws IOException {
+        CharsetDecoder decoder = reset(charset);
+        ByteBuffer bytes = ByteBuffer.wrap(buffer);
+        chars.clear();
+        while (true) {
+            // Read after the bytes of a character left incomplete by the previous read
+            int read = input.read(buffer, bytes.position(), bytes.remaining());
+            if (read == -1) {
+                break;
+            }
+            bytes.position(bytes.position() + read);
+            bytes.flip();
+            while (decoder.decode(bytes, chars, false).isOverflow()) {
+                flush(output);
+            }
+            bytes.compact();
+        }
+        bytes.flip();
+        while (decoder.decode(bytes, chars, true).isOverflow()) {
+            flush(output);
+        }
+        while (decoder.flush(chars).isOverflow()) {
+            flush(output);
+        }
+        flush(output);
+    }
+
+    /**
+     * Append the decoded characters to the output, copying them only once
+     */
+    private void flush(Appendable output) throws IOException {
+        chars.flip();
+        if (output instanceof StringBuilder) {
+            ((StringBuilder) output).append(chars.array(), 0, chars.limit());
+        } else if (output instanceof Writer) {
+            ((Writer) output).write(chars.array(), 0, chars.limit());
+        } else {
+            output.append(chars);
+        }
+        chars.clear();
+    }
+}
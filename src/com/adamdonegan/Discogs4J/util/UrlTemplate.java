@@ -0,0 +1,205 @@
+package com.adamdonegan.Discogs4J.util;
+
+import java.lang.reflect.Array;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A URL with {name} placeholders, parsed once and expanded many times.
+ * <p>
+ * Values are rendered straight into a builder sized for the URL, percent-encoded for where
+ * the placeholder appears: as a path segment (so a '/' in a value cannot add a segment) or
+ * as a query value (so '&amp;', '=' and '+' cannot add or change a parameter). Additional
+ * query parameters are encoded the same way.
+ * <pre>
+ * UrlTemplate release = UrlTemplate.compile("https://api.discogs.com/releases/{release_id}");
+ * release.expand("249504"); // https://api.discogs.com/releases/249504
+ * </pre>
+ */
+public final class UrlTemplate {
+
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Unreserved characters and sub-delimiters allowed unencoded in a path segment (RFC 3986 pchar)
+     */
+    private static final String PATH_SAFE = "-._~!$&'()*+,;=:@";
+
+    /**
+     * Unreserved characters, the only ones left unencoded in a query name or value
+     */
+    private static final String QUERY_SAFE = "-._~";
+
+    private final String template;
+    private final String[] literals;
+    private final String[] variables;
+    private final boolean[] inQuery;
+    private final boolean hasQuery;
+    private final int literalLength;
+
+    private UrlTemplate(String template, List<String> literals, List<String> variables, List<Boolean> inQuery) {
+        this.template = template;
+        this.literals = literals.toArray(new String[0]);
+        this.variables = variables.toArray(new String[0]);
+        this.inQuery = new boolean[inQuery.size()];
+        for (int i = 0; i < this.inQuery.length; i++) {
+            this.inQuery[i] = inQuery.get(i);
+        }
+        this.hasQuery = template.indexOf('?') >= 0;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * @param template URL with {name} placeholders
+     * @return the parsed template
+     * @throws IllegalArgumentException for an unterminated placeholder
+     */
+    public static UrlTemplate compile(String template) {
+        List<String> literals = new ArrayList<String>();
+        List<String> variables = new ArrayList<String>();
+        List<Boolean> inQuery = new ArrayList<Boolean>();
+        int queryStart = template.indexOf('?');
+        int position = 0;
+        int open;
+        while ((open = template.indexOf('{', position)) >= 0) {
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unterminated placeholder in " + template);
+            }
+            literals.add(template.substring(position, open));
+            variables.add(template.substring(open + 1, close));
+            inQuery.add(queryStart >= 0 && open > queryStart);
+            position = close + 1;
+        }
+        literals.add(template.substring(position));
+        return new UrlTemplate(template, literals, variables, inQuery);
+    }
+
+    /**
+     * @param values the value of each placeholder, in the order they appear in the template
+     * @return the URL
+     */
+    public String expand(String... values) {
+        return expand(null, values);
+    }
+
+    /**
+     * @param query additional query parameters, may be null; iterable and array values are
+     * sent as repeated name[]=value parameters, like {@link HttpRequest#append(CharSequence, Map)}
+     * @param values the value of each placeholder, in the order they appear in the template
+     * @return the URL
+     * @throws IllegalArgumentException when the number of values does not match the placeholders
+     */
+    public String expand(Map<?, ?> query, String... values) {
+        if (values.length != variables.length) {
+            throw new IllegalArgumentException("Expected " + variables.length + " values for " + template + " but got " + values.length);
+        }
+        int estimate = literalLength + (query != null ? query.size() * 16 : 0);
+        for (String value : values) {
+            estimate += value != null ? value.length() + 8 : 0;
+        }
+        StringBuilder url = new StringBuilder(estimate);
+        for (int i = 0; i < variables.length; i++) {
+            url.append(literals[i]);
+            if (values[i] == null) {
+                throw new NullPointerException("No value for {" + variables[i] + "} in " + template);
+            }
+            encode(values[i], inQuery[i] ? QUERY_SAFE : PATH_SAFE, url);
+        }
+        url.append(literals[literals.length - 1]);
+        if (query != null && !query.isEmpty()) {
+            appendQuery(url, query);
+        }
+        return url.toString();
+    }
+
+    /**
+     * @return the names of the placeholders, in the order they appear in the template
+     */
+    public List<String> getVariables() {
+        return Collections.unmodifiableList(Arrays.asList(variables));
+    }
+
+    public String getTemplate() {
+        return template;
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+
+    private void appendQuery(StringBuilder url, Map<?, ?> query) {
+        char separator = hasQuery ? '&' : '?';
+        for (Map.Entry<?, ?> entry : query.entrySet()) {
+            String name = String.valueOf(entry.getKey());
+            Object value = entry.getValue();
+            if (value != null && value.getClass().isArray()) {
+                value = arrayToIterable(value);
+            }
+            if (value instanceof Iterable) {
+                for (Object element : (Iterable<?>) value) {
+                    url.append(separator);
+                    encode(name + "[]", QUERY_SAFE, url);
+                    url.append('=');
+                    if (element != null) {
+                        encode(element.toString(), QUERY_SAFE, url);
+                    }
+                    separator = '&';
+                }
+            } else {
+                url.append(separator);
+                encode(name, QUERY_SAFE, url);
+                url.append('=');
+                if (value != null) {
+                    encode(value.toString(), QUERY_SAFE, url);
+                }
+                separator = '&';
+            }
+        }
+    }
+
+    private static Iterable<Object> arrayToIterable(Object array) {
+        List<Object> list = new ArrayList<Object>();
+        for (int i = 0, length = Array.getLength(array); i < length; i++) {
+            list.add(Array.get(array, i));
+        }
+        return list;
+    }
+
+    /**
+     * Percent-encode the UTF-8 bytes of all characters but letters, digits and the given safe characters
+     */
+    private static void encode(String value, String safe, StringBuilder url) {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || (c < 0x80 && safe.indexOf(c) >= 0)) {
+                url.append(c);
+            } else if (c < 0x80) {
+                percent(c, url);
+            } else {
+                int end = i + 1;
+                if (Character.isHighSurrogate(c) && end < length && Character.isLowSurrogate(value.charAt(end))) {
+                    end++;
+                }
+                for (byte b : value.substring(i, end).getBytes(StandardCharsets.UTF_8)) {
+                    percent(b & 0xFF, url);
+                }
+                i = end - 1;
+            }
+        }
+    }
+
+    private static void percent(int b, StringBuilder url) {
+        url.append('%').append(HEX[b >> 4]).append(HEX[b & 0xF]);
+    }
+}
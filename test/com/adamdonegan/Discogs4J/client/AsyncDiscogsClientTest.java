@@ -0,0 +1,106 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.Transport;
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.net.SocketException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class AsyncDiscogsClientTest {
+
+    private final Deque<Runnable> queued = new ArrayDeque<Runnable>();
+
+    @Test
+    void runsRequestsOnTheExecutor() {
+        AsyncDiscogsClient async = new AsyncDiscogsClient(client(request -> new FakeResponse(200, "{\"id\": 1}")), queued::add, 2);
+
+        CompletableFuture<String> release = async.release("1");
+        assertFalse(release.isDone());
+        assertEquals(1, queued.size());
+
+        queued.removeFirst().run();
+        assertEquals("{\"id\": 1}", release.join());
+    }
+
+    @Test
+    void completesExceptionallyWithTheFailureOfTheRequest() {
+        HttpRequestException reset = new HttpRequestException(new SocketException("Connection reset"));
+        AsyncDiscogsClient async = new AsyncDiscogsClient(client(request -> {
+            throw reset;
+        }), Runnable::run, 2);
+
+        CompletableFuture<String> release = async.release("1");
+        assertTrue(release.isCompletedExceptionally());
+        CompletionException failure = assertThrows(CompletionException.class, release::join);
+        assertSame(reset, failure.getCause());
+    }
+
+    @Test
+    void completesExceptionallyWithAnErrorResponse() {
+        AsyncDiscogsClient async = new AsyncDiscogsClient(client(request -> new FakeResponse(404, "{\"message\": \"Release not found.\"}")), Runnable::run, 2);
+
+        CompletionException failure = assertThrows(CompletionException.class, () -> async.getRelease("1").join());
+        DiscogsResponseException response = (DiscogsResponseException) failure.getCause();
+        assertEquals(404, response.getCode());
+        assertEquals("{\"message\": \"Release not found.\"}", response.getBody());
+    }
+
+    @Test
+    void closesOnlyTheExecutorItOwns() {
+        DiscogsClient client = client(request -> new FakeResponse(200, "{}"));
+        ExecutorService owned = Executors.newSingleThreadExecutor();
+        ExecutorService other = Executors.newSingleThreadExecutor();
+        ExecutorService given = Executors.newSingleThreadExecutor();
+        try {
+            AsyncDiscogsClient first = AsyncDiscogsClient.withOwnedExecutor(client, owned, 2);
+            AsyncDiscogsClient second = AsyncDiscogsClient.withOwnedExecutor(client, other, 2);
+            AsyncDiscogsClient caller = new AsyncDiscogsClient(client, given, 2);
+            assertEquals("{}", first.release("1").join());
+
+            first.close();
+            caller.close();
+            assertTrue(owned.isShutdown());
+            assertFalse(other.isShutdown());
+            assertFalse(given.isShutdown());
+            assertEquals("{}", second.release("1").join());
+            assertEquals("{}", caller.release("1").join());
+            assertThrows(RejectedExecutionException.class, () -> first.release("1"));
+        } finally {
+            other.shutdown();
+            given.shutdown();
+        }
+    }
+
+    @Test
+    void closesTheVirtualThreadsItCreated() {
+        assumeTrue(DiscogsExecutors.isVirtualThreadSupported());
+        AsyncDiscogsClient async = AsyncDiscogsClient.withVirtualThreads(client(request -> new FakeResponse(200, "{}")), 2);
+
+        assertEquals("{}", async.release("1").join());
+        async.close();
+        assertThrows(RejectedExecutionException.class, () -> async.release("1"));
+    }
+
+    @Test
+    void rejectsAnInvalidBulkConcurrency() {
+        assertThrows(IllegalArgumentException.class, () -> new AsyncDiscogsClient(client(request -> new FakeResponse(200, "")), Runnable::run, 0));
+    }
+
+    private static DiscogsClient client(Transport transport) {
+        return DiscogsClient.builder().userAgent("Discogs4J-test").transport(transport).build();
+    }
+}
@@ -0,0 +1,84 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.models.SignatureMethod;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthorizationHeaderTest {
+
+    private final List<String> authorizations = new ArrayList<String>();
+
+    @Test
+    void reusesThePersonalTokenHeader() {
+        DiscogsClient client = builder().personalAccessToken("token").build();
+
+        assertEquals("Discogs token=token", client.authenticatedHeader());
+        assertSame(client.authenticatedHeader(), client.authenticatedHeader());
+        assertSame(client.authenticatedHeader(), client.authenticatedHeader(HttpRequest.METHOD_GET, "https://api.discogs.com/releases/1"));
+
+        client.release("1");
+        client.release("2");
+        assertSame(authorizations.get(0), authorizations.get(1));
+    }
+
+    @Test
+    void reusesTheConsumerHeader() {
+        DiscogsClient client = builder().consumer("key", "secret").build();
+
+        assertEquals("Discogs key=key, secret=secret", client.authenticatedHeader());
+        assertSame(client.authenticatedHeader(), client.authenticatedHeader());
+    }
+
+    @Test
+    void buildsANewHeaderForNewCredentials() {
+        DiscogsClient client = builder().personalAccessToken("token").build();
+        DiscogsClient other = client.toBuilder().personalAccessToken("other").build();
+
+        assertEquals("Discogs token=other", other.authenticatedHeader());
+        assertEquals("Discogs token=token", client.authenticatedHeader());
+    }
+
+    @Test
+    void appendsAFreshNonceToTheCachedOAuthParameters() {
+        DiscogsClient client = builder()
+                .consumer("key", "secret")
+                .oauthToken("token", "token-secret")
+                .signatureMethod(SignatureMethod.PLAINTEXT)
+                .build();
+
+        String first = client.authenticatedHeader();
+        String second = client.authenticatedHeader();
+        String parameters = "OAuth oauth_consumer_key=\"key\", oauth_signature=\"secret&token-secret\", "
+                + "oauth_signature_method=\"PLAINTEXT\", oauth_token=\"token\", oauth_nonce=\"";
+        assertTrue(first.startsWith(parameters), first);
+        assertTrue(second.startsWith(parameters), second);
+        assertTrue(first.contains("oauth_timestamp=\""));
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void sendsNoHeaderWithoutCredentials() {
+        DiscogsClient client = builder().build();
+
+        assertEquals("", client.authenticatedHeader());
+        client.release("1");
+        assertEquals("", authorizations.get(0));
+    }
+
+    private DiscogsClient.Builder builder() {
+        return DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .transport(request -> {
+                    authorizations.add(request.header(HttpRequest.HEADER_AUTHORIZATION));
+                    return new FakeResponse(200, "{}");
+                });
+    }
+}
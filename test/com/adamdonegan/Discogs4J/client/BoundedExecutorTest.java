@@ -0,0 +1,86 @@
+package com.adamdonegan.Discogs4J.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedExecutorTest {
+
+    @Test
+    void runsAtMostTheMaximumNumberOfTasksAtOnce() throws InterruptedException {
+        ExecutorService threads = Executors.newCachedThreadPool();
+        BoundedExecutor executor = new BoundedExecutor(threads, 2);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        try {
+            for (int i = 0; i < 5; i++) {
+                executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    await(release);
+                    running.decrementAndGet();
+                });
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (executor.getWaitingCount() < 3 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(1);
+            }
+            assertEquals(2, executor.getActiveCount());
+            assertEquals(3, executor.getWaitingCount());
+
+            release.countDown();
+        } finally {
+            threads.shutdown();
+            assertTrue(threads.awaitTermination(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, maxRunning.get());
+        assertEquals(0, executor.getActiveCount());
+    }
+
+    @Test
+    void releasesThePermitOfAFailingTask() {
+        BoundedExecutor executor = new BoundedExecutor(Runnable::run, 1);
+
+        assertThrows(IllegalStateException.class, () -> executor.execute(() -> {
+            throw new IllegalStateException("Connection reset");
+        }));
+        assertEquals(0, executor.getActiveCount());
+
+        AtomicInteger ran = new AtomicInteger();
+        executor.execute(ran::incrementAndGet);
+        assertEquals(1, ran.get());
+    }
+
+    @Test
+    void takesNoPermitForARejectedTask() {
+        ExecutorService shutDown = Executors.newSingleThreadExecutor();
+        shutDown.shutdown();
+        BoundedExecutor executor = new BoundedExecutor(shutDown, 1);
+
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertEquals(0, executor.getActiveCount());
+        assertEquals(0, executor.getWaitingCount());
+    }
+
+    @Test
+    void rejectsAnInvalidMaximum() {
+        assertThrows(IllegalArgumentException.class, () -> new BoundedExecutor(Runnable::run, 0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
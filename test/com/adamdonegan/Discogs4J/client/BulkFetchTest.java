@@ -0,0 +1,124 @@
+package com.adamdonegan.Discogs4J.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BulkFetchTest {
+
+    private final List<String> fetched = Collections.synchronizedList(new ArrayList<String>());
+
+    @Test
+    void collectsResultsAndFailuresInTheOrderOfTheIds() throws Exception {
+        IllegalStateException broken = new IllegalStateException("Connection reset");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        try {
+            BulkFetch bulk = new BulkFetch(executor, 2, id -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    fetched.add(id);
+                    sleep(5);
+                    if (id.equals("3")) {
+                        throw broken;
+                    }
+                    return id.equals("4") ? new DiscogsResponse(404, "{\"message\": \"Release not found.\"}") : new DiscogsResponse(200, "{\"id\": " + id + "}");
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }, Arrays.asList("5", "4", "3", "2", "1", "2"));
+
+            BulkResult result = bulk.toResult().get(5, TimeUnit.SECONDS);
+
+            assertFalse(result.isSuccessful());
+            assertEquals(Arrays.asList("5", "2", "1"), new ArrayList<String>(result.getResults().keySet()));
+            assertEquals("{\"id\": 2}", result.getResults().get("2"));
+            assertEquals(Arrays.asList("4", "3"), new ArrayList<String>(result.getFailures().keySet()));
+            assertEquals(404, ((DiscogsResponseException) result.getFailures().get("4")).getCode());
+            assertSame(broken, result.getFailures().get("3"));
+            // Each id once, never more than the concurrency in flight
+            assertEquals(5, fetched.size());
+            assertTrue(maxInFlight.get() <= 2, String.valueOf(maxInFlight.get()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void streamsTheIdsAsTheyComplete() {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            BulkFetch bulk = new BulkFetch(executor, 3, id -> new DiscogsResponse(200, "{\"id\": " + id + "}"), Arrays.asList("1", "2", "3", "4"));
+
+            try (Stream<BulkResult.Item> items = bulk.toStream()) {
+                List<String> ids = items.map(BulkResult.Item::getId).sorted().collect(Collectors.toList());
+                assertEquals(Arrays.asList("1", "2", "3", "4"), ids);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void stopsFetchingWhenTheStreamIsClosed() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch second = new CountDownLatch(1);
+        try {
+            BulkFetch bulk = new BulkFetch(executor, 1, id -> {
+                fetched.add(id);
+                if (id.equals("2")) {
+                    await(second);
+                }
+                return new DiscogsResponse(200, "{\"id\": " + id + "}");
+            }, Arrays.asList("1", "2", "3", "4", "5"));
+
+            Stream<BulkResult.Item> items = bulk.toStream();
+            Iterator<BulkResult.Item> iterator = items.iterator();
+            assertEquals("1", iterator.next().getId());
+            long deadline = System.currentTimeMillis() + 5000;
+            while (fetched.size() < 2 && System.currentTimeMillis() < deadline) {
+                sleep(1);
+            }
+            // The worker is busy with the second id; the ids not started yet are dropped
+            items.close();
+            second.countDown();
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        }
+        assertEquals(Arrays.asList("1", "2"), fetched);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
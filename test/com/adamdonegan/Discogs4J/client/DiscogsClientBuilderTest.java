@@ -0,0 +1,130 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.models.AuthenticationType;
+import com.adamdonegan.Discogs4J.models.SignatureMethod;
+import com.adamdonegan.Discogs4J.transport.ConnectionPool;
+import com.adamdonegan.Discogs4J.transport.HttpClientTransport;
+import com.adamdonegan.Discogs4J.transport.HttpRequestTransport;
+import com.adamdonegan.Discogs4J.transport.Transport;
+import com.adamdonegan.Discogs4J.transport.TransportRequest;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiscogsClientBuilderTest {
+
+    @Test
+    void copiesEveryFieldWithToBuilder() {
+        Transport transport = request -> new FakeResponse(200, "{}");
+        RateLimiter rateLimiter = new RateLimiter(25);
+        RetryPolicy retryPolicy = new RetryPolicy();
+        ResponseCache responseCache = new ResponseCache(10, 100000, 1, TimeUnit.HOURS);
+        Executor prefetchExecutor = Runnable::run;
+        DiscogsClient client = DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .consumer("key", "secret")
+                .callbackUrl("https://example.com/callback")
+                .oauthToken("token", "token-secret")
+                .personalAccessToken("personal")
+                .authenticationType(AuthenticationType.OAUTH)
+                .signatureMethod(SignatureMethod.HMAC_SHA1)
+                .transport(transport)
+                .rateLimiter(rateLimiter)
+                .retryPolicy(retryPolicy)
+                .responseCache(responseCache)
+                .pagePrefetch(3, prefetchExecutor)
+                .debugEnabled(true)
+                .compressionEnabled(false)
+                .maxInMemorySize(4096)
+                .connectTimeout(Duration.ofSeconds(2))
+                .readTimeout(Duration.ofSeconds(5))
+                .build();
+
+        DiscogsClient copy = client.toBuilder().build();
+
+        assertEquals("Discogs4J-test", copy.getUserAgent());
+        assertEquals("key", copy.getConsumerKey());
+        assertEquals("secret", copy.getConsumerSecret());
+        assertEquals("https://example.com/callback", copy.getCallbackUrl());
+        assertEquals("token", copy.getOauthToken());
+        assertEquals("token-secret", copy.getOauthTokenSecret());
+        assertEquals("personal", copy.getPersonalAccessToken());
+        assertEquals(AuthenticationType.OAUTH, copy.getAuthenticationType());
+        assertEquals(SignatureMethod.HMAC_SHA1, copy.getSignatureMethod());
+        assertSame(transport, copy.getTransport());
+        assertSame(rateLimiter, copy.getRateLimiter());
+        assertSame(retryPolicy, copy.getRetryPolicy());
+        assertSame(responseCache, copy.getResponseCache());
+        assertEquals(3, copy.getPrefetchPages());
+        assertSame(prefetchExecutor, copy.getPrefetchExecutor());
+        assertTrue(copy.isDebugEnabled());
+        assertFalse(copy.isCompressionEnabled());
+        assertEquals(4096, copy.getMaxInMemorySize());
+
+        TransportRequest request = copy.createRequest(HttpRequest.METHOD_GET, "https://api.discogs.com/releases/1", "");
+        assertEquals(2000, request.connectTimeout());
+        assertEquals(5000, request.readTimeout());
+        assertEquals(4096, request.maxInMemorySize());
+        // The nonce and timestamp differ per header
+        String header = client.authenticatedHeader();
+        assertTrue(copy.authenticatedHeader().startsWith(header.substring(0, header.indexOf("oauth_nonce="))));
+    }
+
+    @Test
+    void derivesTheAuthenticationTypeOfACopyFromItsCredentials() {
+        DiscogsClient consumer = DiscogsClient.builder().userAgent("Discogs4J-test").consumer("key", "secret").build();
+        assertEquals(AuthenticationType.DISCOGS_CONSUMER_AUTH, consumer.getAuthenticationType());
+
+        DiscogsClient authorized = consumer.toBuilder().oauthToken("token", "token-secret").build();
+        assertEquals(AuthenticationType.OAUTH, authorized.getAuthenticationType());
+
+        DiscogsClient personal = DiscogsClient.builder().userAgent("Discogs4J-test").build().toBuilder().personalAccessToken("personal").build();
+        assertEquals(AuthenticationType.DISCOGS_PERSONAL_AUTH, personal.getAuthenticationType());
+        assertEquals("Discogs token=personal", personal.authenticatedHeader());
+    }
+
+    @Test
+    void keepsAnExplicitAuthenticationType() {
+        DiscogsClient client = DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .personalAccessToken("personal")
+                .authenticationType(AuthenticationType.NONE)
+                .build();
+
+        assertEquals(AuthenticationType.NONE, client.toBuilder().personalAccessToken("other").build().getAuthenticationType());
+    }
+
+    @Test
+    void defaultsToTheHttpRequestTransport() {
+        DiscogsClient client = DiscogsClient.builder().userAgent("Discogs4J-test").build();
+
+        assertEquals(HttpRequestTransport.class, client.getTransport().getClass());
+        assertEquals(AuthenticationType.NONE, client.getAuthenticationType());
+        assertEquals(SignatureMethod.PLAINTEXT, client.getSignatureMethod());
+        assertEquals(0, client.getMaxInMemorySize());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> DiscogsClient.builder().maxInMemorySize(-1));
+    }
+
+    @Test
+    void fallsBackToHttpRequestTransportWithoutHttpClient() {
+        ConnectionPool pool = new ConnectionPool(4);
+        DiscogsClient client = DiscogsClient.builder().userAgent("Discogs4J-test").preferHttpClient(pool).build();
+
+        // Only supported on Java 11 or later from the multi-release jar, see the java11-tests profile
+        assertEquals(!HttpClientTransport.isSupported(), client.getTransport() instanceof HttpRequestTransport);
+        assertSame(pool, client.getTransport().getConnectionPool());
+    }
+}
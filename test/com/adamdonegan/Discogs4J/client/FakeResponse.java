@@ -0,0 +1,64 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A canned response for tests, recording whether it was closed
+ */
+final class FakeResponse implements TransportResponse {
+
+    private final int code;
+    private final String body;
+    private final Map<String, String> headers = new HashMap<String, String>();
+    private boolean closed;
+
+    FakeResponse(int code, String body) {
+        this.code = code;
+        this.body = body;
+    }
+
+    FakeResponse header(String name, String value) {
+        headers.put(name.toLowerCase(), value);
+        return this;
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public int code() {
+        return code;
+    }
+
+    @Override
+    public String header(String name) {
+        return headers.get(name.toLowerCase());
+    }
+
+    @Override
+    public InputStream stream() {
+        return new ByteArrayInputStream(bytes());
+    }
+
+    @Override
+    public byte[] bytes() {
+        return body.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String body() {
+        return body;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+    }
+}
@@ -0,0 +1,59 @@
+package com.adamdonegan.Discogs4J.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OAuthNonceTest {
+
+    private static final int THREADS = 8;
+    private static final int NONCES_PER_THREAD = 10000;
+
+    @Test
+    void generatesUniqueNoncesAcrossThreads() throws InterruptedException {
+        Set<String> nonces = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int n = 0; n < NONCES_PER_THREAD; n++) {
+                    nonces.add(OAuthNonce.next());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(THREADS * NONCES_PER_THREAD, nonces.size());
+    }
+
+    @Test
+    void generatesNoncesMadeOfUnreservedCharacters() {
+        String nonce = OAuthNonce.next();
+
+        assertTrue(nonce.matches("[0-9a-f]+-[0-9a-f]+"), nonce);
+    }
+
+    @Test
+    void stampsInSecondsSinceTheEpoch() {
+        long now = System.currentTimeMillis() / 1000;
+
+        assertTrue(Math.abs(Long.parseLong(OAuthNonce.timestamp()) - now) <= 1);
+    }
+}
@@ -0,0 +1,82 @@
+package com.adamdonegan.Discogs4J.client;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OAuthSignerTest {
+
+    // RFC 5849 section 3.4.1: the example request and its signature base string
+    private static final String RFC_URL = "http://example.com/request?b5=%3D%253D&a3=a&c%40=&a2=r%20b";
+    private static final String RFC_BASE_STRING = "POST&http%3A%2F%2Fexample.com%2Frequest&a2%3Dr%2520b%26a3%3D2%2520q"
+            + "%26a3%3Da%26b5%3D%253D%25253D%26c%2540%3D%26c2%3D%26oauth_consumer_key%3D9djdj82h48djs9d2"
+            + "%26oauth_nonce%3D7d8f3e4a%26oauth_signature_method%3DHMAC-SHA1%26oauth_timestamp%3D137131201"
+            + "%26oauth_token%3Dkkk9d7dh3k39sjv7";
+
+    @Test
+    void signsTheRfcExample() throws Exception {
+        SecretKeySpec key = OAuthSigner.key("j49sk3j29djd", "dh893hdasih9");
+        String signature = OAuthSigner.start()
+                .parameters("oauth_consumer_key", "9djdj82h48djs9d2",
+                        "oauth_token", "kkk9d7dh3k39sjv7",
+                        "oauth_signature_method", "HMAC-SHA1",
+                        "oauth_timestamp", "137131201",
+                        "oauth_nonce", "7d8f3e4a")
+                .parameter("c2", "")
+                .parameter("a3", "2 q")
+                .sign(key, "POST", RFC_URL);
+
+        // The signature printed in the RFC does not match its own base string, so sign that instead
+        assertEquals(hmac("j49sk3j29djd&dh893hdasih9", RFC_BASE_STRING), signature);
+        assertEquals("r6/TJjbCOr97/+UU0NsvSne7s5g=", signature);
+    }
+
+    @Test
+    void normalizesTheBaseUri() throws Exception {
+        SecretKeySpec key = OAuthSigner.key("consumer", "");
+        String expected = hmac("consumer&", "GET&https%3A%2F%2Fapi.discogs.com%2Fdatabase%2Fsearch"
+                + "&oauth_nonce%3Dn%26q%3Drock%2520%2526%2520roll%26type%3Drelease");
+
+        assertEquals(expected, OAuthSigner.sign(key, "GET", "HTTPS://API.Discogs.com:443/database/search?q=rock+%26+roll&type=release#top",
+                "oauth_nonce", "n"));
+        assertEquals(expected, OAuthSigner.sign(key, "get", "https://api.discogs.com/database/search?type=release&q=rock%20%26%20roll",
+                "oauth_nonce", "n"));
+    }
+
+    @Test
+    void sortsParametersByEncodedNameThenValue() throws Exception {
+        SecretKeySpec key = OAuthSigner.key("consumer", "token");
+        String expected = hmac("consumer&token", "GET&http%3A%2F%2Fexample.com%3A8080%2F"
+                + "&a%3D1%26a%3D10%26a%3D2%26a%2520b%3D%26ab%3D");
+
+        assertEquals(expected, OAuthSigner.start()
+                .parameter("ab", null)
+                .parameter("a", "2")
+                .parameter("a b", "")
+                .parameter("a", "10")
+                .parameter("a", "1")
+                .sign(key, "GET", "http://example.com:8080/"));
+    }
+
+    @Test
+    void percentEncodesUtf8() {
+        assertEquals("AZaz09-._~", OAuthSigner.encode("AZaz09-._~"));
+        assertEquals("%20%21%2A%27%28%29%2B%2F%3D%26", OAuthSigner.encode(" !*'()+/=&"));
+        assertEquals("caf%C3%A9%E6%97%A5%F0%9F%98%80", OAuthSigner.encode("café日😀"));
+        // A lone surrogate is encoded as '?', as String#getBytes does
+        assertEquals("a%3Fb", OAuthSigner.encode("a\ud83db"));
+        assertEquals("", OAuthSigner.encode(null));
+        assertEquals("x%25", OAuthSigner.encode("%", new StringBuilder("x")).toString());
+    }
+
+    private static String hmac(String key, String baseString) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA1");
+        mac.init(new SecretKeySpec(key.getBytes(StandardCharsets.US_ASCII), "HmacSHA1"));
+        return Base64.getEncoder().encodeToString(mac.doFinal(baseString.getBytes(StandardCharsets.US_ASCII)));
+    }
+}
@@ -0,0 +1,100 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PageIteratorTest {
+
+    private static final String URL = "https://api.discogs.com/users/rick/wants";
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("[?&]page=(\\d+)");
+
+    private final List<String> requested = new ArrayList<String>();
+
+    @Test
+    void followsTheNextLinks() {
+        List<String> pages = PageIterator.stream(pages(3, 0), URL + "?per_page=2").collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(page(1, 3), page(2, 3), page(3, 3)), pages);
+        assertEquals(Arrays.asList(URL + "?per_page=2", URL + "?page=2&per_page=2", URL + "?page=3&per_page=2"), requested);
+    }
+
+    @Test
+    void fetchesEachPageOnlyWhenRequested() {
+        Iterator<String> pages = new PageIterator(pages(3, 0), URL);
+
+        assertTrue(pages.hasNext());
+        assertEquals(0, requested.size());
+        assertEquals(page(1, 3), pages.next());
+        assertEquals(1, requested.size());
+        assertEquals(Arrays.asList(page(1, 3), page(2, 3)), PageIterator.stream(pages(3, 0), URL).limit(2).collect(Collectors.toList()));
+        assertEquals(3, requested.size());
+    }
+
+    @Test
+    void endsWithoutANextLink() {
+        Iterator<String> pages = new PageIterator(url -> new FakeResponse(200, "{\"results\": []}"), URL);
+
+        assertEquals("{\"results\": []}", pages.next());
+        assertFalse(pages.hasNext());
+        assertThrows(NoSuchElementException.class, pages::next);
+    }
+
+    @Test
+    void failsOnAnErrorPage() {
+        Iterator<String> pages = new PageIterator(pages(3, 2), URL);
+
+        assertEquals(page(1, 3), pages.next());
+        DiscogsResponseException failure = assertThrows(DiscogsResponseException.class, pages::next);
+        assertEquals(429, failure.getCode());
+        assertFalse(pages.hasNext());
+    }
+
+    @Test
+    void failsTheClientStreamOnAnErrorPage() {
+        DiscogsClient client = DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .transport(request -> pages(3, 2).apply(request.url()))
+                .build();
+
+        List<String> read = new ArrayList<String>();
+        DiscogsResponseException failure = assertThrows(DiscogsResponseException.class, () -> client.pages(URL).forEach(read::add));
+        assertEquals(429, failure.getCode());
+        assertEquals(Arrays.asList(page(1, 3)), read);
+    }
+
+    /**
+     * @param count the number of pages
+     * @param failing the page answered with 429 Too Many Requests, 0 for none
+     */
+    private Function<String, TransportResponse> pages(int count, int failing) {
+        return url -> {
+            requested.add(url);
+            Matcher matcher = PAGE_PARAMETER.matcher(url);
+            int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+            if (page == failing) {
+                return new FakeResponse(429, "{\"message\": \"You are making requests too quickly.\"}");
+            }
+            return new FakeResponse(200, page(page, count));
+        };
+    }
+
+    static String page(int page, int pages) {
+        String next = page < pages ? ", \"urls\": {\"next\": \"" + URL + "?page=" + (page + 1) + "&per_page=2\"}" : ", \"urls\": {}";
+        return "{\"pagination\": {\"page\": " + page + ", \"pages\": " + pages + ", \"per_page\": 2" + next + "}, \"wants\": [" + page + "]}";
+    }
+}
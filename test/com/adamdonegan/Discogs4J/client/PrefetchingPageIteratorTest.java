@@ -0,0 +1,155 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefetchingPageIteratorTest {
+
+    private static final String URL = "https://api.discogs.com/users/rick/wants";
+    private static final Pattern PAGE_PARAMETER = Pattern.compile("[?&]page=(\\d+)");
+
+    private final List<String> requested = Collections.synchronizedList(new ArrayList<String>());
+    private final Deque<Runnable> queued = new ArrayDeque<Runnable>();
+
+    @Test
+    void returnsPagesInOrder() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            // Later pages answer sooner, so that they complete out of order
+            Function<String, TransportResponse> open = pages(8, 0, page -> sleep((8 - page) * 5));
+            List<String> pages = PrefetchingPageIterator.stream(open, URL + "?per_page=2", executor, 4).collect(Collectors.toList());
+
+            List<String> expected = new ArrayList<String>();
+            List<String> expectedUrls = new ArrayList<String>();
+            for (int page = 1; page <= 8; page++) {
+                expected.add(PageIteratorTest.page(page, 8));
+                expectedUrls.add(page == 1 ? URL + "?per_page=2" : URL + "?page=" + page + "&per_page=2");
+            }
+            assertEquals(expected, pages);
+            // Each page is requested once, with the other parameters of the next link kept
+            List<String> urls = new ArrayList<String>(requested);
+            Collections.sort(urls);
+            Collections.sort(expectedUrls);
+            assertEquals(expectedUrls, urls);
+        } finally {
+            executor.shutdown();
+            assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void fetchesAtMostThePrefetchAhead() {
+        PrefetchingPageIterator pages = new PrefetchingPageIterator(pages(10, 0, page -> { }), URL, queued::add, 3);
+
+        assertEquals(PageIteratorTest.page(1, 10), pages.next());
+        assertEquals(Arrays.asList(URL), requested);
+        assertEquals(3, queued.size());
+
+        runQueued();
+        assertEquals(Arrays.asList(URL, URL + "?page=2&per_page=2", URL + "?page=3&per_page=2", URL + "?page=4&per_page=2"), requested);
+        assertEquals(PageIteratorTest.page(2, 10), pages.next());
+        assertEquals(1, queued.size());
+    }
+
+    @Test
+    void failsOnAnErrorPageAndCancelsTheRest() {
+        PrefetchingPageIterator pages = new PrefetchingPageIterator(pages(5, 2, page -> { }), URL, queued::add, 3);
+
+        assertEquals(PageIteratorTest.page(1, 5), pages.next());
+        queued.removeFirst().run();
+        DiscogsResponseException failure = assertThrows(DiscogsResponseException.class, pages::next);
+        assertEquals(429, failure.getCode());
+        assertFalse(pages.hasNext());
+
+        // The pages fetched ahead of the error are cancelled before they are requested
+        runQueued();
+        assertEquals(Arrays.asList(URL, URL + "?page=2&per_page=2"), requested);
+    }
+
+    @Test
+    void cancelsThePagesAheadWhenClosed() {
+        Stream<String> pages = PrefetchingPageIterator.stream(pages(5, 0, page -> { }), URL, queued::add, 3);
+
+        assertEquals(PageIteratorTest.page(1, 5), pages.findFirst().orElse(null));
+        pages.close();
+        runQueued();
+        assertEquals(Arrays.asList(URL), requested);
+    }
+
+    @Test
+    void followsNextLinksWithoutAPageParameter() {
+        Function<String, TransportResponse> open = url -> {
+            requested.add(url);
+            if (url.endsWith("cursor=b")) {
+                return new FakeResponse(200, "{\"pagination\": {\"page\": 2, \"pages\": 2, \"urls\": {}}}");
+            }
+            return new FakeResponse(200, "{\"pagination\": {\"page\": 1, \"pages\": 2, \"urls\": {\"next\": \"" + URL + "?cursor=b\"}}}");
+        };
+
+        assertEquals(2, PrefetchingPageIterator.stream(open, URL, queued::add, 3).count());
+        assertEquals(Arrays.asList(URL, URL + "?cursor=b"), requested);
+        assertTrue(queued.isEmpty());
+    }
+
+    @Test
+    void rejectsAnInvalidPrefetch() {
+        assertThrows(IllegalArgumentException.class, () -> new PrefetchingPageIterator(pages(1, 0, page -> { }), URL, Runnable::run, 0));
+    }
+
+    private void runQueued() {
+        while (!queued.isEmpty()) {
+            queued.removeFirst().run();
+        }
+    }
+
+    /**
+     * @param count the number of pages
+     * @param failing the page answered with 429 Too Many Requests, 0 for none
+     * @param delay called with the page number before answering
+     */
+    private Function<String, TransportResponse> pages(int count, int failing, PageDelay delay) {
+        return url -> {
+            requested.add(url);
+            Matcher matcher = PAGE_PARAMETER.matcher(url);
+            int page = matcher.find() ? Integer.parseInt(matcher.group(1)) : 1;
+            delay.await(page);
+            if (page == failing) {
+                return new FakeResponse(429, "{\"message\": \"You are making requests too quickly.\"}");
+            }
+            return new FakeResponse(200, PageIteratorTest.page(page, count));
+        };
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface PageDelay {
+
+        void await(int page);
+    }
+}
@@ -0,0 +1,93 @@
+package com.adamdonegan.Discogs4J.client;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    @Test
+    void appliesTheRemainingBudgetOfTheServer() {
+        RateLimiter limiter = new RateLimiter();
+
+        limiter.update(new FakeResponse(200, "")
+                .header(RateLimiter.HEADER_RATELIMIT, "25")
+                .header(RateLimiter.HEADER_RATELIMIT_REMAINING, "3"));
+        assertEquals(25, limiter.getLimit());
+        assertEquals(3, limiter.getAvailableTokens());
+
+        // Without a remaining count, the count used is subtracted from the limit
+        limiter.update(new FakeResponse(200, "")
+                .header(RateLimiter.HEADER_RATELIMIT, "25")
+                .header(RateLimiter.HEADER_RATELIMIT_USED, "24"));
+        assertEquals(1, limiter.getAvailableTokens());
+    }
+
+    @Test
+    void ignoresMissingAndInvalidHeaders() {
+        RateLimiter limiter = new RateLimiter(10);
+
+        limiter.update(new FakeResponse(200, ""));
+        limiter.update(new FakeResponse(200, "")
+                .header(RateLimiter.HEADER_RATELIMIT, "many")
+                .header(RateLimiter.HEADER_RATELIMIT_REMAINING, " "));
+        assertEquals(10, limiter.getLimit());
+        assertEquals(10, limiter.getAvailableTokens());
+    }
+
+    @Test
+    void neverHoldsMoreTokensThanTheLimit() {
+        RateLimiter limiter = new RateLimiter(60);
+
+        limiter.update(5, 100);
+        assertEquals(5, limiter.getLimit());
+        assertEquals(5, limiter.getAvailableTokens());
+    }
+
+    @Test
+    void refillsAtTheRateOfTheLimit() throws InterruptedException {
+        // A token every 10 milliseconds
+        RateLimiter limiter = new RateLimiter(6000);
+        limiter.update(6000, 0);
+        assertEquals(0, limiter.getAvailableTokens());
+
+        Thread.sleep(100);
+        int available = limiter.getAvailableTokens();
+        assertTrue(available >= 5 && available < 6000, String.valueOf(available));
+    }
+
+    @Test
+    void waitsForTheNextTokenWhenEmpty() {
+        // A token every 100 milliseconds
+        RateLimiter limiter = new RateLimiter(600);
+        limiter.update(600, 1);
+
+        long start = System.nanoTime();
+        limiter.acquire();
+        assertTrue(System.nanoTime() - start < 50_000_000L);
+        limiter.acquire();
+        assertTrue(System.nanoTime() - start >= 50_000_000L);
+    }
+
+    @Test
+    void pacesTheClientWithTheHeadersOfItsResponses() {
+        RateLimiter limiter = new RateLimiter();
+        DiscogsClient client = DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .rateLimiter(limiter)
+                .transport(request -> new FakeResponse(200, "{}")
+                        .header(RateLimiter.HEADER_RATELIMIT, "60")
+                        .header(RateLimiter.HEADER_RATELIMIT_REMAINING, "7"))
+                .build();
+
+        client.release("1");
+        assertEquals(7, limiter.getAvailableTokens());
+    }
+
+    @Test
+    void rejectsAnInvalidLimit() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0));
+    }
+}
@@ -0,0 +1,99 @@
+package com.adamdonegan.Discogs4J.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResponseCacheTest {
+
+    @Test
+    void returnsStoredBodies() {
+        ResponseCache cache = new ResponseCache(10, 1000, 1, TimeUnit.HOURS);
+        cache.put("a", "{\"id\": 1}");
+
+        assertEquals("{\"id\": 1}", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(18, cache.getWeight());
+
+        cache.put("a", "{}");
+        assertEquals("{}", cache.get("a"));
+        assertEquals(1, cache.size());
+        assertEquals(4, cache.getWeight());
+
+        cache.invalidate("a");
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedEntries() {
+        ResponseCache cache = new ResponseCache(2, 1000, 1, TimeUnit.HOURS);
+        cache.put("a", "1");
+        cache.put("b", "2");
+        cache.get("a");
+        cache.put("c", "3");
+
+        assertEquals("1", cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals("3", cache.get("c"));
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void staysWithinTheMaximumWeight() {
+        // Two characters weigh four bytes
+        ResponseCache cache = new ResponseCache(10, 10, 1, TimeUnit.HOURS);
+        cache.put("a", "aa");
+        cache.put("b", "bb");
+        cache.put("c", "cc");
+
+        assertNull(cache.get("a"));
+        assertEquals(8, cache.getWeight());
+
+        // Never stored at all when heavier than the maximum by itself
+        cache.put("d", "dddddd");
+        assertNull(cache.get("d"));
+        assertEquals("bb", cache.get("b"));
+        assertEquals("cc", cache.get("c"));
+    }
+
+    @Test
+    void expiresEntriesAfterTheirTimeToLive() {
+        ResponseCache cache = new ResponseCache(10, 1000, 0, TimeUnit.SECONDS);
+        cache.put("a", "1");
+
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    void keepsExpiredEntriesWithValidatorsForRevalidation() {
+        ResponseCache cache = new ResponseCache(10, 1000, 0, TimeUnit.SECONDS);
+        cache.put("a", "1", "\"v1\"", null);
+
+        assertNull(cache.get("a"));
+        ResponseCache.CachedResponse expired = cache.getForRevalidation("a");
+        assertNotNull(expired);
+        assertEquals("1", expired.getBody());
+        assertEquals("\"v1\"", expired.getETag());
+        assertNull(expired.getLastModified());
+
+        cache.revalidated("a", expired);
+        assertEquals(1, cache.getRevalidationCount());
+        assertEquals("1", cache.getForRevalidation("a").getBody());
+    }
+
+    @Test
+    void rejectsInvalidBounds() {
+        assertThrows(IllegalArgumentException.class, () -> new ResponseCache(0, 1000, 1, TimeUnit.HOURS));
+        assertThrows(IllegalArgumentException.class, () -> new ResponseCache(10, 0, 1, TimeUnit.HOURS));
+    }
+}
@@ -0,0 +1,88 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ResponseSizeLimitTest {
+
+    private static final String INVENTORY = "{\"pagination\": {\"page\": 1, \"pages\": 1}, \"listings\": [{\"id\": 1}, {\"id\": 2}]}";
+
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = INVENTORY.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        url = "http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort() + "/users/rick/inventory";
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void capsStringBodiesAndSpillsBufferBodies() {
+        DiscogsClient client = DiscogsClient.builder().userAgent("Discogs4J-test").maxInMemorySize(16).build();
+
+        assertThrows(HttpRequestException.class, () -> client.genericGet(url));
+
+        ByteBuffer buffer = client.genericGetBuffer(url);
+        assertTrue(buffer instanceof MappedByteBuffer);
+        assertEquals(INVENTORY, StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    @Test
+    void readsBufferBodiesWithinTheLimitOntoTheHeap() {
+        DiscogsClient client = DiscogsClient.builder().userAgent("Discogs4J-test").maxInMemorySize(1024).build();
+
+        assertEquals(INVENTORY, client.genericGet(url));
+        ByteBuffer buffer = client.genericGetBuffer(url);
+        assertFalse(buffer instanceof MappedByteBuffer);
+        assertEquals(INVENTORY, StandardCharsets.UTF_8.decode(buffer).toString());
+    }
+
+    @Test
+    void routesInventoryAndSearchThroughTheBufferPath() {
+        List<String> urls = new ArrayList<String>();
+        DiscogsClient client = DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .transport(request -> {
+                    urls.add(request.url());
+                    return new FakeResponse(200, INVENTORY);
+                })
+                .build();
+
+        assertEquals(INVENTORY, StandardCharsets.UTF_8.decode(client.inventoryBuffer("rick", client.optionalParamsToMap("per_page", "100"))).toString());
+        assertEquals(INVENTORY, StandardCharsets.UTF_8.decode(client.searchBuffer("never gonna", null)).toString());
+        assertEquals("https://api.discogs.com/users/rick/inventory?per_page=100", urls.get(0));
+        assertTrue(urls.get(1).startsWith("https://api.discogs.com/database/search?q=never"));
+    }
+}
@@ -0,0 +1,191 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.Transport;
+import com.adamdonegan.Discogs4J.transport.TransportRequest;
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.SocketException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetryPolicyTest {
+
+    private static final TransportRequest GET = new TransportRequest(HttpRequest.METHOD_GET, "https://api.discogs.com/releases/1");
+    private static final TransportRequest POST = new TransportRequest(HttpRequest.METHOD_POST, "https://api.discogs.com/marketplace/listings");
+
+    @Test
+    void retriesTransientResponses() {
+        FakeResponse tooMany = new FakeResponse(429, "");
+        FakeResponse unavailable = new FakeResponse(503, "");
+        FakeResponse badGateway = new FakeResponse(502, "");
+        FakeResponse ok = new FakeResponse(200, "{}");
+        RetryPolicy policy = new RetryPolicy().baseDelay(0);
+
+        assertSame(ok, policy.execute(() -> GET, respond(tooMany, unavailable, badGateway, ok)));
+        assertTrue(tooMany.isClosed());
+        assertTrue(unavailable.isClosed());
+        assertTrue(badGateway.isClosed());
+        assertFalse(ok.isClosed());
+        assertEquals(4, policy.getAttempts());
+        assertEquals(3, policy.getRetries());
+        assertEquals(0, policy.getGiveUps());
+    }
+
+    @Test
+    void returnsOtherResponsesAtOnce() {
+        RetryPolicy policy = new RetryPolicy().baseDelay(0);
+
+        for (int code : new int[] {200, 304, 404, 500}) {
+            FakeResponse response = new FakeResponse(code, "");
+            assertSame(response, policy.execute(() -> GET, respond(response)));
+        }
+        assertEquals(4, policy.getAttempts());
+        assertEquals(0, policy.getRetries());
+    }
+
+    @Test
+    void returnsTheLastResponseWhenGivingUp() {
+        FakeResponse first = new FakeResponse(503, "");
+        FakeResponse last = new FakeResponse(503, "down");
+        RetryPolicy policy = new RetryPolicy().maxAttempts(2).baseDelay(0);
+
+        assertSame(last, policy.execute(() -> GET, respond(first, last, new FakeResponse(200, ""))));
+        assertTrue(first.isClosed());
+        assertFalse(last.isClosed());
+        assertEquals(1, policy.getRetries());
+        assertEquals(1, policy.getGiveUps());
+    }
+
+    @Test
+    void waitsAsLongAsRetryAfterAsks() {
+        String past = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).minusMinutes(1));
+        FakeResponse delaySeconds = new FakeResponse(429, "").header(RetryPolicy.HEADER_RETRY_AFTER, "0");
+        FakeResponse date = new FakeResponse(429, "").header(RetryPolicy.HEADER_RETRY_AFTER, past);
+        FakeResponse ok = new FakeResponse(200, "");
+        // A base delay that would fail the test by its duration if Retry-After were ignored
+        RetryPolicy policy = new RetryPolicy().baseDelay(60000).maxDelay(60000).maxElapsed(1000);
+
+        assertSame(ok, policy.execute(() -> GET, respond(delaySeconds, date, ok)));
+        assertEquals(2, policy.getRetries());
+
+        // Waiting longer than the time budget allows is giving up right away
+        FakeResponse later = new FakeResponse(429, "").header(RetryPolicy.HEADER_RETRY_AFTER, "120");
+        assertSame(later, policy.execute(() -> GET, respond(later, ok)));
+        assertEquals(2, policy.getRetries());
+        assertEquals(1, policy.getGiveUps());
+    }
+
+    @Test
+    void retriesWritesOnlyWhenEnabled() {
+        FakeResponse unavailable = new FakeResponse(503, "");
+        FakeResponse ok = new FakeResponse(201, "");
+
+        assertSame(unavailable, new RetryPolicy().baseDelay(0).execute(() -> POST, respond(unavailable, ok)));
+        assertSame(ok, new RetryPolicy().baseDelay(0).retryWrites(true).execute(() -> POST, respond(new FakeResponse(503, ""), ok)));
+    }
+
+    @Test
+    void retriesIoFailures() {
+        RetryPolicy policy = new RetryPolicy().maxAttempts(3).baseDelay(0);
+        FakeResponse ok = new FakeResponse(200, "");
+        Deque<Object> outcomes = new ArrayDeque<Object>(Arrays.asList(new SocketException("Connection reset"), ok));
+        assertSame(ok, policy.execute(() -> GET, request -> next(outcomes)));
+
+        List<TransportRequest> sent = new ArrayList<TransportRequest>();
+        HttpRequestException failure = assertThrows(HttpRequestException.class, () -> policy.execute(() -> GET, request -> {
+            sent.add(request);
+            throw new HttpRequestException(new SocketException("Connection reset " + sent.size()));
+        }));
+        assertEquals("Connection reset 3", failure.getCause().getMessage());
+        assertEquals(1, policy.getGiveUps());
+    }
+
+    @Test
+    void retriesFailuresToReadTheBody() {
+        RetryPolicy policy = new RetryPolicy().baseDelay(0);
+        FakeResponse reset = new FakeResponse(200, "");
+        FakeResponse ok = new FakeResponse(200, "{}");
+
+        String body = policy.execute(() -> GET, respond(reset, ok), response -> {
+            if (response == reset) {
+                throw new HttpRequestException(new SocketException("Connection reset"));
+            }
+            return response.body();
+        });
+        assertEquals("{}", body);
+        assertTrue(reset.isClosed());
+        assertEquals(1, policy.getRetries());
+
+        // A write is not repeated because its response could not be read
+        assertThrows(HttpRequestException.class, () -> policy.execute(() -> POST, respond(reset, ok), response -> {
+            throw new HttpRequestException(new SocketException("Connection reset"));
+        }));
+        assertEquals(1, policy.getRetries());
+    }
+
+    @Test
+    void takesANewRequestForEachAttempt() {
+        RetryPolicy policy = new RetryPolicy().baseDelay(0);
+        List<TransportRequest> supplied = new ArrayList<TransportRequest>();
+        List<TransportRequest> sent = new ArrayList<TransportRequest>();
+        Deque<TransportResponse> responses = new ArrayDeque<TransportResponse>(Arrays.asList(new FakeResponse(503, ""), new FakeResponse(200, "")));
+
+        policy.execute(() -> {
+            TransportRequest request = new TransportRequest(HttpRequest.METHOD_GET, "https://api.discogs.com/releases/1");
+            supplied.add(request);
+            return request;
+        }, request -> {
+            sent.add(request);
+            return responses.removeFirst();
+        });
+        assertEquals(2, supplied.size());
+        assertEquals(supplied, sent);
+    }
+
+    @Test
+    void doesNotRetryInterruptions() {
+        RetryPolicy policy = new RetryPolicy().baseDelay(0);
+        Deque<Object> outcomes = new ArrayDeque<Object>(Arrays.asList(new InterruptedIOException(), new FakeResponse(200, "")));
+
+        assertThrows(HttpRequestException.class, () -> policy.execute(() -> GET, request -> next(outcomes)));
+        assertEquals(1, policy.getAttempts());
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new RetryPolicy().maxAttempts(0));
+    }
+
+    private static Transport respond(TransportResponse... responses) {
+        Deque<Object> outcomes = new ArrayDeque<Object>(Arrays.asList((Object[]) responses));
+        return request -> next(outcomes);
+    }
+
+    /**
+     * @return the next response, or throw the next exception
+     */
+    private static TransportResponse next(Deque<Object> outcomes) {
+        Object outcome = outcomes.removeFirst();
+        if (outcome instanceof IOException) {
+            throw new HttpRequestException((IOException) outcome);
+        }
+        return (TransportResponse) outcome;
+    }
+}
@@ -0,0 +1,79 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.models.SignatureMethod;
+import com.adamdonegan.Discogs4J.transport.TransportRequest;
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RetrySigningTest {
+
+    private final List<String> authorizations = new ArrayList<String>();
+    private final Deque<TransportResponse> responses = new ArrayDeque<TransportResponse>();
+
+    @Test
+    void signsEachAttemptWithAFreshNonce() {
+        respond(new FakeResponse(503, ""), new FakeResponse(429, ""), new FakeResponse(200, "{\"id\": 1}"));
+        DiscogsClient client = client(SignatureMethod.HMAC_SHA1);
+
+        assertEquals("{\"id\": 1}", client.release("1"));
+        assertEquals(3, authorizations.size());
+        assertEquals(3, new HashSet<String>(authorizations).size());
+        for (String authorization : authorizations) {
+            assertTrue(authorization.contains("oauth_signature=\""));
+        }
+    }
+
+    @Test
+    void signsEachPlaintextAttemptWithAFreshNonce() {
+        respond(new FakeResponse(502, ""), new FakeResponse(200, "{}"));
+        DiscogsClient client = client(SignatureMethod.PLAINTEXT);
+
+        assertEquals("{}", client.genericGet("https://api.discogs.com/oauth/identity"));
+        assertEquals(2, new HashSet<String>(authorizations).size());
+    }
+
+    @Test
+    void keepsStaticCredentialsAcrossAttempts() {
+        respond(new FakeResponse(503, ""), new FakeResponse(200, "{}"));
+        DiscogsClient client = DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .personalAccessToken("token")
+                .retryPolicy(new RetryPolicy().baseDelay(0))
+                .transport(this::send)
+                .build();
+
+        assertEquals("{}", client.release("1"));
+        assertEquals(Arrays.asList("Discogs token=token", "Discogs token=token"), authorizations);
+    }
+
+    private DiscogsClient client(SignatureMethod signatureMethod) {
+        return DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .consumer("key", "secret")
+                .oauthToken("token", "token-secret")
+                .signatureMethod(signatureMethod)
+                .retryPolicy(new RetryPolicy().baseDelay(0))
+                .transport(this::send)
+                .build();
+    }
+
+    private TransportResponse send(TransportRequest request) {
+        authorizations.add(request.header(HttpRequest.HEADER_AUTHORIZATION));
+        return responses.removeFirst();
+    }
+
+    private void respond(TransportResponse... next) {
+        responses.addAll(Arrays.asList(next));
+    }
+}
@@ -0,0 +1,147 @@
+package com.adamdonegan.Discogs4J.client;
+
+import com.adamdonegan.Discogs4J.transport.TransportRequest;
+import com.adamdonegan.Discogs4J.transport.TransportResponse;
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RevalidationTest {
+
+    private final List<TransportRequest> sent = new ArrayList<TransportRequest>();
+    private final Deque<TransportResponse> responses = new ArrayDeque<TransportResponse>();
+
+    @Test
+    void revalidatesUserResourcesOnEveryRequest() {
+        ResponseCache cache = new ResponseCache(10, 100000, 1, TimeUnit.HOURS);
+        DiscogsClient client = client(cache);
+        FakeResponse notModified = new FakeResponse(304, "");
+        respond(new FakeResponse(200, "{\"name\": \"v1\"}").header(HttpRequest.HEADER_ETAG, "\"v1\""),
+                notModified,
+                new FakeResponse(200, "{\"name\": \"v2\"}").header(HttpRequest.HEADER_ETAG, "\"v2\""),
+                new FakeResponse(304, ""));
+
+        assertEquals("{\"name\": \"v1\"}", client.profile("rick"));
+        assertNull(sent.get(0).header(HttpRequest.HEADER_IF_NONE_MATCH));
+
+        assertEquals("{\"name\": \"v1\"}", client.profile("rick"));
+        assertEquals("\"v1\"", sent.get(1).header(HttpRequest.HEADER_IF_NONE_MATCH));
+        assertTrue(notModified.isClosed());
+        assertEquals(1, cache.getRevalidationCount());
+
+        assertEquals("{\"name\": \"v2\"}", client.profile("rick"));
+        assertEquals("\"v1\"", sent.get(2).header(HttpRequest.HEADER_IF_NONE_MATCH));
+
+        assertEquals("{\"name\": \"v2\"}", client.profile("rick"));
+        assertEquals("\"v2\"", sent.get(3).header(HttpRequest.HEADER_IF_NONE_MATCH));
+        assertEquals(2, cache.getRevalidationCount());
+    }
+
+    @Test
+    void doesNotCacheUserResourcesWithoutValidators() {
+        ResponseCache cache = new ResponseCache(10, 100000, 1, TimeUnit.HOURS);
+        DiscogsClient client = client(cache);
+        respond(new FakeResponse(200, "{\"name\": \"v1\"}"), new FakeResponse(200, "{\"name\": \"v2\"}"));
+
+        assertEquals("{\"name\": \"v1\"}", client.profile("rick"));
+        assertEquals("{\"name\": \"v2\"}", client.profile("rick"));
+        assertNull(sent.get(1).header(HttpRequest.HEADER_IF_NONE_MATCH));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void reusesDatabaseResourcesUntilTheyExpire() {
+        DiscogsClient client = client(new ResponseCache(10, 100000, 1, TimeUnit.HOURS));
+        respond(new FakeResponse(200, "{\"id\": 1}"));
+
+        assertEquals("{\"id\": 1}", client.release("1"));
+        assertEquals("{\"id\": 1}", client.release("1"));
+        assertEquals(1, sent.size());
+    }
+
+    @Test
+    void revalidatesExpiredDatabaseResources() {
+        ResponseCache cache = new ResponseCache(10, 100000, 0, TimeUnit.SECONDS);
+        DiscogsClient client = client(cache);
+        String lastModified = "Wed, 21 Oct 2015 07:28:00 GMT";
+        respond(new FakeResponse(200, "{\"id\": 1}").header(HttpRequest.HEADER_LAST_MODIFIED, lastModified),
+                new FakeResponse(304, ""));
+
+        assertEquals("{\"id\": 1}", client.release("1"));
+        assertEquals("{\"id\": 1}", client.release("1"));
+        assertEquals(2, sent.size());
+        assertEquals(lastModified, sent.get(1).header(HttpRequest.HEADER_IF_MODIFIED_SINCE));
+        assertEquals(1, cache.getRevalidationCount());
+    }
+
+    @Test
+    void doesNotCacheFailedResponses() {
+        ResponseCache cache = new ResponseCache(10, 100000, 1, TimeUnit.HOURS);
+        DiscogsClient client = client(cache);
+        respond(new FakeResponse(404, "{\"message\": \"Release not found.\"}"), new FakeResponse(200, "{\"id\": 1}"));
+
+        assertEquals("{\"message\": \"Release not found.\"}", client.release("1"));
+        assertEquals("{\"id\": 1}", client.release("1"));
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    void keysUserResourcesOnAHashOfTheCredentials() {
+        List<String> keys = new ArrayList<String>();
+        ResponseCache cache = new ResponseCache(10, 100000, 1, TimeUnit.HOURS) {
+            @Override
+            public synchronized void put(String url, String body, String eTag, String lastModified) {
+                keys.add(url);
+                super.put(url, body, eTag, lastModified);
+            }
+        };
+        respond(new FakeResponse(200, "{\"name\": \"rick\"}").header(HttpRequest.HEADER_ETAG, "\"v1\""),
+                new FakeResponse(304, ""),
+                new FakeResponse(200, "{\"name\": \"other\"}").header(HttpRequest.HEADER_ETAG, "\"v1\""));
+
+        client(cache, "personal-secret").profile("rick");
+        assertEquals(1, keys.size());
+        assertFalse(keys.get(0).contains("personal-secret"));
+        assertTrue(keys.get(0).endsWith(" https://api.discogs.com/users/rick"));
+
+        // Clients with the same credentials share entries, others do not
+        assertEquals("{\"name\": \"rick\"}", client(cache, "personal-secret").profile("rick"));
+        assertEquals("\"v1\"", sent.get(1).header(HttpRequest.HEADER_IF_NONE_MATCH));
+        assertEquals("{\"name\": \"other\"}", client(cache, "other-secret").profile("rick"));
+        assertNull(sent.get(2).header(HttpRequest.HEADER_IF_NONE_MATCH));
+        assertEquals(2, keys.size());
+    }
+
+    private DiscogsClient client(ResponseCache cache) {
+        return builder(cache).build();
+    }
+
+    private DiscogsClient client(ResponseCache cache, String personalAccessToken) {
+        return builder(cache).personalAccessToken(personalAccessToken).build();
+    }
+
+    private DiscogsClient.Builder builder(ResponseCache cache) {
+        return DiscogsClient.builder()
+                .userAgent("Discogs4J-test")
+                .transport(request -> {
+                    sent.add(request);
+                    return responses.removeFirst();
+                })
+                .responseCache(cache);
+    }
+
+    private void respond(TransportResponse... next) {
+        responses.addAll(Arrays.asList(next));
+    }
+}
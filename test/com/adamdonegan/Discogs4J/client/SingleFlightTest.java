@@ -0,0 +1,111 @@
+package com.adamdonegan.Discogs4J.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SingleFlightTest {
+
+    private static final int WAITERS = 3;
+
+    private final SingleFlight<String> flights = new SingleFlight<String>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(WAITERS + 1);
+
+    @Test
+    void sharesTheResultOfTheCallInFlight() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = startWhileInFlight(() -> {
+                calls.incrementAndGet();
+                await(release);
+                return "{\"id\": 1}";
+            }, release);
+
+            for (Future<String> result : results) {
+                assertEquals("{\"id\": 1}", result.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(1, flights.getExecutedCount());
+            assertEquals(WAITERS, flights.getSharedCount());
+
+            // Once completed, the next call is executed again
+            assertEquals("{\"id\": 2}", flights.execute("releases/1", () -> "{\"id\": 2}"));
+            assertEquals(2, flights.getExecutedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void propagatesTheFailureToTheWaiters() throws Exception {
+        DiscogsResponseException failure = new DiscogsResponseException(429, "{\"message\": \"You are making requests too quickly.\"}");
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            List<Future<String>> results = startWhileInFlight(() -> {
+                await(release);
+                throw failure;
+            }, release);
+
+            for (Future<String> result : results) {
+                ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                assertSame(failure, thrown.getCause());
+            }
+            assertEquals(1, flights.getExecutedCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void executesDifferentKeysSeparately() {
+        assertEquals("a", flights.execute("releases/1", () -> flights.execute("releases/2", () -> "a")));
+        assertEquals(2, flights.getExecutedCount());
+        assertEquals(0, flights.getSharedCount());
+    }
+
+    /**
+     * Start a call and, while it is in flight, identical calls waiting for it; then let the first call complete
+     *
+     * @return the results of all calls, the executing one first
+     */
+    private List<Future<String>> startWhileInFlight(Supplier<String> call, CountDownLatch release)
+            throws InterruptedException {
+        List<Future<String>> results = new ArrayList<Future<String>>();
+        results.add(executor.submit(() -> flights.execute("releases/1", call)));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (flights.getExecutedCount() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < WAITERS; i++) {
+            results.add(executor.submit(() -> flights.execute("releases/1", () -> "not shared")));
+        }
+        while (flights.getSharedCount() < WAITERS && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertEquals(WAITERS, flights.getSharedCount());
+        release.countDown();
+        return results;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
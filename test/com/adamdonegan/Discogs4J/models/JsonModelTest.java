@@ -0,0 +1,72 @@
+package com.adamdonegan.Discogs4J.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonModelTest {
+
+    private static final JsonModel MODEL = new JsonModel("{\"id\": 249504, \"title\": \"Never Gonna Give You Up\", \"year\": \"1987\","
+            + " \"rating\": 4.75, \"huge\": 1e30, \"big\": 3000000000, \"exponent\": 1.5e3, \"negative\": -2.9,"
+            + " \"blocked\": true, \"empty\": \"\", \"none\": null,"
+            + " \"label\": {\"id\": 895, \"name\": \"RCA\"}, \"genres\": [\"Electronic\", 1, null, \"Pop\"],"
+            + " \"tracks\": [{\"position\": \"A\"}, 2, {\"position\": \"B\"}]}");
+
+    @Test
+    void readsMembers() {
+        assertEquals("Never Gonna Give You Up", MODEL.getString("title"));
+        assertEquals("249504", MODEL.getString("id"));
+        assertEquals("true", MODEL.getString("blocked"));
+        assertTrue(MODEL.getBoolean("blocked", false));
+        assertTrue(MODEL.has("title"));
+        assertFalse(MODEL.has("none"));
+        assertFalse(MODEL.has("missing"));
+        assertNull(MODEL.getString("none"));
+        assertNull(MODEL.getString("label"));
+    }
+
+    @Test
+    void readsNumbers() {
+        assertEquals(249504L, MODEL.getLong("id", -1));
+        assertEquals(1987, MODEL.getInt("year", -1));
+        assertEquals(4.75, MODEL.getDouble("rating", -1));
+        assertEquals(1500, MODEL.getInt("exponent", -1));
+        assertEquals(-2, MODEL.getLong("negative", -1));
+        assertEquals(3000000000L, MODEL.getLong("big", -1));
+    }
+
+    @Test
+    void returnsTheDefaultForMissingNonNumericAndOutOfRangeValues() {
+        assertEquals(-1, MODEL.getLong("title", -1));
+        assertEquals(-1, MODEL.getInt("title", -1));
+        assertEquals(-1, MODEL.getDouble("title", -1));
+        assertEquals(-1, MODEL.getLong("empty", -1));
+        assertEquals(-1, MODEL.getLong("none", -1));
+        assertEquals(-1, MODEL.getLong("missing", -1));
+        assertEquals(-1, MODEL.getLong("huge", -1));
+        assertEquals(-1, MODEL.getInt("big", -1));
+        assertEquals(1e30, MODEL.getDouble("huge", -1));
+    }
+
+    @Test
+    void readsNestedValuesAsViews() {
+        JsonModel label = MODEL.getObject("label");
+        assertEquals(895, label.getInt("id", -1));
+        assertEquals("{\"id\": 895, \"name\": \"RCA\"}", label.toJson());
+        assertNull(MODEL.getObject("title"));
+
+        List<JsonModel> tracks = MODEL.getObjects("tracks");
+        assertEquals(2, tracks.size());
+        assertEquals("B", tracks.get(1).getString("position"));
+        assertTrue(MODEL.getObjects("title").isEmpty());
+
+        assertEquals(Arrays.asList("Electronic", "1", "Pop"), MODEL.getStrings("genres"));
+        assertEquals("[\"Electronic\", 1, null, \"Pop\"]", MODEL.getJson("genres"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ConnectionPoolTest {
+
+    private static final String ROUTE = "https://api.discogs.com:443";
+
+    @Test
+    void grantsConnectionsInArrivalOrder() throws InterruptedException {
+        ConnectionPool pool = new ConnectionPool(1);
+        ConnectionPool.Lease first = pool.acquire();
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+
+        Thread a = waitFor(pool, "a", order, 1);
+        Thread b = waitFor(pool, "b", order, 2);
+        assertEquals(2, pool.getWaitingRequests());
+
+        first.release();
+        a.join(5000);
+        b.join(5000);
+        assertEquals(Arrays.asList("a", "b"), order);
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(1, pool.getPeakActiveConnections());
+        assertEquals(3, pool.getAcquiredCount());
+        assertEquals(2, pool.getWaitedCount());
+    }
+
+    @Test
+    void releasesALeaseExactlyOnce() throws IOException, InterruptedException {
+        ConnectionPool pool = new ConnectionPool(2);
+        ConnectionPool.Lease lease = pool.acquire();
+        InputStream body = lease.releaseOnEnd(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8)));
+        ConnectionPool.Lease other = pool.acquire();
+        assertEquals(2, pool.getActiveConnections());
+
+        // Read to the end, closed, then released again by the response
+        while (body.read() != -1) {
+            // Drain
+        }
+        body.close();
+        lease.release();
+        assertEquals(1, pool.getActiveConnections());
+
+        // A single permit was returned, so a third connection still waits
+        ConnectionPool.Lease next = pool.acquire();
+        List<String> order = Collections.synchronizedList(new ArrayList<String>());
+        Thread waiting = waitFor(pool, "waiting", order, 1);
+        assertEquals(2, pool.getActiveConnections());
+        other.release();
+        waiting.join(5000);
+        assertEquals(Collections.singletonList("waiting"), order);
+        next.release();
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(2, pool.getPeakActiveConnections());
+    }
+
+    @Test
+    void countsPeakConnectionsWithoutALimit() {
+        ConnectionPool pool = new ConnectionPool();
+        List<ConnectionPool.Lease> leases = new ArrayList<ConnectionPool.Lease>();
+        for (int i = 0; i < 5; i++) {
+            leases.add(pool.acquire());
+        }
+        for (ConnectionPool.Lease lease : leases) {
+            lease.release();
+        }
+        pool.acquire().release();
+
+        assertEquals(0, pool.getActiveConnections());
+        assertEquals(5, pool.getPeakActiveConnections());
+        assertEquals(0, pool.getWaitingRequests());
+        assertEquals(0, pool.getWaitedCount());
+        assertEquals(6, pool.getAcquiredCount());
+    }
+
+    @Test
+    void evictsConnectionsIdleForLongerThanTheKeepAliveDuration() throws InterruptedException {
+        ConnectionPool pool = ConnectionPool.builder().keepAliveDuration(Duration.ofMillis(20)).build();
+        AtomicInteger closed = new AtomicInteger();
+
+        release(pool, ROUTE, closed);
+        assertEquals(1, pool.getIdleConnections());
+        pool.evictIdleConnections();
+        assertEquals(0, closed.get());
+
+        Thread.sleep(50);
+        pool.evictIdleConnections();
+        assertEquals(1, closed.get());
+        assertEquals(0, pool.getIdleConnections());
+        assertEquals(1, pool.getEvictedCount());
+    }
+
+    @Test
+    void doesNotEvictAConnectionTakenForReuse() throws InterruptedException {
+        ConnectionPool pool = ConnectionPool.builder().keepAliveDuration(Duration.ofMillis(20)).build();
+        AtomicInteger closed = new AtomicInteger();
+
+        release(pool, ROUTE, closed);
+        release(pool, "https://img.discogs.com:443", closed);
+        ConnectionPool.Lease reused = pool.acquire(ROUTE);
+        assertEquals(1, pool.getIdleConnections());
+
+        Thread.sleep(50);
+        pool.evictIdleConnections();
+        assertEquals(1, closed.get());
+        reused.release();
+        assertEquals(0, pool.getIdleConnections());
+    }
+
+    @Test
+    void doesNotTrackIdleConnectionsWithoutAKeepAliveDuration() {
+        AtomicInteger closed = new AtomicInteger();
+
+        ConnectionPool pool = new ConnectionPool();
+        release(pool, ROUTE, closed);
+        assertEquals(0, pool.getIdleConnections());
+        assertEquals(Duration.ZERO, pool.getKeepAliveDuration());
+
+        ConnectionPool closing = ConnectionPool.builder().keepAlive(false).keepAliveDuration(Duration.ofMillis(20)).build();
+        release(closing, ROUTE, closed);
+        assertEquals(0, closing.getIdleConnections());
+        assertThrows(IllegalArgumentException.class, () -> ConnectionPool.builder().keepAliveDuration(Duration.ofMillis(-1)));
+    }
+
+    @Test
+    void closesIdleConnectionsOfTheTransport() throws IOException, InterruptedException {
+        HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        Set<Integer> clientPorts = Collections.synchronizedSet(new LinkedHashSet<Integer>());
+        server.createContext("/", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        try {
+            String url = "http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort() + "/releases/1";
+
+            // Kept alive by the JVM, the second request reuses the connection of the first
+            Transport keptAlive = new HttpRequestTransport(new ConnectionPool());
+            get(keptAlive, url);
+            get(keptAlive, url);
+            assertEquals(1, clientPorts.size());
+
+            ConnectionPool pool = ConnectionPool.builder().keepAliveDuration(Duration.ofMillis(20)).build();
+            Transport evicting = new HttpRequestTransport(pool);
+            get(evicting, url);
+            Thread.sleep(50);
+            get(evicting, url);
+            assertEquals(1, pool.getEvictedCount());
+            assertEquals(1, pool.getIdleConnections());
+            assertEquals(2, clientPorts.size());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    private static void release(ConnectionPool pool, String route, AtomicInteger closed) {
+        ConnectionPool.Lease lease = pool.acquire(route);
+        lease.closeWhenIdle(closed::incrementAndGet);
+        lease.release();
+    }
+
+    private static void get(Transport transport, String url) {
+        try (TransportResponse response = transport.execute(new TransportRequest(HttpRequest.METHOD_GET, url))) {
+            assertEquals("{}", response.body());
+        }
+    }
+
+    /**
+     * Start a thread acquiring a connection, and wait until it is queued
+     *
+     * @param waiting the number of requests waiting once the thread is queued
+     */
+    private static Thread waitFor(ConnectionPool pool, String name, List<String> order, int waiting) throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            ConnectionPool.Lease lease = pool.acquire();
+            order.add(name);
+            lease.release();
+        });
+        thread.start();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pool.getWaitingRequests() < waiting && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        return thread;
+    }
+}
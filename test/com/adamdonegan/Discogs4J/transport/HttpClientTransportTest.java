@@ -0,0 +1,149 @@
+package com.adamdonegan.Discogs4J.transport;
+
+import com.adamdonegan.Discogs4J.util.HttpRequest;
+import com.adamdonegan.Discogs4J.util.HttpRequest.HttpRequestException;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Only runs against the multi-release jar on Java 11 or later, see the java11-tests profile
+ */
+class HttpClientTransportTest {
+
+    private static final String RELEASE = "{\"id\": 249504, \"title\": \"Never Gonna Give You Up\", \"notes\": \""
+            + String.join("", Collections.nCopies(200, "Rick Astley ")) + "\"}";
+
+    private final List<URI> received = Collections.synchronizedList(new ArrayList<URI>());
+    private HttpServer server;
+    private String url;
+
+    @BeforeEach
+    void start() throws IOException {
+        assumeTrue(HttpClientTransport.isSupported());
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", exchange -> {
+            received.add(exchange.getRequestURI());
+            String encoding = exchange.getRequestURI().getPath().substring(1);
+            if (encoding.equals("slow")) {
+                sleep(2000);
+            }
+            byte[] body = encode(RELEASE.getBytes(StandardCharsets.UTF_8), encoding);
+            if (encoding.equals("gzip") || encoding.equals("deflate")) {
+                exchange.getResponseHeaders().set(HttpRequest.HEADER_CONTENT_ENCODING, encoding);
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream output = exchange.getResponseBody()) {
+                output.write(body);
+            }
+        });
+        server.start();
+        url = "http://" + server.getAddress().getHostString() + ':' + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void combinesTheConnectAndReadTimeouts() {
+        Transport transport = HttpClientTransport.create();
+        TransportRequest request = new TransportRequest(HttpRequest.METHOD_GET, url + "/slow").connectTimeout(100).readTimeout(200);
+
+        long start = System.nanoTime();
+        HttpRequestException failure = assertThrows(HttpRequestException.class, () -> transport.execute(request));
+        assertTrue(failure.getCause() instanceof HttpTimeoutException);
+        assertTrue(System.nanoTime() - start < 1_500_000_000L);
+        assertEquals(0, transport.getConnectionPool().getActiveConnections());
+    }
+
+    @Test
+    void connectsThroughTheProxyOfThePool() {
+        ConnectionPool pool = ConnectionPool.builder().proxy(server.getAddress().getHostString(), server.getAddress().getPort()).build();
+        Transport transport = HttpClientTransport.create(pool);
+
+        try (TransportResponse response = transport.execute(new TransportRequest(HttpRequest.METHOD_GET, "http://api.discogs.invalid/identity"))) {
+            assertEquals(RELEASE, response.body());
+        }
+        // A proxy is sent the absolute URL
+        assertEquals(URI.create("http://api.discogs.invalid/identity"), received.get(0));
+    }
+
+    @Test
+    void decodesCompressedBodies() {
+        Transport transport = HttpClientTransport.create();
+
+        for (String encoding : new String[] {"gzip", "deflate", "identity"}) {
+            try (TransportResponse response = transport.execute(new TransportRequest(HttpRequest.METHOD_GET, url + '/' + encoding)
+                    .header(HttpRequest.HEADER_ACCEPT_ENCODING, HttpRequest.ENCODING_GZIP_DEFLATE))) {
+                assertEquals(RELEASE, response.body(), encoding);
+            }
+        }
+        assertEquals(3, transport.getCompressionStats().getResponses());
+        assertEquals(2, transport.getCompressionStats().getCompressedResponses());
+        assertTrue(transport.getCompressionStats().getBytesSaved() > 0);
+    }
+
+    @Test
+    void readsABufferOntoTheHeapOrSpillsIt() {
+        Transport transport = HttpClientTransport.create();
+        int length = RELEASE.getBytes(StandardCharsets.UTF_8).length;
+
+        ByteBuffer small = transport.execute(new TransportRequest(HttpRequest.METHOD_GET, url + "/identity").maxInMemorySize(length)).byteBuffer();
+        assertFalse(small instanceof MappedByteBuffer);
+        assertEquals(RELEASE, StandardCharsets.UTF_8.decode(small).toString());
+
+        ByteBuffer large = transport.execute(new TransportRequest(HttpRequest.METHOD_GET, url + "/gzip").maxInMemorySize(length / 2)).byteBuffer();
+        assertTrue(large instanceof MappedByteBuffer);
+        assertEquals(RELEASE, StandardCharsets.UTF_8.decode(large).toString());
+
+        assertThrows(HttpRequestException.class, () -> transport.execute(new TransportRequest(HttpRequest.METHOD_GET, url + "/identity").maxInMemorySize(length / 2)).body());
+        assertEquals(0, transport.getConnectionPool().getActiveConnections());
+    }
+
+    private static byte[] encode(byte[] body, String encoding) throws IOException {
+        if (!encoding.equals("gzip") && !encoding.equals("deflate")) {
+            return body;
+        }
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream output = encoding.equals("gzip") ? new GZIPOutputStream(encoded) : new DeflaterOutputStream(encoded, new Deflater())) {
+            output.write(body);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.adamdonegan.Discogs4J.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BufferPoolTest {
+
+    @BeforeEach
+    void emptyThePool() {
+        // Takes every pooled array, all being too small for the request
+        BufferPool.acquire(BufferPool.MAX_POOLED_SIZE + 1);
+    }
+
+    @Test
+    void reusesAReleasedArray() {
+        byte[] buffer = new byte[4096];
+        BufferPool.release(buffer);
+
+        assertSame(buffer, BufferPool.acquire(1000));
+        assertNotSame(buffer, BufferPool.acquire(1000));
+    }
+
+    @Test
+    void doesNotHandOutAnArrayTooSmall() {
+        byte[] small = new byte[100];
+        BufferPool.release(small);
+
+        byte[] buffer = BufferPool.acquire(1000);
+        assertNotSame(small, buffer);
+        assertEquals(1000, buffer.length);
+        // Dropped rather than kept
+        assertNotSame(small, BufferPool.acquire(10));
+    }
+
+    @Test
+    void neverKeepsLargeArrays() {
+        byte[] large = new byte[BufferPool.MAX_POOLED_SIZE + 1];
+        BufferPool.release(large);
+        BufferPool.release(null);
+
+        assertNotSame(large, BufferPool.acquire(BufferPool.MAX_POOLED_SIZE + 1));
+    }
+
+    @Test
+    void keepsAtMostAFixedNumberOfArrays() {
+        int released = 1000;
+        Set<byte[]> buffers = Collections.newSetFromMap(new IdentityHashMap<byte[], Boolean>());
+        for (int i = 0; i < released; i++) {
+            byte[] buffer = new byte[16];
+            buffers.add(buffer);
+            BufferPool.release(buffer);
+        }
+
+        Set<byte[]> reused = Collections.newSetFromMap(new IdentityHashMap<byte[], Boolean>());
+        for (int i = 0; i < released; i++) {
+            byte[] buffer = BufferPool.acquire(16);
+            if (buffers.contains(buffer)) {
+                assertTrue(reused.add(buffer));
+            }
+        }
+        int slots = Math.max(4, 2 * Runtime.getRuntime().availableProcessors());
+        assertEquals(Math.min(slots, released), reused.size());
+    }
+}
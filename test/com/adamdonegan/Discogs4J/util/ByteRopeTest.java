@@ -0,0 +1,116 @@
+package com.adamdonegan.Discogs4J.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByteRopeTest {
+
+    @Test
+    void holdsAStreamOverManyChunks() throws IOException {
+        // Longer than three of the largest pooled arrays, so that it needs several chunks
+        byte[] bytes = text(3 * BufferPool.MAX_POOLED_SIZE + 1000).getBytes(StandardCharsets.UTF_8);
+        AtomicLong reported = new AtomicLong();
+        ByteRope rope = new ByteRope(10).readFrom(new ByteArrayInputStream(bytes), reported::addAndGet);
+        try {
+            assertEquals(bytes.length, rope.length());
+            assertEquals(bytes.length, reported.get());
+            assertArrayEquals(bytes, rope.toByteArray());
+
+            ByteArrayOutputStream written = new ByteArrayOutputStream();
+            rope.writeTo(written);
+            assertArrayEquals(bytes, written.toByteArray());
+
+            assertArrayEquals(bytes, readAll(rope.inputStream()));
+        } finally {
+            rope.release();
+        }
+    }
+
+    @Test
+    void decodesCharactersSplitOverChunks() throws IOException {
+        String text = text(3 * BufferPool.MAX_POOLED_SIZE + 1000);
+        ByteRope rope = new ByteRope(7).readFrom(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), null);
+        try {
+            assertEquals(text, rope.toString(StandardCharsets.UTF_8));
+        } finally {
+            rope.release();
+        }
+    }
+
+    @Test
+    void replacesMalformedInputLikeString() throws IOException {
+        byte[] bytes = new byte[3 * BufferPool.MAX_POOLED_SIZE];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) (i % 7 == 0 ? 0xC3 : i % 11 == 0 ? 0xFF : 'a' + i % 26);
+        }
+        ByteRope rope = new ByteRope(10).readFrom(new ByteArrayInputStream(bytes), null);
+        try {
+            assertEquals(new String(bytes, StandardCharsets.UTF_8), rope.toString(StandardCharsets.UTF_8));
+        } finally {
+            rope.release();
+        }
+    }
+
+    @Test
+    void readsAnExactlySizedStreamIntoOneChunk() throws IOException {
+        byte[] bytes = "{\"id\": 249504}".getBytes(StandardCharsets.UTF_8);
+        ByteRope rope = new ByteRope(bytes.length).readFrom(new ByteArrayInputStream(bytes), null);
+        try {
+            assertEquals("{\"id\": 249504}", rope.toString(StandardCharsets.UTF_8));
+            assertArrayEquals(bytes, rope.toByteArray());
+        } finally {
+            rope.release();
+        }
+    }
+
+    @Test
+    void stopsReadingPastTheLimit() throws IOException {
+        byte[] bytes = new byte[100000];
+        ByteRope rope = new ByteRope(1000);
+        try {
+            assertFalse(rope.readAtMost(new ByteArrayInputStream(bytes), 5000, null));
+            assertTrue(rope.length() > 5000);
+            assertTrue(rope.length() < bytes.length);
+        } finally {
+            rope.release();
+        }
+
+        ByteRope within = new ByteRope(1000);
+        try {
+            assertTrue(within.readAtMost(new ByteArrayInputStream(bytes, 0, 5000), 5000, null));
+            assertEquals(5000, within.length());
+        } finally {
+            within.release();
+        }
+    }
+
+    private static String text(int minimumBytes) {
+        // One, two, three and four byte characters, so that chunk ends split some of them
+        StringBuilder text = new StringBuilder();
+        while (text.length() < minimumBytes / 2) {
+            text.append("aé日😀");
+        }
+        return text.toString();
+    }
+
+    private static byte[] readAll(InputStream input) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        byte[] buffer = new byte[5000];
+        int read;
+        while ((read = input.read(buffer, 0, buffer.length)) != -1) {
+            output.write(buffer, 0, read);
+        }
+        return output.toByteArray();
+    }
+}
@@ -0,0 +1,101 @@
+package com.adamdonegan.Discogs4J.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class DecompressionTest {
+
+    private static final byte[] BODY = ("{\"results\": [" + String.join(", ", Collections.nCopies(500, "{\"title\": \"Never Gonna Give You Up\"}")) + "]}")
+            .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void decodesGzip() throws IOException {
+        byte[] gzip = gzip(BODY);
+
+        assertArrayEquals(BODY, decode(gzip, "gzip", null));
+        assertArrayEquals(BODY, decode(gzip, " X-GZIP ", null));
+    }
+
+    @Test
+    void decodesZlibWrappedDeflate() throws IOException {
+        assertArrayEquals(BODY, decode(deflate(BODY, false), "deflate", null));
+    }
+
+    @Test
+    void decodesRawDeflate() throws IOException {
+        assertArrayEquals(BODY, decode(deflate(BODY, true), "deflate", null));
+    }
+
+    @Test
+    void passesOtherEncodingsThrough() throws IOException {
+        InputStream stream = new ByteArrayInputStream(BODY);
+
+        assertSame(stream, Decompression.decode(stream, null, 512, null));
+        assertArrayEquals(BODY, decode(BODY, "identity", null));
+        assertArrayEquals(BODY, decode(BODY, "br", null));
+    }
+
+    @Test
+    void acceptsAnEmptyCompressedBody() throws IOException {
+        assertArrayEquals(new byte[0], decode(new byte[0], "gzip", null));
+        assertArrayEquals(new byte[0], decode(new byte[0], "deflate", null));
+    }
+
+    @Test
+    void countsTheBytesSaved() throws IOException {
+        CompressionStats stats = new CompressionStats();
+        byte[] gzip = gzip(BODY);
+
+        decode(gzip, "gzip", stats);
+        decode(BODY, null, stats);
+
+        assertEquals(2, stats.getResponses());
+        assertEquals(1, stats.getCompressedResponses());
+        assertEquals(gzip.length, stats.getCompressedBytes());
+        assertEquals(BODY.length, stats.getDecompressedBytes());
+        assertEquals(gzip.length + BODY.length, stats.getBytesRead());
+        assertEquals(BODY.length - gzip.length, stats.getBytesSaved());
+    }
+
+    private static byte[] decode(byte[] body, String contentEncoding, CompressionStats stats) throws IOException {
+        try (InputStream decoded = Decompression.decode(new ByteArrayInputStream(body), contentEncoding, 512, stats)) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1000];
+            int read;
+            while ((read = decoded.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            return output.toByteArray();
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream output = new GZIPOutputStream(encoded)) {
+            output.write(body);
+        }
+        return encoded.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] body, boolean raw) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (OutputStream output = new DeflaterOutputStream(encoded, new Deflater(Deflater.DEFAULT_COMPRESSION, raw))) {
+            output.write(body);
+        }
+        return encoded.toByteArray();
+    }
+}
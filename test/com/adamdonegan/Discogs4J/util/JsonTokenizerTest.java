@@ -0,0 +1,151 @@
+package com.adamdonegan.Discogs4J.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonTokenizerTest {
+
+    @Test
+    void readsEveryKindOfToken() throws IOException {
+        JsonTokenizer tokenizer = tokenizer("{\"s\": \"a\\\"b\\\\c\\n\\u00e9\", \"n\": -12.5e1, \"t\": true, \"f\": false, \"z\": null, \"a\": [1, 2]}");
+
+        assertEquals(JsonTokenizer.Token.BEGIN_OBJECT, tokenizer.peek());
+        tokenizer.beginObject();
+        assertEquals("s", tokenizer.nextName());
+        assertEquals("a\"b\\c\né", tokenizer.nextString());
+        assertEquals("n", tokenizer.nextName());
+        assertEquals(JsonTokenizer.Token.NUMBER, tokenizer.peek());
+        assertEquals(-125.0, tokenizer.nextDouble());
+        assertEquals("t", tokenizer.nextName());
+        assertTrue(tokenizer.nextBoolean());
+        assertEquals("f", tokenizer.nextName());
+        assertFalse(tokenizer.nextBoolean());
+        assertEquals("z", tokenizer.nextName());
+        tokenizer.nextNull();
+        assertEquals("a", tokenizer.nextName());
+        tokenizer.beginArray();
+        assertEquals(1, tokenizer.nextInt());
+        assertEquals(2L, tokenizer.nextLong());
+        assertFalse(tokenizer.hasNext());
+        tokenizer.endArray();
+        tokenizer.endObject();
+        assertEquals(JsonTokenizer.Token.END_DOCUMENT, tokenizer.peek());
+    }
+
+    @Test
+    void decodesMultiByteCharactersAndSurrogatePairs() throws IOException {
+        String text = "café 日本 😀";
+        JsonTokenizer escaped = tokenizer("[\"\\ud83d\\ude00\"]");
+        escaped.beginArray();
+        assertEquals("😀", escaped.nextString());
+
+        // Read a byte at a time, so that every character is split over reads
+        JsonTokenizer streamed = new JsonTokenizer(new OneByteInputStream(("[\"" + text + "\"]").getBytes(StandardCharsets.UTF_8)));
+        streamed.beginArray();
+        assertEquals(text, streamed.nextString());
+        streamed.endArray();
+    }
+
+    @Test
+    void seeksPastSkippedMembers() throws IOException {
+        JsonTokenizer tokenizer = tokenizer("{\"skip\": {\"nested\": [1, {\"results\": 0}], \"s\": \"}]\"}, \"results\": [{\"id\": 1}, {\"id\": 2}]}");
+        tokenizer.beginObject();
+        assertTrue(tokenizer.seek("results"));
+        tokenizer.beginArray();
+        List<String> items = new ArrayList<String>();
+        while (tokenizer.hasNext()) {
+            items.add(new String(tokenizer.nextRawValue(), StandardCharsets.UTF_8));
+        }
+        tokenizer.endArray();
+        assertFalse(tokenizer.seek("missing"));
+        tokenizer.endObject();
+
+        assertEquals(2, items.size());
+        assertEquals("{\"id\": 1}", items.get(0));
+        assertEquals("{\"id\": 2}", items.get(1));
+    }
+
+    @Test
+    void readsRawValuesSpanningBufferRefills() throws IOException {
+        StringBuilder large = new StringBuilder("{\"text\": \"");
+        for (int i = 0; i < 20000; i++) {
+            large.append((char) ('a' + i % 26));
+        }
+        large.append("\"}");
+        byte[] item = large.toString().getBytes(StandardCharsets.UTF_8);
+        byte[] json = ("{\"items\": [" + large + ", 7]}").getBytes(StandardCharsets.UTF_8);
+
+        JsonTokenizer tokenizer = new JsonTokenizer(new ByteArrayInputStream(json));
+        tokenizer.beginObject();
+        assertTrue(tokenizer.seek("items"));
+        tokenizer.beginArray();
+        assertArrayEquals(item, tokenizer.nextRawValue());
+        assertArrayEquals("7".getBytes(StandardCharsets.US_ASCII), tokenizer.nextRawValue());
+        tokenizer.endArray();
+    }
+
+    @Test
+    void locatesValuesInTheInput() throws IOException {
+        byte[] json = "  {\"a\": [1, 2], \"b\": 3}".getBytes(StandardCharsets.UTF_8);
+        JsonTokenizer tokenizer = new JsonTokenizer(json, 2, json.length - 2);
+        tokenizer.beginObject();
+        tokenizer.nextName();
+        long start = tokenizer.peekValuePosition();
+        tokenizer.skipValue();
+        assertEquals("[1, 2]", new String(json, 2 + (int) start, (int) (tokenizer.getPosition() - start), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void rejectsMalformedJson() throws IOException {
+        JsonTokenizer missingColon = tokenizer("{\"a\" 1}");
+        missingColon.beginObject();
+        missingColon.nextName();
+        assertThrows(IllegalArgumentException.class, missingColon::peek);
+
+        JsonTokenizer missingComma = tokenizer("[1 2]");
+        missingComma.beginArray();
+        missingComma.nextInt();
+        assertThrows(IllegalArgumentException.class, missingComma::peek);
+
+        JsonTokenizer trailing = tokenizer("{} {}");
+        trailing.beginObject();
+        trailing.endObject();
+        assertThrows(IllegalArgumentException.class, trailing::peek);
+    }
+
+    @Test
+    void rejectsNumbersOutOfRange() throws IOException {
+        JsonTokenizer tokenizer = tokenizer("[3000000000, 1.5]");
+        tokenizer.beginArray();
+        assertThrows(NumberFormatException.class, tokenizer::nextInt);
+        assertThrows(NumberFormatException.class, tokenizer::nextLong);
+    }
+
+    private static JsonTokenizer tokenizer(String json) {
+        return new JsonTokenizer(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static final class OneByteInputStream extends FilterInputStream {
+
+        private OneByteInputStream(byte[] bytes) {
+            super(new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, 1));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.adamdonegan.Discogs4J.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonWriterTest {
+
+    @Test
+    void writesTokens() throws IOException {
+        StringWriter out = new StringWriter();
+        new JsonWriter(out)
+                .beginObject()
+                .name("id").value(249504L)
+                .name("title").value("Never Gonna Give You Up")
+                .name("formats").beginArray().value("Vinyl").value(true).nullValue().endArray()
+                .name("empty").beginObject().endObject()
+                .endObject()
+                .close();
+
+        assertEquals("{\"id\":249504,\"title\":\"Never Gonna Give You Up\",\"formats\":[\"Vinyl\",true,null],\"empty\":{}}", out.toString());
+    }
+
+    @Test
+    void escapesStrings() throws IOException {
+        assertEquals("\"quote\\\" backslash\\\\ newline\\n tab\\t nul\\u0000 \\u2028 é 😀\"",
+                write("quote\" backslash\\ newline\n tab\t nul\u0000   é 😀"));
+    }
+
+    @Test
+    void escapedStringsReadBackUnchanged() throws IOException {
+        StringBuilder all = new StringBuilder();
+        for (char c = 0; c < 0x300; c++) {
+            all.append(c);
+        }
+        all.append("  😀");
+        JsonTokenizer tokenizer = new JsonTokenizer(write(all.toString()).getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(all.toString(), tokenizer.nextString());
+    }
+
+    @Test
+    void writesNestedValues() throws IOException {
+        Map<String, Object> fields = new LinkedHashMap<String, Object>();
+        fields.put("rating", 5);
+        fields.put("price", new BigDecimal("12.50"));
+        fields.put("notes", Arrays.asList("a", null));
+        fields.put("ids", new int[] {1, 2});
+        fields.put("nested", new LinkedHashMap<String, Object>());
+
+        assertEquals("{\"rating\":5,\"price\":12.50,\"notes\":[\"a\",null],\"ids\":[1,2],\"nested\":{}}", write(fields));
+    }
+
+    @Test
+    void rejectsNonFiniteNumbers() {
+        assertThrows(IllegalArgumentException.class, () -> write(Double.NaN));
+        assertThrows(IllegalArgumentException.class, () -> write(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void rejectsMisplacedTokens() throws IOException {
+        assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginObject().value("no name"));
+        assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginArray().name("name"));
+        assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginArray().endObject());
+        assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).value(1L).value(2L));
+        assertThrows(IllegalStateException.class, () -> new JsonWriter(new StringWriter()).beginArray().close());
+    }
+
+    private static String write(Object value) throws IOException {
+        StringWriter out = new StringWriter();
+        JsonWriter.write(out, value);
+        return out.toString();
+    }
+}
@@ -0,0 +1,79 @@
+package com.adamdonegan.Discogs4J.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MappedBodyTest {
+
+    private static final byte[] BODY = "{\"listings\": [{\"id\": 1}, {\"id\": 2}, {\"id\": 3}]}".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void keepsABodyWithinTheLimitOnTheHeap() throws IOException {
+        ByteBuffer buffer = MappedBody.read(new ByteArrayInputStream(BODY), BODY.length, BODY.length, 16);
+
+        assertFalse(buffer instanceof MappedByteBuffer);
+        assertTrue(buffer.isReadOnly());
+        assertArrayEquals(BODY, contents(buffer));
+        assertArrayEquals(BODY, contents(MappedBody.read(new ByteArrayInputStream(BODY), -1, 0, 16)));
+    }
+
+    @Test
+    void spillsABodyAboveTheLimitAndDeletesTheFile() throws IOException {
+        Set<String> before = spilledFiles();
+        // The Content-Length understates the body, so that the limit is only found out while reading
+        ByteBuffer buffer = MappedBody.read(new ByteArrayInputStream(BODY), 10, 10, 16);
+
+        assertTrue(buffer instanceof MappedByteBuffer);
+        assertTrue(buffer.isReadOnly());
+        assertArrayEquals(BODY, contents(buffer));
+        assertEquals(before, spilledFiles());
+    }
+
+    @Test
+    void deletesTheFileWhenSpillingFails() {
+        Set<String> before = spilledFiles();
+        InputStream failing = new InputStream() {
+            private int remaining = 100;
+
+            @Override
+            public int read() throws IOException {
+                if (remaining == 0) {
+                    throw new IOException("Connection reset");
+                }
+                remaining--;
+                return 'x';
+            }
+        };
+
+        assertThrows(IOException.class, () -> MappedBody.read(failing, -1, 10, 16));
+        assertEquals(before, spilledFiles());
+    }
+
+    private static byte[] contents(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    private static Set<String> spilledFiles() {
+        String[] names = new File(System.getProperty("java.io.tmpdir"))
+                .list((directory, name) -> name.startsWith("discogs4j-") && name.endsWith(".body"));
+        return new HashSet<String>(Arrays.asList(names != null ? names : new String[0]));
+    }
+}
@@ -0,0 +1,76 @@
+package com.adamdonegan.Discogs4J.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TextDecoderTest {
+
+    @Test
+    void decodesCharactersSplitOverReads() throws IOException {
+        String text = "café 日本 😀";
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+
+        StringBuilder oneByte = new StringBuilder();
+        TextDecoder.decode(new OneByteInputStream(bytes), StandardCharsets.UTF_8, oneByte, 16);
+        assertEquals(text, oneByte.toString());
+
+        StringWriter smallBuffer = new StringWriter();
+        TextDecoder.decode(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, smallBuffer, 1);
+        assertEquals(text, smallBuffer.toString());
+    }
+
+    @Test
+    void decodesTextLongerThanTheBuffers() throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (text.length() < 100000) {
+            text.append("aé日😀");
+        }
+        byte[] bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+
+        CharBuffer chars = CharBuffer.allocate(text.length());
+        TextDecoder.decode(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8, chars, 1000);
+        chars.flip();
+        assertEquals(text.toString(), chars.toString());
+    }
+
+    @Test
+    void replacesMalformedInputLikeString() throws IOException {
+        byte[] bytes = {'a', (byte) 0xFF, 'b', (byte) 0xC3, 'c', (byte) 0xE6, (byte) 0x97, 'd', (byte) 0xF0, (byte) 0x9F};
+        StringBuilder decoded = new StringBuilder();
+        TextDecoder.decode(new OneByteInputStream(bytes), StandardCharsets.UTF_8, decoded, 16);
+
+        assertEquals(new String(bytes, StandardCharsets.UTF_8), decoded.toString());
+    }
+
+    @Test
+    void reusesTheDecoderPerCharset() throws IOException {
+        byte[] latin1 = "café".getBytes(StandardCharsets.ISO_8859_1);
+        StringBuilder decoded = new StringBuilder();
+        TextDecoder.decode(new ByteArrayInputStream(latin1), StandardCharsets.ISO_8859_1, decoded, 16);
+        assertEquals("café", decoded.toString());
+
+        assertEquals(StandardCharsets.UTF_8, TextDecoder.decoder(StandardCharsets.UTF_8).charset());
+        assertEquals(StandardCharsets.ISO_8859_1, TextDecoder.decoder(StandardCharsets.ISO_8859_1).charset());
+    }
+
+    private static final class OneByteInputStream extends FilterInputStream {
+
+        private OneByteInputStream(byte[] bytes) {
+            super(new ByteArrayInputStream(bytes));
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return super.read(buffer, offset, Math.min(length, 1));
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.adamdonegan.Discogs4J.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UrlTemplateTest {
+
+    @Test
+    void expandsPlaceholdersInOrder() {
+        UrlTemplate template = UrlTemplate.compile("https://api.discogs.com/users/{username}/collection/folders/{folder_id}/releases");
+
+        assertEquals(Arrays.asList("username", "folder_id"), template.getVariables());
+        assertEquals("https://api.discogs.com/users/rick/collection/folders/0/releases", template.expand("rick", "0"));
+        assertEquals("https://api.discogs.com/releases", UrlTemplate.compile("https://api.discogs.com/releases").expand());
+    }
+
+    @Test
+    void encodesPathValues() {
+        UrlTemplate template = UrlTemplate.compile("https://api.discogs.com/users/{username}");
+
+        assertEquals("https://api.discogs.com/users/a%2Fb", template.expand("a/b"));
+        assertEquals("https://api.discogs.com/users/a:b@c+d&e=f", template.expand("a:b@c+d&e=f"));
+        assertEquals("https://api.discogs.com/users/a%20b%3Fc%23d", template.expand("a b?c#d"));
+        assertEquals("https://api.discogs.com/users/caf%C3%A9%F0%9F%98%80", template.expand("café😀"));
+    }
+
+    @Test
+    void encodesQueryValues() {
+        UrlTemplate template = UrlTemplate.compile("https://api.discogs.com/database/search?q={query}&type=release");
+
+        assertEquals("https://api.discogs.com/database/search?q=rock%20%26%20roll%3D%2B1%2F2&type=release", template.expand("rock & roll=+1/2"));
+        assertEquals("https://api.discogs.com/database/search?q=a-b._~&type=release", template.expand("a-b._~"));
+    }
+
+    @Test
+    void appendsQueryParameters() {
+        Map<String, Object> query = new LinkedHashMap<String, Object>();
+        query.put("page", 2);
+        query.put("genre", Arrays.asList("Rock", "Hip Hop"));
+        query.put("id", new int[] {1, 2});
+        query.put("empty", null);
+
+        assertEquals("https://api.discogs.com/releases/1?page=2&genre%5B%5D=Rock&genre%5B%5D=Hip%20Hop&id%5B%5D=1&id%5B%5D=2&empty=",
+                UrlTemplate.compile("https://api.discogs.com/releases/{id}").expand(query, "1"));
+        assertEquals("https://api.discogs.com/database/search?q=a&per_page=50",
+                UrlTemplate.compile("https://api.discogs.com/database/search?q={q}").expand(Collections.singletonMap("per_page", 50), "a"));
+    }
+
+    @Test
+    void rejectsInvalidTemplatesAndValues() {
+        assertThrows(IllegalArgumentException.class, () -> UrlTemplate.compile("https://api.discogs.com/releases/{id"));
+
+        UrlTemplate template = UrlTemplate.compile("https://api.discogs.com/releases/{id}");
+        assertThrows(IllegalArgumentException.class, () -> template.expand());
+        assertThrows(IllegalArgumentException.class, () -> template.expand("1", "2"));
+        assertThrows(NullPointerException.class, () -> template.expand((String) null));
+    }
+}